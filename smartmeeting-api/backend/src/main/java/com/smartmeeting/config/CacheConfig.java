@@ -29,8 +29,10 @@ public class CacheConfig {
                 Caffeine.newBuilder()
                         .expireAfterWrite(1, TimeUnit.HOURS)
                         .build());
+        // Catálogo de salas: SalaCatalogoDTO por id + a lista completa
         cacheManager.registerCustomCache("salas",
                 Caffeine.newBuilder()
+                        .maximumSize(2_000)
                         .expireAfterWrite(1, TimeUnit.HOURS)
                         .build());
         cacheManager.registerCustomCache("permissions",
@@ -0,0 +1,46 @@
+package com.smartmeeting.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Leva o MDC e o usuário autenticado de quem submete a tarefa para a thread do pool,
+ * restaurando o estado anterior ao final (com CallerRunsPolicy a tarefa pode rodar
+ * na própria thread de quem submeteu).
+ */
+public class ContextoTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+
+        return () -> {
+            Map<String, String> mdcAnterior = MDC.getCopyOfContextMap();
+            SecurityContext contextoAnterior = SecurityContextHolder.getContext();
+            try {
+                aplicarMdc(mdc);
+                SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+                contexto.setAuthentication(autenticacao);
+                SecurityContextHolder.setContext(contexto);
+                runnable.run();
+            } finally {
+                aplicarMdc(mdcAnterior);
+                SecurityContextHolder.setContext(contextoAnterior);
+            }
+        };
+    }
+
+    private static void aplicarMdc(Map<String, String> mdc) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else {
+            MDC.clear();
+        }
+    }
+}
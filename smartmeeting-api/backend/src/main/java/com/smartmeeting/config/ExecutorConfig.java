@@ -0,0 +1,204 @@
+package com.smartmeeting.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pools de threads da aplicação, cada um com nome, limite e política de rejeição próprios:
+ * <ul>
+ * <li>{@code eventos-N}: {@code @Async} e listeners assíncronos. Fila limitada; cheia,
+ * a tarefa roda em quem publicou (CallerRunsPolicy) em vez de ser perdida.</li>
+ * <li>{@code agendador-N}: métodos {@code @Scheduled}, para um job demorado não
+ * atrasar os demais.</li>
+ * <li>{@code email-outbox-N}: entrega da fila de e-mails. Fila de um lote por worker;
+ * cheia, rejeita e o lote volta para o banco.</li>
+ * <li>{@code exportacao-N}: exportações CSV em streaming (só elas; o restante do MVC
+ * assíncrono segue o padrão).
+ * Cada exportação segura uma conexão do banco até terminar; acima de {@code threads}
+ * + {@code fila}, a requisição é recusada com 503.</li>
+ * </ul>
+ * MDC e usuário autenticado acompanham as tarefas submetidas aos executores.
+ * <p>
+ * Com {@code spring.threads.virtual.enabled=true} em Java 21+, eventos e agendador passam
+ * a criar uma virtual thread por tarefa (eventos limitado a {@code limite-virtual} tarefas
+ * simultâneas; acima disso quem publica espera). O pool de e-mail continua com threads de
+ * plataforma: o tamanho dele é o número de conexões SMTP simultâneas.
+ * O agendamento pode ser desligado com {@code app.agendamento.habilitado=false}.
+ */
+@Configuration
+@EnableAsync
+public class ExecutorConfig implements AsyncConfigurer, SchedulingConfigurer {
+
+    public static final String EVENTOS = "eventosExecutor";
+    public static final String EMAIL = "emailExecutor";
+    public static final String AGENDADOR = "agendadorScheduler";
+    public static final String EXPORTACAO = "exportacaoExecutor";
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    private final MonitorExecutores monitor;
+    private final int threadsEventos;
+    private final int maxThreadsEventos;
+    private final int filaEventos;
+    private final int threadsEmail;
+    private final int threadsAgendador;
+    private final int limiteVirtualEventos;
+    private final int threadsExportacao;
+    private final int filaExportacao;
+    private final boolean virtuais;
+
+    public ExecutorConfig(MonitorExecutores monitor,
+                          Environment environment,
+                          @Value("${app.executores.eventos.threads:2}") int threadsEventos,
+                          @Value("${app.executores.eventos.max-threads:8}") int maxThreadsEventos,
+                          @Value("${app.executores.eventos.fila:500}") int filaEventos,
+                          @Value("${app.email.outbox.threads:2}") int threadsEmail,
+                          @Value("${app.executores.agendador.threads:4}") int threadsAgendador,
+                          @Value("${app.executores.eventos.limite-virtual:200}") int limiteVirtualEventos,
+                          @Value("${app.executores.exportacao.threads:4}") int threadsExportacao,
+                          @Value("${app.executores.exportacao.fila:4}") int filaExportacao) {
+        this.monitor = monitor;
+        this.threadsEventos = threadsEventos;
+        this.maxThreadsEventos = maxThreadsEventos;
+        this.filaEventos = filaEventos;
+        this.threadsEmail = threadsEmail;
+        this.threadsAgendador = threadsAgendador;
+        this.limiteVirtualEventos = limiteVirtualEventos;
+        this.threadsExportacao = threadsExportacao;
+        this.filaExportacao = filaExportacao;
+        this.virtuais = Threading.VIRTUAL.isActive(environment);
+        if (virtuais) {
+            log.info("Executores de eventos e agendador em virtual threads");
+        }
+    }
+
+    /**
+     * Também é o executor padrão da aplicação (nomes esperados pelo Spring Boot); as
+     * exportações CSV usam o de exportação (ver {@code CsvExportService#download})
+     */
+    @Bean(name = { EVENTOS, "applicationTaskExecutor", "taskExecutor" })
+    public AsyncTaskExecutor eventosExecutor() {
+        if (virtuais) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("eventos-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(limiteVirtualEventos);
+            executor.setTaskDecorator(monitor.registrarVirtual("eventos", limiteVirtualEventos,
+                    new ContextoTaskDecorator()));
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("eventos-");
+        executor.setCorePoolSize(threadsEventos);
+        executor.setMaxPoolSize(maxThreadsEventos);
+        executor.setQueueCapacity(filaEventos);
+        executor.setTaskDecorator(new ContextoTaskDecorator());
+        executor.setRejectedExecutionHandler(monitor.registrar("eventos", executor::getThreadPoolExecutor,
+                new ThreadPoolExecutor.CallerRunsPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(EMAIL)
+    public ThreadPoolTaskExecutor emailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-outbox-");
+        executor.setCorePoolSize(threadsEmail);
+        executor.setMaxPoolSize(threadsEmail);
+        executor.setQueueCapacity(threadsEmail);
+        executor.setTaskDecorator(new ContextoTaskDecorator());
+        executor.setRejectedExecutionHandler(monitor.registrar("email", executor::getThreadPoolExecutor,
+                new ThreadPoolExecutor.AbortPolicy()));
+        // O que ficar em ENVIANDO volta para a fila quando a reserva expirar
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(EXPORTACAO)
+    public ThreadPoolTaskExecutor exportacaoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("exportacao-");
+        executor.setCorePoolSize(threadsExportacao);
+        executor.setMaxPoolSize(threadsExportacao);
+        executor.setQueueCapacity(filaExportacao);
+        executor.setTaskDecorator(new ContextoTaskDecorator());
+        executor.setRejectedExecutionHandler(monitor.registrar("exportacao", executor::getThreadPoolExecutor,
+                new ThreadPoolExecutor.AbortPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(AGENDADOR)
+    public TaskScheduler agendadorScheduler() {
+        if (virtuais) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setThreadNamePrefix("agendador-");
+            scheduler.setVirtualThreads(true);
+            // Sem ErrorHandler nesta versão do SimpleAsyncTaskScheduler: o log fica no decorator
+            scheduler.setTaskDecorator(monitor.registrarVirtual("agendador", Integer.MAX_VALUE, r -> () -> {
+                try {
+                    r.run();
+                } catch (RuntimeException e) {
+                    log.error("Erro em tarefa agendada: {}", e.getMessage(), e);
+                }
+            }));
+            scheduler.setTaskTerminationTimeout(30_000);
+            return scheduler;
+        }
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("agendador-");
+        scheduler.setPoolSize(threadsAgendador);
+        scheduler.setErrorHandler(e -> log.error("Erro em tarefa agendada: {}", e.getMessage(), e));
+        scheduler.setRejectedExecutionHandler(monitor.registrar("agendador",
+                scheduler::getScheduledThreadPoolExecutor, new ThreadPoolExecutor.AbortPolicy()));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return eventosExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, metodo, parametros) -> log.error("Erro em execução assíncrona de {}.{}: {}",
+                metodo.getDeclaringClass().getSimpleName(), metodo.getName(), e.getMessage(), e);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setScheduler(agendadorScheduler());
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "app.agendamento.habilitado", havingValue = "true", matchIfMissing = true)
+    static class AgendamentoConfig {
+    }
+}
@@ -0,0 +1,84 @@
+package com.smartmeeting.config;
+
+import com.smartmeeting.dto.ExecutorMetricasDTO;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Registro dos pools da aplicação e das rejeições de cada um, para o endpoint de métricas.
+ */
+@Component
+public class MonitorExecutores {
+
+    private final Map<String, Supplier<ExecutorMetricasDTO>> registros = new LinkedHashMap<>();
+
+    /**
+     * Registra um pool e devolve a política de rejeição a usar nele: a original,
+     * contando cada rejeição antes de delegar.
+     */
+    public synchronized RejectedExecutionHandler registrar(String nome, Supplier<ThreadPoolExecutor> pool,
+                                                           RejectedExecutionHandler politica) {
+        AtomicLong rejeitadas = new AtomicLong();
+        registros.put(nome, () -> metricasDoPool(nome, pool.get(), rejeitadas.get()));
+        return (tarefa, executor) -> {
+            rejeitadas.incrementAndGet();
+            politica.rejectedExecution(tarefa, executor);
+        };
+    }
+
+    /**
+     * Registra um executor de virtual threads (sem pool nem fila: acima de {@code limite}
+     * tarefas simultâneas quem submete espera). Devolve o decorator a usar nele, que
+     * conta as tarefas em execução e concluídas.
+     */
+    public synchronized TaskDecorator registrarVirtual(String nome, int limite, TaskDecorator decorator) {
+        AtomicInteger ativas = new AtomicInteger();
+        AtomicInteger pico = new AtomicInteger();
+        AtomicLong concluidas = new AtomicLong();
+        registros.put(nome, () -> new ExecutorMetricasDTO(nome + " (virtual)", ativas.get(), ativas.get(),
+                limite, pico.get(), 0, 0, concluidas.get(), 0));
+        return runnable -> {
+            Runnable decorado = decorator.decorate(runnable);
+            return () -> {
+                pico.accumulateAndGet(ativas.incrementAndGet(), Math::max);
+                try {
+                    decorado.run();
+                } finally {
+                    ativas.decrementAndGet();
+                    concluidas.incrementAndGet();
+                }
+            };
+        };
+    }
+
+    public synchronized List<ExecutorMetricasDTO> getMetricas() {
+        List<ExecutorMetricasDTO> metricas = new ArrayList<>();
+        registros.values().forEach(r -> metricas.add(r.get()));
+        return metricas;
+    }
+
+    private static ExecutorMetricasDTO metricasDoPool(String nome, ThreadPoolExecutor pool, long rejeitadas) {
+        int fila = pool.getQueue().size();
+        int livre = pool.getQueue().remainingCapacity();
+        return new ExecutorMetricasDTO(
+                nome,
+                pool.getActiveCount(),
+                pool.getPoolSize(),
+                pool.getMaximumPoolSize(),
+                pool.getLargestPoolSize(),
+                fila,
+                livre == Integer.MAX_VALUE ? livre : fila + livre,
+                pool.getCompletedTaskCount(),
+                rejeitadas);
+    }
+}
@@ -1,7 +1,11 @@
 package com.smartmeeting.controller;
 
+import com.smartmeeting.dto.EmailOutboxMetricasDTO;
+import com.smartmeeting.service.email.EmailOutboxDispatcher;
 import com.smartmeeting.service.email.EmailService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -12,9 +16,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmailController {
 
     private final EmailService emailService;
+    private final EmailOutboxDispatcher outboxDispatcher;
 
-    public EmailController(EmailService emailService) {
+    public EmailController(EmailService emailService, EmailOutboxDispatcher outboxDispatcher) {
         this.emailService = emailService;
+        this.outboxDispatcher = outboxDispatcher;
     }
 
     /**
@@ -32,4 +38,13 @@ public class EmailController {
             return ResponseEntity.badRequest().body("Falha ao enviar e-mail de teste para " + destinatario);
         }
     }
+
+    /**
+     * Profundidade da fila de saída e latência de entrega
+     */
+    @GetMapping("/outbox/metricas")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public ResponseEntity<EmailOutboxMetricasDTO> getMetricasOutbox() {
+        return ResponseEntity.ok(outboxDispatcher.getMetricas());
+    }
 }
@@ -2,12 +2,12 @@ package com.smartmeeting.controller;
 
 import com.smartmeeting.service.relatorio.CsvExportService;
 import com.smartmeeting.service.relatorio.RelatorioService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -28,54 +28,30 @@ public class RelatorioController {
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
     public ResponseEntity<Map<String, Object>> getReunioesPorSala(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getReunioesPorSala(dataInicio, dataFim);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId) {
+        Map<String, Object> relatorio = relatorioService.getReunioesPorSala(dataInicio, dataFim, projectId);
         return ResponseEntity.ok(relatorio);
     }
 
-    @GetMapping("/reunioes-por-sala/csv")
-    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<String> exportReunioesPorSalaCsv(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getReunioesPorSala(dataInicio, dataFim);
-        String csv = csvExportService.exportToCsv(relatorio);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.setContentDispositionFormData("attachment", "relatorio_reunioes_por_sala.csv");
-
-        return ResponseEntity.ok().headers(headers).body(csv);
-    }
-
     @GetMapping("/tarefas-concluidas")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
     public ResponseEntity<Map<String, Object>> getTarefasConcluidas(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getTarefasConcluidas(dataInicio, dataFim);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId) {
+        Map<String, Object> relatorio = relatorioService.getTarefasConcluidas(dataInicio, dataFim, projectId);
         return ResponseEntity.ok(relatorio);
     }
 
-    @GetMapping("/tarefas-concluidas/csv")
-    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<String> exportTarefasConcluidasCsv(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getTarefasConcluidas(dataInicio, dataFim);
-        String csv = csvExportService.exportToCsv(relatorio);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.setContentDispositionFormData("attachment", "relatorio_tarefas_concluidas.csv");
-
-        return ResponseEntity.ok().headers(headers).body(csv);
-    }
-
     @GetMapping("/presenca-pessoa")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<Map<String, Object>> getPresencaPorPessoa(@RequestParam(required = false) Long pessoaId) {
-        Map<String, Object> relatorio = relatorioService.getPresencaPorPessoa(pessoaId);
+    public ResponseEntity<Map<String, Object>> getPresencaPorPessoa(
+            @RequestParam(required = false) Long pessoaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId) {
+        Map<String, Object> relatorio = relatorioService.getPresencaPorPessoa(pessoaId, dataInicio, dataFim, projectId);
         return ResponseEntity.ok(relatorio);
     }
 
@@ -83,47 +59,66 @@ public class RelatorioController {
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
     public ResponseEntity<Map<String, Object>> getDuracaoReunioes(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getDuracaoReunioes(dataInicio, dataFim);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId) {
+        Map<String, Object> relatorio = relatorioService.getDuracaoReunioes(dataInicio, dataFim, projectId);
         return ResponseEntity.ok(relatorio);
     }
 
-    @GetMapping("/duracao-reunioes/csv")
+    @GetMapping("/produtividade-participante")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<String> exportDuracaoReunioesCsv(
+    public ResponseEntity<Map<String, Object>> getProdutividadePorParticipante(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getDuracaoReunioes(dataInicio, dataFim);
-        String csv = csvExportService.exportToCsv(relatorio);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId) {
+        Map<String, Object> relatorio = relatorioService.getProdutividadePorParticipante(dataInicio, dataFim, projectId);
+        return ResponseEntity.ok(relatorio);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.setContentDispositionFormData("attachment", "relatorio_duracao_reunioes.csv");
+    // Exportações detalhadas: uma linha por reunião ou tarefa, com os mesmos filtros dos
+    // relatórios agregados acima
 
-        return ResponseEntity.ok().headers(headers).body(csv);
+    @GetMapping("/reunioes/csv")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public WebAsyncTask<Void> exportReunioesCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId,
+            HttpServletResponse response) {
+        return csvExportService.download("reunioes.csv", response,
+                csvExportService.exportarReunioes(dataInicio, dataFim, projectId));
     }
 
-    @GetMapping("/produtividade-participante")
+    @GetMapping("/reunioes-finalizadas/csv")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<Map<String, Object>> getProdutividadePorParticipante(
+    public WebAsyncTask<Void> exportReunioesFinalizadasCsv(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getProdutividadePorParticipante(dataInicio, dataFim);
-        return ResponseEntity.ok(relatorio);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId,
+            HttpServletResponse response) {
+        return csvExportService.download("reunioes_finalizadas.csv", response,
+                csvExportService.exportarReunioesFinalizadas(dataInicio, dataFim, projectId));
     }
 
-    @GetMapping("/produtividade-participante/csv")
+    @GetMapping("/tarefas/csv")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<String> exportProdutividadePorParticipanteCsv(
+    public WebAsyncTask<Void> exportTarefasCsv(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
-        Map<String, Object> relatorio = relatorioService.getProdutividadePorParticipante(dataInicio, dataFim);
-        String csv = csvExportService.exportToCsv(relatorio);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.setContentDispositionFormData("attachment", "relatorio_produtividade_participante.csv");
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId,
+            HttpServletResponse response) {
+        return csvExportService.download("tarefas.csv", response,
+                csvExportService.exportarTarefas(dataInicio, dataFim, projectId));
+    }
 
-        return ResponseEntity.ok().headers(headers).body(csv);
+    @GetMapping("/tarefas-por-responsavel/csv")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public WebAsyncTask<Void> exportTarefasPorResponsavelCsv(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long projectId,
+            HttpServletResponse response) {
+        return csvExportService.download("tarefas_por_responsavel.csv", response,
+                csvExportService.exportarTarefasPorResponsavel(dataInicio, dataFim, projectId));
     }
 }
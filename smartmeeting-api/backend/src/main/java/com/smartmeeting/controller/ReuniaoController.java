@@ -243,12 +243,8 @@ public class ReuniaoController {
     @Transactional(readOnly = true)
     @GetMapping("/statistics")
     public ResponseEntity<ReuniaoStatisticsDTO> getReuniaoStatistics() {
+        // Já vem com a lista das próximas reuniões (objeto do cache, não alterar)
         ReuniaoStatisticsDTO statistics = service.getReuniaoStatistics();
-        // Populate proximasList with DTOs
-        List<ReuniaoDTO> proximasList = service.getProximasReunioes().stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
-        statistics.setProximasReunioesList(proximasList);
         return ResponseEntity.ok(statistics);
     }
 
@@ -1,13 +1,17 @@
 package com.smartmeeting.controller;
 
 import com.smartmeeting.dto.SalaDTO;
+import com.smartmeeting.dto.SalaDisponibilidadeDTO;
 import com.smartmeeting.dto.SalaStatisticsDTO;
 import com.smartmeeting.service.sala.SalaService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -68,15 +72,18 @@ public class SalaController {
 
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
-    public ResponseEntity<SalaStatisticsDTO> getSalaStatistics() {
-        SalaStatisticsDTO statistics = service.getSalaStatistics();
+    public ResponseEntity<SalaStatisticsDTO> getSalaStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        SalaStatisticsDTO statistics = service.getSalaStatistics(inicio, fim);
         return ResponseEntity.ok(statistics);
     }
 
     @PostMapping("/{id}/reservar")
-    public ResponseEntity<Void> reservarSala(@PathVariable("id") Long id, @RequestBody Map<String, String> body) {
-        service.reservarSala(id, body.get("inicio"), body.get("fim"));
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Long>> reservarSala(@PathVariable("id") Long id,
+                                                         @RequestBody Map<String, String> body) {
+        Long reservaId = service.reservarSala(id, body.get("inicio"), body.get("fim"), body.get("motivo"));
+        return ResponseEntity.ok(Map.of("reservaId", reservaId));
     }
 
     @GetMapping("/{id}/disponibilidade")
@@ -87,6 +94,19 @@ public class SalaController {
         return ResponseEntity.ok(disponibilidade);
     }
 
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<List<SalaDisponibilidadeDTO>> buscarDisponibilidade(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) Integer capacidadeMinima,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String andar,
+            @RequestParam(required = false) List<String> equipamentos,
+            @RequestParam(required = false) Integer duracaoMinima) {
+        return ResponseEntity.ok(service.buscarDisponibilidade(
+                inicio, fim, capacidadeMinima, categoria, andar, equipamentos, duracaoMinima));
+    }
+
     @DeleteMapping("/{id}/reservar/{reservaId}")
     public ResponseEntity<Void> cancelarReservaSala(
             @PathVariable("id") Long id,
@@ -117,8 +137,11 @@ public class SalaController {
     }
 
     @GetMapping("/buscar")
-    public ResponseEntity<List<SalaDTO>> buscarSalas(@RequestParam String q) {
-        List<SalaDTO> salas = service.buscarPorTexto(q);
+    public ResponseEntity<List<SalaDTO>> buscarSalas(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer capacidadeMinima,
+            @RequestParam(required = false) List<String> equipamentos) {
+        List<SalaDTO> salas = service.buscarPorTexto(q, capacidadeMinima, equipamentos);
         return ResponseEntity.ok(salas);
     }
 
@@ -0,0 +1,57 @@
+package com.smartmeeting.controller;
+
+import com.smartmeeting.config.MonitorExecutores;
+import com.smartmeeting.dto.ExecutorMetricasDTO;
+import com.smartmeeting.dto.JobExecucaoDTO;
+import com.smartmeeting.dto.JobLockDTO;
+import com.smartmeeting.service.job.JobLockService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/sistema")
+public class SistemaController {
+
+    private final MonitorExecutores monitorExecutores;
+    private final JobLockService jobLockService;
+
+    public SistemaController(MonitorExecutores monitorExecutores, JobLockService jobLockService) {
+        this.monitorExecutores = monitorExecutores;
+        this.jobLockService = jobLockService;
+    }
+
+    /**
+     * Ocupação, fila e rejeições de cada pool de threads
+     */
+    @GetMapping("/executores")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public ResponseEntity<List<ExecutorMetricasDTO>> getMetricasExecutores() {
+        return ResponseEntity.ok(monitorExecutores.getMetricas());
+    }
+
+    /**
+     * Locks dos jobs agendados: qual instância está com cada job e até quando
+     */
+    @GetMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public ResponseEntity<List<JobLockDTO>> getLocksJobs() {
+        return ResponseEntity.ok(jobLockService.listarLocks());
+    }
+
+    /**
+     * Execuções mais recentes dos jobs (todas ou de um job), com instância e duração
+     */
+    @GetMapping("/jobs/execucoes")
+    @PreAuthorize("hasRole('ADMIN') or hasAuthority('ADMIN_VIEW_REPORTS')")
+    public ResponseEntity<List<JobExecucaoDTO>> getExecucoesJobs(
+            @RequestParam(required = false) String nome,
+            @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(jobLockService.listarExecucoes(nome, limite));
+    }
+}
@@ -5,11 +5,13 @@ import com.smartmeeting.service.project.ProjectPermissionService;
 import com.smartmeeting.service.tarefa.TarefaService;
 import com.smartmeeting.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -95,6 +97,16 @@ public class TarefaController {
 
     // ── Ações ────────────────────────────────────────────────────────────────
 
+    /**
+     * Move, atribui ou atualiza várias tarefas de uma vez; a permissão
+     * (TASK_MOVE, TASK_ASSIGN ou TASK_EDIT) é checada por projeto no serviço.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TarefaLoteResultadoDTO> executarEmLote(@RequestBody TarefaLoteRequest request) {
+        return ResponseEntity.ok(tarefaService.executarEmLote(request));
+    }
+
     @PostMapping("/{id}/duplicar")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<TarefaDTO> duplicar(@PathVariable Long id,
@@ -113,21 +125,30 @@ public class TarefaController {
 
     @GetMapping("/statistics")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<TarefaStatisticsDTO> getStatistics() {
-        return ResponseEntity.ok(tarefaService.getTarefaStatistics());
+    public ResponseEntity<TarefaStatisticsDTO> getStatistics(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(tarefaService.getTarefaStatistics(projectId, inicio, fim));
     }
 
     @GetMapping("/vencendo")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TarefaDTO>> getVencendo(
-            @RequestParam(defaultValue = "3") Integer dias) {
-        return ResponseEntity.ok(tarefaService.getTarefasVencendo(dias));
+    public ResponseEntity<List<TarefaResumoDTO>> getVencendo(
+            @RequestParam(defaultValue = "3") Integer dias,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long responsavelId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(tarefaService.getTarefasVencendo(dias, projectId, responsavelId, page, size));
     }
 
     @GetMapping("/minhas")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TarefaDTO>> getMinhas() {
-        return ResponseEntity.ok(tarefaService.getTarefasDoUsuarioAtual());
+    public ResponseEntity<List<TarefaResumoDTO>> getMinhas(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(tarefaService.getTarefasDoUsuarioAtual(page, size));
     }
 
     @GetMapping("/pendencias/{reuniaoId}")
@@ -263,6 +284,31 @@ public class TarefaController {
         return ResponseEntity.ok(tarefaService.getNotificacoesTarefas());
     }
 
+    /**
+     * Caixa de entrada paginada (keyset). Notificações novas e o contador de não lidas
+     * também chegam pelo WebSocket ({@code task_notification}).
+     */
+    @GetMapping({"/notificacoes/feed", "/notifications/feed"})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<NotificacaoTarefaFeedDTO> getCaixaDeEntrada(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean naoLidas) {
+        return ResponseEntity.ok(tarefaService.getCaixaDeEntrada(cursor, size, naoLidas));
+    }
+
+    @GetMapping({"/notificacoes/nao-lidas/contagem", "/notifications/unread/count"})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Long>> contarNotificacoesNaoLidas() {
+        return ResponseEntity.ok(Map.of("naoLidas", tarefaService.contarNotificacoesNaoLidas()));
+    }
+
+    @PatchMapping({"/notificacoes/lidas", "/notifications/read"})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Integer>> marcarTodasNotificacoesLidas() {
+        return ResponseEntity.ok(Map.of("marcadas", tarefaService.marcarTodasNotificacoesLidas()));
+    }
+
     @PatchMapping({"/notificacoes/{notifId}/lida", "/notifications/{notifId}/read"})
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> marcarNotificacaoLida(@PathVariable Long notifId) {
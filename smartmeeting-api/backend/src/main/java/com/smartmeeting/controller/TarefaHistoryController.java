@@ -1,7 +1,12 @@
 package com.smartmeeting.controller;
 
 import com.smartmeeting.dto.TarefaHistoryDTO;
+import com.smartmeeting.dto.TarefaHistoryFeedDTO;
+import com.smartmeeting.enums.PermissionType;
+import com.smartmeeting.exception.ForbiddenException;
+import com.smartmeeting.service.project.ProjectPermissionService;
 import com.smartmeeting.service.tarefa.TarefaService;
+import com.smartmeeting.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,10 +20,24 @@ import java.util.List;
 public class TarefaHistoryController {
 
     private final TarefaService tarefaService;
+    private final ProjectPermissionService projectPermissionService;
 
     @GetMapping("/{tarefaId}/history")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<TarefaHistoryDTO>> getHistory(@PathVariable Long tarefaId) {
         return ResponseEntity.ok(tarefaService.buscarHistoricoPorTarefa(tarefaId));
     }
+
+    @GetMapping("/projeto/{projectId}/history")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<TarefaHistoryFeedDTO> getProjectHistory(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (!SecurityUtils.isAdmin() &&
+                !projectPermissionService.hasPermissionForCurrentUser(projectId, PermissionType.TASK_VIEW)) {
+            throw new ForbiddenException("Você não tem permissão para ver o histórico deste projeto.");
+        }
+        return ResponseEntity.ok(tarefaService.buscarHistoricoProjetoFeed(projectId, cursor, size));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha de agregação (chave, total) vinda de consultas GROUP BY.
+ * A chave é o valor agrupado: um enum de status/prioridade, um id ou um nome.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContagemDTO {
+    private Object chave;
+    private Long total;
+}
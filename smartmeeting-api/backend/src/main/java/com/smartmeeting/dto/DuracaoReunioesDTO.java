@@ -0,0 +1,20 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregados de duração das reuniões (uma linha de COUNT/AVG/SUM/MAX/MIN).
+ * Sem reuniões no filtro, média, soma, máxima e mínima vêm nulas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuracaoReunioesDTO {
+    private Long total;
+    private Double media;
+    private Long soma;
+    private Integer maxima;
+    private Integer minima;
+}
@@ -0,0 +1,28 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Retrato da fila de saída de e-mails. Latências são do enfileiramento ao envio,
+ * em segundos, para as mensagens enviadas na última hora.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxMetricasDTO {
+    private long pendentes;
+    private long enviando;
+    private long falhas;
+    /** Idade da mensagem pendente mais antiga (0 se a fila está vazia) */
+    private long idadeMaisAntigaSegundos;
+    private Double latenciaMediaSegundos;
+    private Long latenciaMaximaSegundos;
+    /** Contadores desta instância desde o start */
+    private long enviadas;
+    private long tentativasFalhas;
+    private long lotes;
+    private int workersAtivos;
+    private int lotesAguardandoWorker;
+}
@@ -0,0 +1,24 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de um pool de threads: ocupação, fila e rejeições desde a subida
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutorMetricasDTO {
+    private String nome;
+    private int threadsAtivas;
+    private int threads;
+    private int maximoThreads;
+    private int picoThreads;
+    private int fila;
+    /** Integer.MAX_VALUE para filas sem limite */
+    private int capacidadeFila;
+    private long tarefasConcluidas;
+    private long rejeitadas;
+}
@@ -0,0 +1,18 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo de tempo semiaberto [inicio, fim)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntervaloDTO {
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+}
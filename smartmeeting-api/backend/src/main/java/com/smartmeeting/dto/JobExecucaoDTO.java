@@ -0,0 +1,29 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.StatusJobExecucao;
+import com.smartmeeting.model.JobExecucao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecucaoDTO {
+    private Long id;
+    private String nome;
+    private String instancia;
+    private StatusJobExecucao status;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private Long duracaoMs;
+    private int heartbeatsPerdidos;
+    private String erro;
+
+    public static JobExecucaoDTO de(JobExecucao e) {
+        return new JobExecucaoDTO(e.getId(), e.getNome(), e.getInstancia(), e.getStatus(), e.getInicio(),
+                e.getFim(), e.getDuracaoMs(), e.getHeartbeatsPerdidos(), e.getErro());
+    }
+}
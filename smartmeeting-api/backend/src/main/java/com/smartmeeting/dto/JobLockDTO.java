@@ -0,0 +1,28 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.model.JobLock;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado do lock de um job: {@code ativo} quando o prazo ainda não venceu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLockDTO {
+    private String nome;
+    private String dono;
+    private LocalDateTime adquiridoEm;
+    private LocalDateTime heartbeatEm;
+    private LocalDateTime expiraEm;
+    private boolean ativo;
+
+    public static JobLockDTO de(JobLock l, LocalDateTime agora) {
+        return new JobLockDTO(l.getNome(), l.getDono(), l.getAdquiridoEm(), l.getHeartbeatEm(), l.getExpiraEm(),
+                l.getExpiraEm().isAfter(agora));
+    }
+}
@@ -0,0 +1,20 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página da caixa de entrada de notificações de tarefa (paginação keyset)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificacaoTarefaFeedDTO {
+    private List<NotificacaoTarefaDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private long naoLidas;
+}
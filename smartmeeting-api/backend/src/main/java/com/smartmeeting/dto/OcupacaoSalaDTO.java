@@ -0,0 +1,23 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.StatusReuniao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ocupação de uma sala por uma reunião (projeção enxuta de REUNIAO)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcupacaoSalaDTO {
+    private Long reuniaoId;
+    private Long salaId;
+    private String titulo;
+    private StatusReuniao status;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+}
@@ -0,0 +1,18 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Reuniao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Participante de uma reunião em andamento que ainda não registrou presença
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipanteAusenteDTO {
+    private Reuniao reuniao;
+    private Pessoa participante;
+}
@@ -0,0 +1,18 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tarefas e tarefas concluídas de um responsável (GROUP BY responsável)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutividadeResponsavelDTO {
+    private Long responsavelId;
+    private String responsavel;
+    private Long total;
+    private Long concluidas;
+}
@@ -0,0 +1,24 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.StatusReuniao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de reunião das exportações CSV (projeção, sem hidratar a entidade)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReuniaoExportacaoDTO {
+    private Long id;
+    private String titulo;
+    private String sala;
+    private LocalDateTime dataHoraInicio;
+    private Integer duracaoMinutos;
+    private StatusReuniao status;
+    private String organizador;
+}
@@ -0,0 +1,43 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.SalaStatus;
+import com.smartmeeting.model.Sala;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Entrada imutável do catálogo de salas (cache "salas"): só os dados cadastrais,
+ * sem reuniões nem proxies JPA. O status guardado é o gravado em SALA; o status
+ * efetivo é derivado na conversão para {@link SalaDTO}.
+ */
+@Value
+public class SalaCatalogoDTO implements Serializable {
+
+    Long id;
+    String nome;
+    Integer capacidade;
+    String localizacao;
+    SalaStatus statusGravado;
+    List<String> equipamentos;
+    String categoria;
+    String andar;
+    String imagem;
+    String observacoes;
+
+    public static SalaCatalogoDTO de(Sala sala) {
+        return new SalaCatalogoDTO(
+                sala.getId(),
+                sala.getNome(),
+                sala.getCapacidade(),
+                sala.getLocalizacao(),
+                sala.getStatus(),
+                sala.getEquipamentos() != null ? sala.getEquipamentos().stream().filter(Objects::nonNull).sorted().toList() : List.of(),
+                sala.getCategoria(),
+                sala.getAndar(),
+                sala.getImagem(),
+                sala.getObservacoes());
+    }
+}
@@ -0,0 +1,20 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sala com os intervalos livres dentro da janela pesquisada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaDisponibilidadeDTO {
+    private SalaDTO sala;
+    /** Verdadeiro quando a sala está livre durante toda a janela */
+    private boolean livreNoPeriodo;
+    private List<IntervaloDTO> intervalosLivres;
+}
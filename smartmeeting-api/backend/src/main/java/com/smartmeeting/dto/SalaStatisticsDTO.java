@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,5 +15,9 @@ public class SalaStatisticsDTO {
     private long disponiveis;
     private long ocupadas;
     private long manutencao;
+    /** Utilização geral no período (percentual 0-100) */
     private double utilizacaoMedia;
+    private LocalDate periodoInicio;
+    private LocalDate periodoFim;
+    private List<UtilizacaoSalaDTO> utilizacaoPorSala;
 }
@@ -0,0 +1,27 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de tarefa das exportações CSV (projeção, sem hidratar a entidade)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaExportacaoDTO {
+    private Long id;
+    private String titulo;
+    private Long responsavelId;
+    private String responsavel;
+    private String projeto;
+    private PrioridadeTarefa prioridade;
+    private LocalDate prazo;
+    private boolean concluida;
+    private LocalDateTime dataConclusao;
+}
@@ -25,4 +25,21 @@ public class TarefaHistoryDTO {
     private String newValue;
     private String description;
     private LocalDateTime createdAt;
+
+    /** Construtor usado pelas projeções JPQL do histórico (sem hidratar a entidade) */
+    public TarefaHistoryDTO(Long id, Long tarefaId, Long usuarioId, String usuarioNome,
+                            HistoryActionType actionType, String fieldName, String oldValue,
+                            String newValue, String description, LocalDateTime createdAt) {
+        this.id = id;
+        this.tarefaId = tarefaId;
+        this.usuarioId = usuarioId;
+        this.usuarioNome = usuarioNome;
+        this.actionType = actionType;
+        this.actionDescription = actionType != null ? actionType.getDescricao() : null;
+        this.fieldName = fieldName;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
 }
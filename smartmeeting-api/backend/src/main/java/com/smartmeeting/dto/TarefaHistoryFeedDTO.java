@@ -0,0 +1,19 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do feed de histórico de um projeto (paginação keyset)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaHistoryFeedDTO {
+    private List<TarefaHistoryDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
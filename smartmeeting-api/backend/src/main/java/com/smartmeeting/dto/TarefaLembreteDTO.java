@@ -0,0 +1,26 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Tarefa aberta com o responsável, para o resumo diário de pendências
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaLembreteDTO {
+    private Long tarefaId;
+    private String titulo;
+    private String descricao;
+    private LocalDate prazo;
+    private PrioridadeTarefa prioridade;
+    private Long responsavelId;
+    private String responsavelNome;
+    private String responsavelEmail;
+    private String projectName;
+}
@@ -0,0 +1,32 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Operação em lote sobre tarefas ({@code POST /tarefas/bulk}).
+ * <ul>
+ * <li>MOVER: {@code columnId} obrigatório;</li>
+ * <li>ATRIBUIR: {@code responsavelId} (nulo remove o responsável);</li>
+ * <li>ATUALIZAR: {@code prioridade}, {@code prazo} e/ou {@code concluida}; campos nulos ficam como estão.</li>
+ * </ul>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaLoteRequest {
+
+    public enum Operacao { MOVER, ATRIBUIR, ATUALIZAR }
+
+    private Operacao operacao;
+    private List<Long> tarefaIds;
+    private Long columnId;
+    private Long responsavelId;
+    private String prioridade;
+    private LocalDate prazo;
+    private Boolean concluida;
+}
@@ -0,0 +1,18 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaLoteResultadoDTO {
+    private TarefaLoteRequest.Operacao operacao;
+    private int solicitadas;
+    /** Tarefas que de fato mudaram (as que já estavam no estado pedido são ignoradas) */
+    private int alteradas;
+    private List<Long> projetosAfetados;
+}
@@ -0,0 +1,16 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Par (tarefa, participante), para montar destinatários de várias tarefas numa consulta
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaParticipanteDTO {
+    private Long tarefaId;
+    private Long pessoaId;
+}
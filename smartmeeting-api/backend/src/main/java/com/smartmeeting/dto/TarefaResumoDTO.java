@@ -0,0 +1,30 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção enxuta de tarefa para listagens (vencendo, minhas tarefas).
+ * Os nomes dos campos seguem {@link TarefaDTO}, para o frontend ler os dois igualmente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaResumoDTO {
+    private Long id;
+    private String titulo;
+    private String descricao;
+    private LocalDate prazo;
+    private boolean concluida;
+    private PrioridadeTarefa prioridade;
+    private Long columnId;
+    private String columnName;
+    private Long responsavelId;
+    private String responsavelNome;
+    private Long projectId;
+    private String projectName;
+}
@@ -0,0 +1,25 @@
+package com.smartmeeting.dto;
+
+import com.smartmeeting.enums.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Situação de uma tarefa para os contadores do dashboard (projeção enxuta de TAREFA).
+ * Título da coluna e nome do responsável são opcionais: o listener só os preenche
+ * quando a associação já está carregada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaSituacaoDTO {
+    private Long tarefaId;
+    private Long projectId;
+    private Long colunaId;
+    private String colunaTitulo;
+    private PrioridadeTarefa prioridade;
+    private Long responsavelId;
+    private String responsavelNome;
+    private boolean concluida;
+}
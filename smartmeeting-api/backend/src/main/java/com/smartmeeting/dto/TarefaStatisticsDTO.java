@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -23,8 +24,12 @@ public class TarefaStatisticsDTO {
     private double taxaConclusao;
     private long tarefasVencendo;
     private long tarefasAtrasadas;
+    /** Horas entre criação e conclusão, média das conclusões no período */
     private double mediaTempoConclusao;
+    /** Conclusões por semana (data = segunda-feira da semana) */
     private List<ProdutividadeSemanaDTO> produtividadeSemana;
+    private LocalDate periodoInicio;
+    private LocalDate periodoFim;
 
     @Data
     @NoArgsConstructor
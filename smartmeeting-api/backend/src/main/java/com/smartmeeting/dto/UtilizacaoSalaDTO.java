@@ -0,0 +1,32 @@
+package com.smartmeeting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Utilização de uma sala em um período: minutos reservados / minutos disponíveis
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizacaoSalaDTO {
+    private Long salaId;
+    private String nome;
+    private Integer capacidade;
+    private long totalReunioes;
+    private long minutosReservados;
+    private long minutosDisponiveis;
+    /** Percentual (0-100) */
+    private double utilizacao;
+
+    /** Usado pela agregação JPQL; minutos disponíveis e percentual são preenchidos no serviço */
+    public UtilizacaoSalaDTO(Long salaId, String nome, Integer capacidade, Long totalReunioes,
+                             Long minutosReservados) {
+        this.salaId = salaId;
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.totalReunioes = totalReunioes != null ? totalReunioes : 0L;
+        this.minutosReservados = minutosReservados != null ? minutosReservados : 0L;
+    }
+}
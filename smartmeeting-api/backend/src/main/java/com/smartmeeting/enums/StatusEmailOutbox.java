@@ -0,0 +1,14 @@
+package com.smartmeeting.enums;
+
+/**
+ * Situação de uma mensagem na fila de saída de e-mails
+ */
+public enum StatusEmailOutbox {
+    /** Aguardando envio (inclusive novas tentativas) */
+    PENDENTE,
+    /** Reservada por um worker */
+    ENVIANDO,
+    ENVIADO,
+    /** Esgotou as tentativas */
+    FALHA
+}
@@ -0,0 +1,12 @@
+package com.smartmeeting.enums;
+
+/**
+ * Situação de uma execução de job agendado
+ */
+public enum StatusJobExecucao {
+    EXECUTANDO,
+    SUCESSO,
+    FALHA,
+    /** A instância parou de renovar o lock e outra assumiu o job */
+    ABANDONADA
+}
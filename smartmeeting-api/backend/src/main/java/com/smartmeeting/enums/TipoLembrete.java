@@ -0,0 +1,13 @@
+package com.smartmeeting.enums;
+
+/**
+ * Tipos de lembrete registrados no livro de envios ({@code LEMBRETE_ENVIADO})
+ */
+public enum TipoLembrete {
+    /** Véspera da reunião; referência = reunião */
+    CHECKLIST_REUNIAO,
+    /** Reunião começando em cerca de uma hora; referência = reunião */
+    URGENTE_REUNIAO,
+    /** Participante ausente em reunião em andamento; referência = reunião */
+    PRESENCA_ATRASADA
+}
@@ -5,7 +5,9 @@ public enum TipoNotificacaoTarefa {
     ATRASO("Tarefa Atrasada"),
     ATRIBUICAO("Tarefa Atribuída"),
     COMENTARIO("Novo Comentário em Tarefa"),
-    VENCENDO("Tarefa Vencendo");
+    VENCENDO("Tarefa Vencendo"),
+    ATUALIZACAO("Tarefa Atualizada"),
+    CONCLUSAO("Tarefa Concluída");
 
     private final String descricao;
 
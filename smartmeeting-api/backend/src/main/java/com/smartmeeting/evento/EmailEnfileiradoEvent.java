@@ -0,0 +1,21 @@
+package com.smartmeeting.evento;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando mensagens entram na fila de saída de e-mails; após o commit,
+ * acorda o despachante sem esperar o próximo ciclo agendado.
+ */
+public class EmailEnfileiradoEvent extends ApplicationEvent {
+
+    private final int quantidade;
+
+    public EmailEnfileiradoEvent(Object source, int quantidade) {
+        super(source);
+        this.quantidade = quantidade;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartmeeting.evento;
+
+import com.smartmeeting.dto.NotificacaoTarefaDTO;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando a caixa de entrada de um usuário muda: notificação nova, notificações
+ * lidas ou removidas. Após o commit, reconta as não lidas e avisa o usuário pelo
+ * WebSocket.
+ */
+public class NotificacaoTarefaEvent extends ApplicationEvent {
+
+    /**
+     * CRIADA: envia a notificação junto com o contador; RECEBIDAS: várias de uma vez
+     * (operação em lote), envia a quantidade; LIDAS e RECONTAR: só o contador
+     */
+    public enum Tipo { CRIADA, RECEBIDAS, LIDAS, RECONTAR }
+
+    private final Tipo tipo;
+    private final Long usuarioId;
+    private final NotificacaoTarefaDTO notificacao;
+    private final int quantidade;
+
+    private NotificacaoTarefaEvent(Object source, Tipo tipo, Long usuarioId,
+                                   NotificacaoTarefaDTO notificacao, int quantidade) {
+        super(source);
+        this.tipo = tipo;
+        this.usuarioId = usuarioId;
+        this.notificacao = notificacao;
+        this.quantidade = quantidade;
+    }
+
+    public static NotificacaoTarefaEvent criada(Object source, NotificacaoTarefaDTO notificacao) {
+        return new NotificacaoTarefaEvent(source, Tipo.CRIADA, notificacao.getUsuarioId(), notificacao, 1);
+    }
+
+    public static NotificacaoTarefaEvent recebidas(Object source, Long usuarioId, int quantidade) {
+        return new NotificacaoTarefaEvent(source, Tipo.RECEBIDAS, usuarioId, null, quantidade);
+    }
+
+    public static NotificacaoTarefaEvent lidas(Object source, Long usuarioId) {
+        return new NotificacaoTarefaEvent(source, Tipo.LIDAS, usuarioId, null, 0);
+    }
+
+    public static NotificacaoTarefaEvent recontar(Object source, Long usuarioId) {
+        return new NotificacaoTarefaEvent(source, Tipo.RECONTAR, usuarioId, null, 0);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public NotificacaoTarefaDTO getNotificacao() {
+        return notificacao;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartmeeting.evento;
+
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando uma reunião é criada, alterada ou removida.
+ * Carrega um retrato da ocupação para que os ouvintes não precisem recarregar a entidade,
+ * e o anterior (como carregado do banco), para quem mantém contagens por diferença.
+ */
+public class ReuniaoAlteradaEvent extends ApplicationEvent {
+
+    public enum Tipo { CRIADA, ATUALIZADA, REMOVIDA }
+
+    private final Tipo tipo;
+    private final OcupacaoSalaDTO anterior;
+    private final OcupacaoSalaDTO ocupacao;
+
+    /**
+     * @param anterior ocupação antes da alteração; nula na criação ou se desconhecida
+     */
+    public ReuniaoAlteradaEvent(Object source, Tipo tipo, OcupacaoSalaDTO anterior, OcupacaoSalaDTO ocupacao) {
+        super(source);
+        this.tipo = tipo;
+        this.anterior = anterior;
+        this.ocupacao = ocupacao;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public OcupacaoSalaDTO getAnterior() {
+        return anterior;
+    }
+
+    public OcupacaoSalaDTO getOcupacao() {
+        return ocupacao;
+    }
+
+    public Long getReuniaoId() {
+        return ocupacao.getReuniaoId();
+    }
+}
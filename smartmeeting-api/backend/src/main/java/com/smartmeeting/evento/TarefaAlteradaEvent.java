@@ -0,0 +1,44 @@
+package com.smartmeeting.evento;
+
+import com.smartmeeting.dto.TarefaSituacaoDTO;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando uma tarefa é criada, alterada (inclusive movida ou concluída) ou removida.
+ * Carrega a situação atual da tarefa para que os ouvintes não precisem recarregar a entidade,
+ * e a anterior (como carregada do banco), para quem mantém contagens por diferença.
+ */
+public class TarefaAlteradaEvent extends ApplicationEvent {
+
+    public enum Tipo { CRIADA, ATUALIZADA, REMOVIDA }
+
+    private final Tipo tipo;
+    private final TarefaSituacaoDTO anterior;
+    private final TarefaSituacaoDTO situacao;
+
+    /**
+     * @param anterior situação antes da alteração; nula na criação ou se desconhecida
+     */
+    public TarefaAlteradaEvent(Object source, Tipo tipo, TarefaSituacaoDTO anterior, TarefaSituacaoDTO situacao) {
+        super(source);
+        this.tipo = tipo;
+        this.anterior = anterior;
+        this.situacao = situacao;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public TarefaSituacaoDTO getAnterior() {
+        return anterior;
+    }
+
+    public TarefaSituacaoDTO getSituacao() {
+        return situacao;
+    }
+
+    public Long getTarefaId() {
+        return situacao.getTarefaId();
+    }
+}
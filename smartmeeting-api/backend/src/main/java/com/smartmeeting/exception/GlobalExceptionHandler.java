@@ -86,7 +86,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // Handler para PessimisticLockingFailureException (409 Conflict - lock não
+    // obtido dentro do timeout, ex.: reservas simultâneas da mesma sala)
+    @ExceptionHandler(org.springframework.dao.PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLockingFailure(
+            org.springframework.dao.PessimisticLockingFailureException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), "Conflict",
+                "O recurso está sendo alterado por outra requisição. Tente novamente.",
+                path);
+        log.warn("Pessimistic Locking Failure: {}", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     // Handler para HttpRequestMethodNotSupportedException (405 Method Not Allowed)
+    // Handler para TaskRejectedException (503 - pool de exportação/assíncrono cheio)
+    @ExceptionHandler(org.springframework.core.task.TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(
+            org.springframework.core.task.TaskRejectedException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                "Muitas exportações em andamento. Tente novamente em instantes.", path);
+        log.warn("Task Rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupported(HttpRequestMethodNotSupportedException ex,
             WebRequest request) {
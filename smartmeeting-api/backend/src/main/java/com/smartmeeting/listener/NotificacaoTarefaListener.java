@@ -0,0 +1,61 @@
+package com.smartmeeting.listener;
+
+import com.smartmeeting.evento.NotificacaoTarefaEvent;
+import com.smartmeeting.service.tarefa.ContadorNotificacoesNaoLidas;
+import com.smartmeeting.websocket.PermissionWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reconta as não lidas e avisa o usuário pelo WebSocket a cada mudança na
+ * caixa de entrada, para que o cliente não precise consultar /tarefas/notificacoes.
+ * Mensagens: {@code task_notification} (notificação nova + contador),
+ * {@code task_notifications_received} (quantas chegaram de uma operação em lote + contador)
+ * e {@code task_notifications_unread} (só o contador).
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificacaoTarefaListener {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoTarefaListener.class);
+
+    private final ContadorNotificacoesNaoLidas contador;
+    private final PermissionWebSocketHandler webSocketHandler;
+
+    /**
+     * Só depois do commit: a recontagem já vê a alteração e o cliente que reagir ao push
+     * encontra a notificação no banco
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async
+    public void aoAlterarCaixaDeEntrada(NotificacaoTarefaEvent event) {
+        Long usuarioId = event.getUsuarioId();
+        try {
+            // Conta de novo após o commit em vez de ajustar o valor em memória
+            long naoLidas = contador.recontar(usuarioId);
+
+            Map<String, Object> payload = new LinkedHashMap<>();
+            if (event.getTipo() == NotificacaoTarefaEvent.Tipo.CRIADA) {
+                payload.put("type", "task_notification");
+                payload.put("notification", event.getNotificacao());
+            } else if (event.getTipo() == NotificacaoTarefaEvent.Tipo.RECEBIDAS) {
+                payload.put("type", "task_notifications_received");
+                payload.put("count", event.getQuantidade());
+            } else {
+                payload.put("type", "task_notifications_unread");
+            }
+            payload.put("unreadCount", naoLidas);
+            payload.put("timestamp", System.currentTimeMillis());
+            webSocketHandler.sendToUser(usuarioId, payload);
+        } catch (Exception e) {
+            log.error("Erro ao atualizar notificações do usuário {}: {}", usuarioId, e.getMessage(), e);
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.smartmeeting.service.kanban.KanbanColumnDynamicService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
@@ -17,7 +17,11 @@ public class ProjectCreationListener {
 
     private final KanbanColumnDynamicService kanbanColumnService;
 
-    @EventListener
+    /**
+     * Roda no pool de eventos e só depois do commit de quem publicou, para o projeto já
+     * estar visível na transação das colunas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
     @Async
     public void handleProjectCreation(ProjectCreatedEvent event) {
         try {
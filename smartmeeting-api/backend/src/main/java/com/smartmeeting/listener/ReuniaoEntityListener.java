@@ -0,0 +1,62 @@
+package com.smartmeeting.listener;
+
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.evento.ReuniaoAlteradaEvent;
+import com.smartmeeting.model.Reuniao;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link Reuniao}: converte persist/update/remove em
+ * {@link ReuniaoAlteradaEvent}, cobrindo todos os caminhos que gravam reuniões.
+ * <p>
+ * Guarda na entidade a ocupação ao carregar e após cada gravação, para o evento levar
+ * também a ocupação anterior.
+ */
+@Component
+public class ReuniaoEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReuniaoEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void aoCarregar(Reuniao reuniao) {
+        reuniao.setOcupacaoAnterior(ocupacao(reuniao));
+    }
+
+    @PostPersist
+    public void aoCriar(Reuniao reuniao) {
+        publicar(ReuniaoAlteradaEvent.Tipo.CRIADA, reuniao);
+    }
+
+    @PostUpdate
+    public void aoAtualizar(Reuniao reuniao) {
+        publicar(ReuniaoAlteradaEvent.Tipo.ATUALIZADA, reuniao);
+    }
+
+    @PostRemove
+    public void aoRemover(Reuniao reuniao) {
+        publicar(ReuniaoAlteradaEvent.Tipo.REMOVIDA, reuniao);
+    }
+
+    private void publicar(ReuniaoAlteradaEvent.Tipo tipo, Reuniao reuniao) {
+        OcupacaoSalaDTO atual = ocupacao(reuniao);
+        OcupacaoSalaDTO anterior = tipo == ReuniaoAlteradaEvent.Tipo.CRIADA ? null : reuniao.getOcupacaoAnterior();
+        reuniao.setOcupacaoAnterior(atual);
+        eventPublisher.publishEvent(new ReuniaoAlteradaEvent(this, tipo, anterior, atual));
+    }
+
+    private static OcupacaoSalaDTO ocupacao(Reuniao reuniao) {
+        // getId() do proxy da sala não dispara carga
+        Long salaId = reuniao.getSala() != null ? reuniao.getSala().getId() : null;
+        return new OcupacaoSalaDTO(reuniao.getId(), salaId, reuniao.getTitulo(), reuniao.getStatus(),
+                reuniao.getDataHoraInicio(), reuniao.getDataHoraFim());
+    }
+}
@@ -0,0 +1,73 @@
+package com.smartmeeting.listener;
+
+import com.smartmeeting.dto.TarefaSituacaoDTO;
+import com.smartmeeting.evento.TarefaAlteradaEvent;
+import com.smartmeeting.model.KanbanColumnDynamic;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Tarefa;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link Tarefa}: converte persist/update/remove em
+ * {@link TarefaAlteradaEvent}. UPDATEs em massa (JPQL) não passam por aqui.
+ * <p>
+ * Guarda na entidade a situação ao carregar e após cada gravação, para o evento levar
+ * também a situação anterior.
+ */
+@Component
+public class TarefaEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TarefaEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void aoCarregar(Tarefa tarefa) {
+        tarefa.setSituacaoAnterior(situacao(tarefa));
+    }
+
+    @PostPersist
+    public void aoCriar(Tarefa tarefa) {
+        publicar(TarefaAlteradaEvent.Tipo.CRIADA, tarefa);
+    }
+
+    @PostUpdate
+    public void aoAtualizar(Tarefa tarefa) {
+        publicar(TarefaAlteradaEvent.Tipo.ATUALIZADA, tarefa);
+    }
+
+    @PostRemove
+    public void aoRemover(Tarefa tarefa) {
+        publicar(TarefaAlteradaEvent.Tipo.REMOVIDA, tarefa);
+    }
+
+    private void publicar(TarefaAlteradaEvent.Tipo tipo, Tarefa tarefa) {
+        TarefaSituacaoDTO atual = situacao(tarefa);
+        TarefaSituacaoDTO anterior = tipo == TarefaAlteradaEvent.Tipo.CRIADA ? null : tarefa.getSituacaoAnterior();
+        tarefa.setSituacaoAnterior(atual);
+        eventPublisher.publishEvent(new TarefaAlteradaEvent(this, tipo, anterior, atual));
+    }
+
+    public static TarefaSituacaoDTO situacao(Tarefa tarefa) {
+        // Ids dos proxies não disparam carga; título/nome só se já carregados
+        KanbanColumnDynamic coluna = tarefa.getColumn();
+        Pessoa responsavel = tarefa.getResponsavel();
+        return new TarefaSituacaoDTO(
+                tarefa.getId(),
+                tarefa.getProject() != null ? tarefa.getProject().getId() : null,
+                coluna != null ? coluna.getId() : null,
+                coluna != null && Hibernate.isInitialized(coluna) ? coluna.getTitle() : null,
+                tarefa.getPrioridade(),
+                responsavel != null ? responsavel.getId() : null,
+                responsavel != null && Hibernate.isInitialized(responsavel) ? responsavel.getNome() : null,
+                tarefa.isConcluida());
+    }
+}
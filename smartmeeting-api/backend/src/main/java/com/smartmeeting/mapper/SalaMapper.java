@@ -1,7 +1,10 @@
 package com.smartmeeting.mapper;
 
+import com.smartmeeting.dto.SalaCatalogoDTO;
 import com.smartmeeting.dto.SalaDTO;
+import com.smartmeeting.enums.SalaStatus;
 import com.smartmeeting.model.Sala;
+import com.smartmeeting.service.sala.SalaOcupacaoAtual;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -13,21 +16,48 @@ import java.util.HashSet;
 @Component
 public class SalaMapper {
 
+    private final SalaOcupacaoAtual ocupacaoAtual;
+
+    public SalaMapper(SalaOcupacaoAtual ocupacaoAtual) {
+        this.ocupacaoAtual = ocupacaoAtual;
+    }
+
     public SalaDTO toDTO(Sala sala) {
         if (sala == null)
             return null;
         SalaDTO dto = new SalaDTO();
+        // Status efetivo vem da agenda; só MANUTENCAO é lido da sala
+        SalaStatus status = sala.getId() != null ? ocupacaoAtual.getStatus(sala) : sala.getStatus();
         dto.setId(sala.getId());
         dto.setNome(sala.getNome());
         dto.setCapacidade(sala.getCapacidade());
         dto.setLocalizacao(sala.getLocalizacao());
-        dto.setStatus(sala.getStatus());
+        dto.setStatus(status);
         dto.setEquipamentos(sala.getEquipamentos() != null ? new ArrayList<>(sala.getEquipamentos()) : null);
         dto.setCategoria(sala.getCategoria());
         dto.setAndar(sala.getAndar());
         dto.setImagem(sala.getImagem());
         dto.setObservacoes(sala.getObservacoes());
-        dto.setDisponibilidade(sala.getStatus() == com.smartmeeting.enums.SalaStatus.LIVRE);
+        dto.setDisponibilidade(status == SalaStatus.LIVRE);
+        return dto;
+    }
+
+    public SalaDTO toDTO(SalaCatalogoDTO sala) {
+        if (sala == null)
+            return null;
+        SalaStatus status = ocupacaoAtual.getStatus(sala.getId(), sala.getStatusGravado());
+        SalaDTO dto = new SalaDTO();
+        dto.setId(sala.getId());
+        dto.setNome(sala.getNome());
+        dto.setCapacidade(sala.getCapacidade());
+        dto.setLocalizacao(sala.getLocalizacao());
+        dto.setStatus(status);
+        dto.setEquipamentos(new ArrayList<>(sala.getEquipamentos()));
+        dto.setCategoria(sala.getCategoria());
+        dto.setAndar(sala.getAndar());
+        dto.setImagem(sala.getImagem());
+        dto.setObservacoes(sala.getObservacoes());
+        dto.setDisponibilidade(status == SalaStatus.LIVRE);
         return dto;
     }
 
@@ -0,0 +1,75 @@
+package com.smartmeeting.model;
+
+import com.smartmeeting.enums.StatusEmailOutbox;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensagem na fila de saída de e-mails. Quem envia só grava a linha; o
+ * {@code EmailOutboxDispatcher} entrega em lotes, com novas tentativas.
+ */
+@Entity
+@Table(name = "EMAIL_OUTBOX", indexes = {
+        // Próximas a enviar: PENDENTE por PROXIMA_TENTATIVA
+        @Index(name = "IDX_EMAIL_OUTBOX_FILA", columnList = "STATUS, PROXIMA_TENTATIVA")
+})
+@Data
+@NoArgsConstructor
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SQ_EMAIL_OUTBOX")
+    @SequenceGenerator(name = "SQ_EMAIL_OUTBOX", sequenceName = "SQ_EMAIL_OUTBOX", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "DESTINATARIO", nullable = false)
+    private String destinatario;
+
+    @Column(name = "ASSUNTO", nullable = false, length = 500)
+    private String assunto;
+
+    @Column(name = "CORPO", columnDefinition = "TEXT")
+    private String corpo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private StatusEmailOutbox status = StatusEmailOutbox.PENDENTE;
+
+    @Column(name = "TENTATIVAS", nullable = false)
+    private int tentativas;
+
+    @Column(name = "PROXIMA_TENTATIVA", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "RESERVADO_EM")
+    private LocalDateTime reservadoEm;
+
+    @Column(name = "CRIADO_EM", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "ENVIADO_EM")
+    private LocalDateTime enviadoEm;
+
+    @Column(name = "ULTIMO_ERRO", length = 1000)
+    private String ultimoErro;
+
+    public EmailOutbox(String destinatario, String assunto, String corpo) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.corpo = corpo;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (criadoEm == null) {
+            criadoEm = LocalDateTime.now();
+        }
+        if (proximaTentativa == null) {
+            proximaTentativa = criadoEm;
+        }
+    }
+}
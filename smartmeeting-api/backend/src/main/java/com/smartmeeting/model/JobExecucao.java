@@ -0,0 +1,58 @@
+package com.smartmeeting.model;
+
+import com.smartmeeting.enums.StatusJobExecucao;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma execução de job agendado: qual instância rodou, quanto tempo levou e como terminou
+ */
+@Entity
+@Table(name = "JOB_EXECUCAO", indexes = {
+        @Index(name = "IDX_JOB_EXECUCAO_NOME", columnList = "NOME_JOB, INICIO")
+})
+@Data
+@NoArgsConstructor
+public class JobExecucao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SQ_JOB_EXECUCAO")
+    @SequenceGenerator(name = "SQ_JOB_EXECUCAO", sequenceName = "SQ_JOB_EXECUCAO", allocationSize = 1)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "NOME_JOB", nullable = false, length = 100)
+    private String nome;
+
+    @Column(name = "INSTANCIA", nullable = false, length = 200)
+    private String instancia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private StatusJobExecucao status = StatusJobExecucao.EXECUTANDO;
+
+    @Column(name = "INICIO", nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(name = "FIM")
+    private LocalDateTime fim;
+
+    @Column(name = "DURACAO_MS")
+    private Long duracaoMs;
+
+    /** Renovações do lock que falharam durante a execução (lease perdido) */
+    @Column(name = "HEARTBEATS_PERDIDOS", nullable = false)
+    private int heartbeatsPerdidos;
+
+    @Column(name = "ERRO", length = 2000)
+    private String erro;
+
+    public JobExecucao(String nome, String instancia, LocalDateTime inicio) {
+        this.nome = nome;
+        this.instancia = instancia;
+        this.inicio = inicio;
+    }
+}
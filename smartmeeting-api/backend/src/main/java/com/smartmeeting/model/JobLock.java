@@ -0,0 +1,35 @@
+package com.smartmeeting.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lock de um job agendado no cluster. Quem é {@code dono} pode rodar o job até
+ * {@code expiraEm}; enquanto roda, renova o prazo (heartbeat). Se a instância cair,
+ * o prazo vence e outra instância assume.
+ */
+@Entity
+@Table(name = "JOB_LOCK")
+@Data
+@NoArgsConstructor
+public class JobLock {
+
+    @Id
+    @Column(name = "NOME_JOB", length = 100)
+    private String nome;
+
+    @Column(name = "DONO", nullable = false, length = 200)
+    private String dono;
+
+    @Column(name = "EXPIRA_EM", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "ADQUIRIDO_EM", nullable = false)
+    private LocalDateTime adquiridoEm;
+
+    @Column(name = "HEARTBEAT_EM")
+    private LocalDateTime heartbeatEm;
+}
@@ -0,0 +1,56 @@
+package com.smartmeeting.model;
+
+import com.smartmeeting.enums.TipoLembrete;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Livro de lembretes já enviados: no máximo um por (tipo, reunião/tarefa, destinatário, horário alvo).
+ * O horário alvo é o início da reunião no momento do envio; se a reunião for remarcada, a chave
+ * muda e os lembretes voltam a ser enviados para o novo horário.
+ * Os jobs consultam o livro antes de enfileirar e gravam nele na mesma transação dos e-mails.
+ */
+@Entity
+@Table(name = "LEMBRETE_ENVIADO", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_LEMBRETE_ENVIADO", columnNames = { "TIPO", "REFERENCIA_ID", "DESTINATARIO_ID", "ALVO_EM" })
+}, indexes = {
+        @Index(name = "IDX_LEMBRETE_ENVIADO_DATA", columnList = "ENVIADO_EM")
+})
+@Data
+@NoArgsConstructor
+public class LembreteEnviado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SQ_LEMBRETE_ENVIADO")
+    @SequenceGenerator(name = "SQ_LEMBRETE_ENVIADO", sequenceName = "SQ_LEMBRETE_ENVIADO", allocationSize = 50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TIPO", nullable = false, length = 30)
+    private TipoLembrete tipo;
+
+    @Column(name = "REFERENCIA_ID", nullable = false)
+    private Long referenciaId;
+
+    @Column(name = "DESTINATARIO_ID", nullable = false)
+    private Long destinatarioId;
+
+    @Column(name = "ALVO_EM", nullable = false)
+    private LocalDateTime alvoEm;
+
+    @Column(name = "ENVIADO_EM", nullable = false)
+    private LocalDateTime enviadoEm;
+
+    public LembreteEnviado(TipoLembrete tipo, Long referenciaId, Long destinatarioId,
+                           LocalDateTime alvoEm, LocalDateTime enviadoEm) {
+        this.tipo = tipo;
+        this.referenciaId = referenciaId;
+        this.destinatarioId = destinatarioId;
+        this.alvoEm = alvoEm;
+        this.enviadoEm = enviadoEm;
+    }
+}
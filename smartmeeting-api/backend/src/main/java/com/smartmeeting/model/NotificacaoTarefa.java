@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notificacoes_tarefa")
+@Table(name = "notificacoes_tarefa", indexes = {
+        // Caixa de entrada: filtro por usuário (e não lidas), ordem por data
+        @Index(name = "IDX_NOTIF_TAREFA_INBOX", columnList = "usuario_id, lida, created_at"),
+        @Index(name = "IDX_NOTIF_TAREFA_TAREFA", columnList = "tarefa_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,60 @@
+package com.smartmeeting.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Ponto de retomada de um job em lotes: a execução (dia) em andamento e a última
+ * chave já processada. Gravado na mesma transação do lote, para que um restart
+ * continue de onde parou sem repetir o que já saiu.
+ */
+@Entity
+@Table(name = "JOB_PROGRESSO")
+@Data
+@NoArgsConstructor
+public class ProgressoJob {
+
+    @Id
+    @Column(name = "NOME_JOB", length = 100)
+    private String nome;
+
+    @Column(name = "EXECUCAO", nullable = false)
+    private LocalDate execucao;
+
+    @Column(name = "ULTIMA_CHAVE")
+    private Long ultimaChave;
+
+    @Column(name = "PROCESSADOS", nullable = false)
+    private long processados;
+
+    @Column(name = "INICIADO_EM", nullable = false)
+    private LocalDateTime iniciadoEm;
+
+    @Column(name = "ATUALIZADO_EM")
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "CONCLUIDO_EM")
+    private LocalDateTime concluidoEm;
+
+    public ProgressoJob(String nome) {
+        this.nome = nome;
+    }
+
+    /** Começa uma nova execução do zero */
+    public void iniciar(LocalDate execucao) {
+        this.execucao = execucao;
+        this.ultimaChave = null;
+        this.processados = 0;
+        this.iniciadoEm = LocalDateTime.now();
+        this.atualizadoEm = iniciadoEm;
+        this.concluidoEm = null;
+    }
+
+    public boolean isConcluido() {
+        return concluidoEm != null;
+    }
+}
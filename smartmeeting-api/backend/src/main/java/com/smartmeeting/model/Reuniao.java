@@ -1,7 +1,10 @@
 package com.smartmeeting.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.smartmeeting.dto.OcupacaoSalaDTO;
 import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.listener.ReuniaoEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.Accessors;
@@ -9,15 +12,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "REUNIAO")
+@Table(name = "REUNIAO", indexes = {
+        // Consulta de ocupação: reuniões de uma sala que cruzam um intervalo
+        @Index(name = "IDX_REUNIAO_SALA_PERIODO", columnList = "SALA_ID, DATAHORAINICIO_REUNIAO, DATAHORAFIM_REUNIAO")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Accessors(chain = true)
 @EqualsAndHashCode(callSuper = false, exclude = { "organizador", "sala", "participantes", "presencas", "tarefas",
-        "project" })
-@ToString(exclude = { "organizador", "sala", "participantes", "presencas", "tarefas", "project" })
+        "project", "ocupacaoAnterior" })
+@ToString(exclude = { "organizador", "sala", "participantes", "presencas", "tarefas", "project", "ocupacaoAnterior" })
 @NamedEntityGraphs({
         @NamedEntityGraph(
                 name = "Reuniao.comOrganizadorESala",
@@ -43,6 +49,7 @@ import java.util.List;
                 }
         )
 })
+@EntityListeners(ReuniaoEntityListener.class)
 public class Reuniao extends Auditable {
 
     @Id
@@ -60,6 +67,14 @@ public class Reuniao extends Auditable {
     @Column(name = "DURACAOMINUTOS_REUNIAO", nullable = false)
     private Integer duracaoMinutos;
 
+    /**
+     * Fim da reunião (início + duração), persistido para permitir
+     * consultas de sobreposição por intervalo direto no índice.
+     */
+    @Column(name = "DATAHORAFIM_REUNIAO")
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime dataHoraFim;
+
     @Column(name = "PAUTA_REUNIAO", nullable = false)
     private String pauta;
 
@@ -100,10 +115,21 @@ public class Reuniao extends Auditable {
     @Column(name = "VERSION")
     private Long version;
 
+    /** Ocupação como carregada ou gravada por último; ver {@link ReuniaoEntityListener} */
+    @Transient
+    @JsonIgnore
+    private OcupacaoSalaDTO ocupacaoAnterior;
+
     public LocalDateTime getDataHoraFim() {
         if (dataHoraInicio != null && duracaoMinutos != null) {
             return dataHoraInicio.plusMinutes(duracaoMinutos);
         }
         return null;
     }
+
+    @PrePersist
+    @PreUpdate
+    public void sincronizarDataHoraFim() {
+        dataHoraFim = getDataHoraFim();
+    }
 }
\ No newline at end of file
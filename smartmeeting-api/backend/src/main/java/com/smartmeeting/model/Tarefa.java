@@ -1,29 +1,40 @@
 package com.smartmeeting.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartmeeting.dto.TarefaSituacaoDTO;
 import com.smartmeeting.enums.PrioridadeTarefa;
 import com.smartmeeting.enums.PrioridadeTarefaConverter;
+import com.smartmeeting.listener.TarefaEntityListener;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-@Table(name = "TAREFA")
+@Table(name = "TAREFA", indexes = {
+                @Index(name = "IDX_TAREFA_PRAZO", columnList = "CONCLUIDA_TAREFA, PRAZO_TAREFA"),
+                @Index(name = "IDX_TAREFA_CONCLUSAO", columnList = "CONCLUIDA_TAREFA, DATA_CONCLUSAO"),
+                @Index(name = "IDX_TAREFA_RESPONSAVEL", columnList = "ID_RESPONSAVEL"),
+                @Index(name = "IDX_TAREFA_CREATED_BY", columnList = "CREATED_BY")
+})
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Accessors(chain = true)
 @EqualsAndHashCode(callSuper = false, exclude = { "responsavel", "reuniao", "project", "participantes", "comentarios",
-                "anexos" })
+                "anexos", "situacaoAnterior" })
 @NamedEntityGraph(name = "Tarefa.completa", attributeNodes = {
                 @NamedAttributeNode("responsavel"),
                 @NamedAttributeNode("project"),
@@ -34,6 +45,7 @@ import java.util.Set;
                 @NamedAttributeNode("anexos"),
                 @NamedAttributeNode("tags")
 })
+@EntityListeners(TarefaEntityListener.class)
 public class Tarefa extends Auditable {
 
         @Id
@@ -54,6 +66,11 @@ public class Tarefa extends Auditable {
         @Column(name = "CONCLUIDA_TAREFA", nullable = false)
         private boolean concluida;
 
+        /** Quando a tarefa foi marcada como concluída; limpo se ela for reaberta */
+        @Column(name = "DATA_CONCLUSAO")
+        @Setter(AccessLevel.NONE)
+        private LocalDateTime dataConclusao;
+
         @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "ID_KANBAN_COLUMN")
         private KanbanColumnDynamic column;
@@ -84,7 +101,8 @@ public class Tarefa extends Auditable {
         private Pessoa responsavel;
 
         @ManyToMany(fetch = FetchType.LAZY)
-        @JoinTable(name = "TAREFA_PARTICIPANTES", joinColumns = @JoinColumn(name = "ID_TAREFA"), inverseJoinColumns = @JoinColumn(name = "ID_PESSOA"))
+        @JoinTable(name = "TAREFA_PARTICIPANTES", joinColumns = @JoinColumn(name = "ID_TAREFA"), inverseJoinColumns = @JoinColumn(name = "ID_PESSOA"),
+                        indexes = @Index(name = "IDX_TAREFA_PARTICIPANTES_PESSOA", columnList = "ID_PESSOA"))
         @BatchSize(size = 10)
         private Set<Pessoa> participantes = new HashSet<>();
 
@@ -104,6 +122,21 @@ public class Tarefa extends Auditable {
         @BatchSize(size = 10)
         private Set<AnexoTarefa> anexos = new LinkedHashSet<>();
 
+        /** Situação como carregada ou gravada por último; ver {@link TarefaEntityListener} */
+        @Transient
+        @JsonIgnore
+        private TarefaSituacaoDTO situacaoAnterior;
+
+        @PrePersist
+        @PreUpdate
+        public void sincronizarDataConclusao() {
+                if (!concluida) {
+                        dataConclusao = null;
+                } else if (dataConclusao == null) {
+                        dataConclusao = LocalDateTime.now();
+                }
+        }
+
         @Override
         public String toString() {
                 return "Tarefa{" +
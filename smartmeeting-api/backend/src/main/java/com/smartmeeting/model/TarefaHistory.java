@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
  * Registra todas as modificações feitas na tarefa (estilo Pipefy)
  */
 @Entity
-@Table(name = "TAREFA_HISTORY")
+@Table(name = "TAREFA_HISTORY", indexes = {
+        // Feed do projeto: keyset em (createdAt, id) dentro do projeto
+        @Index(name = "IDX_TAREFA_HISTORY_PROJ_FEED", columnList = "ID_PROJECT, CREATED_AT, ID"),
+        @Index(name = "IDX_TAREFA_HISTORY_TAREFA", columnList = "ID_TAREFA, CREATED_AT")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +38,13 @@ public class TarefaHistory {
     @JoinColumn(name = "ID_TAREFA", nullable = false)
     private Tarefa tarefa;
 
+    /**
+     * Projeto da tarefa, desnormalizado para que o feed do projeto
+     * seja lido pelo índice sem join com TAREFA.
+     */
+    @Column(name = "ID_PROJECT")
+    private Long projectId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ID_USUARIO")
     private Pessoa usuario;
@@ -60,6 +71,9 @@ public class TarefaHistory {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (projectId == null && tarefa != null && tarefa.getProject() != null) {
+            projectId = tarefa.getProject().getId();
+        }
     }
 
     // Construtor auxiliar para criação rápida
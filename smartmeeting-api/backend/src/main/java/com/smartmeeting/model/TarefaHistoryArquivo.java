@@ -0,0 +1,89 @@
+package com.smartmeeting.model;
+
+import com.smartmeeting.enums.HistoryActionType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Histórico de tarefa arquivado pela rotina de retenção.
+ * Mantém o ID original do TAREFA_HISTORY para que a paginação keyset
+ * continue consistente entre a tabela quente e o arquivo.
+ * Sem FKs: o nome do usuário é copiado no momento do arquivamento.
+ */
+@Entity
+@Table(name = "TAREFA_HISTORY_ARQUIVO", indexes = {
+        @Index(name = "IDX_TAREFA_HIST_ARQ_PROJ_FEED", columnList = "ID_PROJECT, CREATED_AT, ID_ORIGINAL"),
+        @Index(name = "IDX_TAREFA_HIST_ARQ_TAREFA", columnList = "ID_TAREFA, CREATED_AT")
+})
+@Data
+@NoArgsConstructor
+public class TarefaHistoryArquivo implements Persistable<Long> {
+
+    @Id
+    @Column(name = "ID_ORIGINAL")
+    private Long id;
+
+    @Column(name = "ID_TAREFA", nullable = false)
+    private Long tarefaId;
+
+    @Column(name = "ID_PROJECT")
+    private Long projectId;
+
+    @Column(name = "ID_USUARIO")
+    private Long usuarioId;
+
+    @Column(name = "NOME_USUARIO")
+    private String usuarioNome;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ACTION_TYPE", nullable = false)
+    private HistoryActionType actionType;
+
+    @Column(name = "FIELD_NAME")
+    private String fieldName;
+
+    @Column(name = "OLD_VALUE", columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(name = "NEW_VALUE", columnDefinition = "TEXT")
+    private String newValue;
+
+    @Column(name = "DESCRIPTION", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Quantidade de registros originais consolidados nesta linha */
+    @Column(name = "QTD_COMPACTADOS", nullable = false)
+    private Integer quantidadeCompactada = 1;
+
+    @Column(name = "ARQUIVADO_EM", nullable = false)
+    private LocalDateTime arquivadoEm;
+
+    // ID é atribuído (vem do histórico original): evita o SELECT do merge no save
+    @Transient
+    private boolean novo = true;
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (arquivadoEm == null) {
+            arquivadoEm = LocalDateTime.now();
+        }
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void marcarPersistido() {
+        novo = false;
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.enums.StatusEmailOutbox;
+import com.smartmeeting.model.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Próximas mensagens prontas para envio, com lock de escrita: duas instâncias
+     * não reservam a mesma linha.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.PENDENTE " +
+            "AND e.proximaTentativa <= :agora ORDER BY e.proximaTentativa, e.id")
+    List<EmailOutbox> findProntosParaEnvio(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    List<EmailOutbox> findByIdIn(Collection<Long> ids);
+
+    long countByStatus(StatusEmailOutbox status);
+
+    @Query("SELECT MIN(e.criadoEm) FROM EmailOutbox e " +
+            "WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.PENDENTE")
+    LocalDateTime findCriacaoMaisAntigaPendente();
+
+    /** Segundos entre enfileirar e enviar, para as mensagens enviadas desde {@code desde} */
+    @Query("SELECT AVG((e.enviadoEm - e.criadoEm) by second) FROM EmailOutbox e " +
+            "WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.ENVIADO AND e.enviadoEm >= :desde")
+    Double mediaSegundosAteEnvio(@Param("desde") LocalDateTime desde);
+
+    @Query("SELECT MAX((e.enviadoEm - e.criadoEm) by second) FROM EmailOutbox e " +
+            "WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.ENVIADO AND e.enviadoEm >= :desde")
+    Long maximoSegundosAteEnvio(@Param("desde") LocalDateTime desde);
+
+    /** Devolve à fila reservas que ficaram presas (worker morto, restart no meio do envio) */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.smartmeeting.enums.StatusEmailOutbox.PENDENTE, " +
+            "e.reservadoEm = NULL WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.ENVIANDO " +
+            "AND e.reservadoEm < :limite")
+    int liberarReservasExpiradas(@Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = com.smartmeeting.enums.StatusEmailOutbox.ENVIADO " +
+            "AND e.enviadoEm < :limite")
+    int excluirEnviadosAntesDe(@Param("limite") LocalDateTime limite);
+}
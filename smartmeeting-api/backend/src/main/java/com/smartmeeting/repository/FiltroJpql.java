@@ -0,0 +1,55 @@
+package com.smartmeeting.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cláusula WHERE de JPQL montada só com os filtros informados. Filtro nulo fica fora da
+ * consulta, em vez de virar {@code (:p IS NULL OR coluna = :p)}, que obriga o banco a
+ * escolher um plano que sirva para qualquer combinação de filtros.
+ */
+final class FiltroJpql {
+
+    private final StringBuilder where = new StringBuilder();
+    private final Map<String, Object> parametros = new LinkedHashMap<>();
+
+    /** {@code expressao = :nome}, se o valor não for nulo */
+    FiltroJpql igual(String expressao, String nome, Object valor) {
+        return comparar(expressao, "=", nome, valor);
+    }
+
+    /** {@code expressao >= :nome}, se o valor não for nulo */
+    FiltroJpql aPartirDe(String expressao, String nome, Object valor) {
+        return comparar(expressao, ">=", nome, valor);
+    }
+
+    /** {@code expressao <= :nome}, se o valor não for nulo */
+    FiltroJpql ate(String expressao, String nome, Object valor) {
+        return comparar(expressao, "<=", nome, valor);
+    }
+
+    String where() {
+        return where.length() == 0 ? "" : "WHERE " + where + " ";
+    }
+
+    <T> TypedQuery<T> criar(EntityManager entityManager, String jpql, Class<T> tipo) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, tipo);
+        parametros.forEach(query::setParameter);
+        return query;
+    }
+
+    private FiltroJpql comparar(String expressao, String operador, String nome, Object valor) {
+        if (valor == null) {
+            return this;
+        }
+        if (where.length() > 0) {
+            where.append(" AND ");
+        }
+        where.append(expressao).append(' ').append(operador).append(" :").append(nome);
+        parametros.put(nome, valor);
+        return this;
+    }
+}
@@ -0,0 +1,37 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.enums.StatusJobExecucao;
+import com.smartmeeting.model.JobExecucao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobExecucaoRepository extends JpaRepository<JobExecucao, Long> {
+
+    @Query("SELECT e FROM JobExecucao e WHERE (:nome IS NULL OR e.nome = :nome) ORDER BY e.inicio DESC, e.id DESC")
+    List<JobExecucao> findRecentes(@Param("nome") String nome, Pageable pageable);
+
+    /**
+     * Execuções que ficaram abertas por uma instância que perdeu o lock (chamado por
+     * quem acabou de adquiri-lo)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobExecucao e SET e.status = :abandonada, e.fim = :agora " +
+            "WHERE e.nome = :nome AND e.status = :executando")
+    int marcarAbandonadas(@Param("nome") String nome,
+                          @Param("agora") LocalDateTime agora,
+                          @Param("executando") StatusJobExecucao executando,
+                          @Param("abandonada") StatusJobExecucao abandonada);
+
+    @Modifying
+    @Query("DELETE FROM JobExecucao e WHERE e.inicio < :limite AND e.status <> :executando")
+    int excluirAntesDe(@Param("limite") LocalDateTime limite,
+                       @Param("executando") StatusJobExecucao executando);
+}
@@ -0,0 +1,50 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Primeira vez do job: cria a linha já com o dono. Se outra instância inserir
+     * antes, a chave primária rejeita esta.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO JOB_LOCK (NOME_JOB, DONO, EXPIRA_EM, ADQUIRIDO_EM, HEARTBEAT_EM) " +
+            "VALUES (:nome, :dono, :expiraEm, :agora, :agora)", nativeQuery = true)
+    int inserir(@Param("nome") String nome, @Param("dono") String dono,
+                @Param("expiraEm") LocalDateTime expiraEm, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Toma o lock se ele venceu. O UPDATE condicional é atômico: de várias instâncias
+     * disputando, só uma altera a linha.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobLock l SET l.dono = :dono, l.expiraEm = :expiraEm, l.adquiridoEm = :agora, " +
+            "l.heartbeatEm = :agora WHERE l.nome = :nome AND l.expiraEm <= :agora")
+    int tomarSeVencido(@Param("nome") String nome, @Param("dono") String dono,
+                       @Param("expiraEm") LocalDateTime expiraEm, @Param("agora") LocalDateTime agora);
+
+    /** Heartbeat: estende o prazo, desde que o lock ainda seja de {@code dono} */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobLock l SET l.expiraEm = :expiraEm, l.heartbeatEm = :agora " +
+            "WHERE l.nome = :nome AND l.dono = :dono")
+    int renovar(@Param("nome") String nome, @Param("dono") String dono,
+                @Param("expiraEm") LocalDateTime expiraEm, @Param("agora") LocalDateTime agora);
+
+    /** Libera o lock, mantendo-o até {@code expiraEm} (tempo mínimo entre execuções) */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE JobLock l SET l.expiraEm = :expiraEm WHERE l.nome = :nome AND l.dono = :dono")
+    int liberar(@Param("nome") String nome, @Param("dono") String dono,
+                @Param("expiraEm") LocalDateTime expiraEm);
+
+    List<JobLock> findAllByOrderByNomeAsc();
+}
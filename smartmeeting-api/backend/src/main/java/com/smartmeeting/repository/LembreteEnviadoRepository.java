@@ -0,0 +1,29 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.enums.TipoLembrete;
+import com.smartmeeting.model.LembreteEnviado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LembreteEnviadoRepository extends JpaRepository<LembreteEnviado, Long> {
+
+    /**
+     * Envios já registrados de um tipo para um conjunto de reuniões/tarefas (usa o
+     * índice da chave única: TIPO, REFERENCIA_ID)
+     */
+    @Query("SELECT l FROM LembreteEnviado l WHERE l.tipo = :tipo AND l.referenciaId IN :referencias")
+    List<LembreteEnviado> findByTipoAndReferencias(@Param("tipo") TipoLembrete tipo,
+                                                   @Param("referencias") Collection<Long> referencias);
+
+    @Modifying
+    @Query("DELETE FROM LembreteEnviado l WHERE l.enviadoEm < :limite")
+    int excluirAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -1,10 +1,16 @@
 package com.smartmeeting.repository;
 
+import com.smartmeeting.dto.NotificacaoTarefaDTO;
 import com.smartmeeting.model.NotificacaoTarefa;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,4 +23,40 @@ public interface NotificacaoTarefaRepository extends JpaRepository<NotificacaoTa
 
     @EntityGraph(value = "NotificacaoTarefa.comTarefaEUsuario")
     List<NotificacaoTarefa> findByUsuarioIdOrderByCreatedAtDesc(Long usuarioId);
-}
\ No newline at end of file
+
+    // ── Caixa de entrada (keyset em createdAt DESC, id DESC) ─────────────────
+    // Usa IDX_NOTIF_TAREFA_INBOX; projeção direta, sem hidratar tarefa nem usuário.
+
+    String INBOX_PROJECAO = "SELECT new com.smartmeeting.dto.NotificacaoTarefaDTO(" +
+            "n.id, n.tarefa.id, n.usuario.id, n.tipo, n.titulo, n.mensagem, n.lida, n.createdAt, n.agendadaPara) " +
+            "FROM NotificacaoTarefa n " +
+            "WHERE n.usuario.id = :usuarioId AND (:apenasNaoLidas = false OR n.lida = false) ";
+
+    @Query(INBOX_PROJECAO + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificacaoTarefaDTO> findInbox(@Param("usuarioId") Long usuarioId,
+                                         @Param("apenasNaoLidas") boolean apenasNaoLidas,
+                                         Pageable pageable);
+
+    @Query(INBOX_PROJECAO +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificacaoTarefaDTO> findInboxApos(@Param("usuarioId") Long usuarioId,
+                                             @Param("apenasNaoLidas") boolean apenasNaoLidas,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    long countByUsuarioIdAndLidaFalse(Long usuarioId);
+
+    @Modifying
+    @Query("UPDATE NotificacaoTarefa n SET n.lida = true WHERE n.usuario.id = :usuarioId AND n.lida = false")
+    int marcarTodasLidas(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("DELETE FROM NotificacaoTarefa n WHERE n.tarefa.id = :tarefaId")
+    int deleteByTarefaId(@Param("tarefaId") Long tarefaId);
+
+    /** Usuários com notificações não lidas da tarefa, para acertar os contadores ao excluí-la */
+    @Query("SELECT DISTINCT n.usuario.id FROM NotificacaoTarefa n WHERE n.tarefa.id = :tarefaId AND n.lida = false")
+    List<Long> findUsuariosComNaoLidas(@Param("tarefaId") Long tarefaId);
+}
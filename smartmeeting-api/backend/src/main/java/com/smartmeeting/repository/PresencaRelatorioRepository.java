@@ -0,0 +1,15 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Agregados de presença para relatórios; filtros nulos ficam fora da consulta
+ */
+public interface PresencaRelatorioRepository {
+
+    /** Presenças por pessoa, filtradas pela reunião (projeto e início em [inicio, fim]) */
+    List<ContagemDTO> contarPorPessoa(Long pessoaId, Long projectId, LocalDateTime inicio, LocalDateTime fim);
+}
@@ -0,0 +1,28 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class PresencaRelatorioRepositoryImpl implements PresencaRelatorioRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContagemDTO> contarPorPessoa(Long pessoaId, Long projectId, LocalDateTime inicio, LocalDateTime fim) {
+        FiltroJpql filtro = new FiltroJpql()
+                .igual("pe.id", "pessoaId", pessoaId)
+                .igual("r.project.id", "projectId", projectId)
+                .aPartirDe("r.dataHoraInicio", "inicio", inicio)
+                .ate("r.dataHoraInicio", "fim", fim);
+        return filtro.criar(entityManager,
+                "SELECT new com.smartmeeting.dto.ContagemDTO(pe.nome, COUNT(p)) " +
+                        "FROM Presenca p JOIN p.participante pe JOIN p.reuniao r " +
+                        filtro.where() + "GROUP BY pe.id, pe.nome",
+                ContagemDTO.class).getResultList();
+    }
+}
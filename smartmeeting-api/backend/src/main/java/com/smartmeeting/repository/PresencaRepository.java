@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface PresencaRepository extends JpaRepository<Presenca, Long> {
+public interface PresencaRepository extends JpaRepository<Presenca, Long>, PresencaRelatorioRepository {
 
     long countByReuniao(Reuniao reuniao);
 
@@ -0,0 +1,9 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.model.ProgressoJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProgressoJobRepository extends JpaRepository<ProgressoJob, String> {
+}
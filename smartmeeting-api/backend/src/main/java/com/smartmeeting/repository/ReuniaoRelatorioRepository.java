@@ -0,0 +1,20 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.DuracaoReunioesDTO;
+import com.smartmeeting.enums.StatusReuniao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Agregados de reuniões para relatórios: início em [inicio, fim]; filtros nulos ficam fora
+ * da consulta
+ */
+public interface ReuniaoRelatorioRepository {
+
+    /** Chave nula: reuniões sem sala */
+    List<ContagemDTO> contarPorSala(Long projectId, LocalDateTime inicio, LocalDateTime fim);
+
+    DuracaoReunioesDTO resumirDuracao(Long projectId, LocalDateTime inicio, LocalDateTime fim, StatusReuniao status);
+}
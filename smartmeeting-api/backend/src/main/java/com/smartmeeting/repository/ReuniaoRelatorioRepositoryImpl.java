@@ -0,0 +1,43 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.DuracaoReunioesDTO;
+import com.smartmeeting.enums.StatusReuniao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class ReuniaoRelatorioRepositoryImpl implements ReuniaoRelatorioRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContagemDTO> contarPorSala(Long projectId, LocalDateTime inicio, LocalDateTime fim) {
+        FiltroJpql filtro = filtro(projectId, inicio, fim);
+        return filtro.criar(entityManager,
+                "SELECT new com.smartmeeting.dto.ContagemDTO(s.nome, COUNT(r)) FROM Reuniao r LEFT JOIN r.sala s " +
+                        filtro.where() + "GROUP BY s.id, s.nome",
+                ContagemDTO.class).getResultList();
+    }
+
+    @Override
+    public DuracaoReunioesDTO resumirDuracao(Long projectId, LocalDateTime inicio, LocalDateTime fim,
+                                             StatusReuniao status) {
+        FiltroJpql filtro = filtro(projectId, inicio, fim).igual("r.status", "status", status);
+        return filtro.criar(entityManager,
+                "SELECT new com.smartmeeting.dto.DuracaoReunioesDTO(COUNT(r), AVG(r.duracaoMinutos), " +
+                        "SUM(r.duracaoMinutos), MAX(r.duracaoMinutos), MIN(r.duracaoMinutos)) FROM Reuniao r " +
+                        filtro.where(),
+                DuracaoReunioesDTO.class).getSingleResult();
+    }
+
+    private static FiltroJpql filtro(Long projectId, LocalDateTime inicio, LocalDateTime fim) {
+        return new FiltroJpql()
+                .igual("r.project.id", "projectId", projectId)
+                .aPartirDe("r.dataHoraInicio", "inicio", inicio)
+                .ate("r.dataHoraInicio", "fim", fim);
+    }
+}
@@ -1,19 +1,29 @@
 package com.smartmeeting.repository;
 
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.dto.ParticipanteAusenteDTO;
+import com.smartmeeting.dto.ReuniaoExportacaoDTO;
 import com.smartmeeting.enums.StatusReuniao;
 import com.smartmeeting.model.Reuniao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReuniaoRepository extends JpaRepository<Reuniao, Long> {
+public interface ReuniaoRepository extends JpaRepository<Reuniao, Long>, ReuniaoRelatorioRepository {
     @Query("SELECT r FROM Reuniao r LEFT JOIN FETCH r.organizador LEFT JOIN FETCH r.project")
     List<Reuniao> findAllWithDetails();
 
@@ -41,6 +51,43 @@ public interface ReuniaoRepository extends JpaRepository<Reuniao, Long> {
             StatusReuniao status
     );
 
+    // ── Exportação CSV (agregados de relatório em ReuniaoRelatorioRepository) ──
+
+    /**
+     * Reuniões para exportação CSV, em ordem de início. Stream de projeções lido com
+     * fetch size limitado; consumir dentro de uma transação e fechar ao terminar.
+     * Filtros nulos são ignorados.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.smartmeeting.dto.ReuniaoExportacaoDTO(" +
+            "r.id, r.titulo, s.nome, r.dataHoraInicio, r.duracaoMinutos, r.status, o.nome) " +
+            "FROM Reuniao r LEFT JOIN r.sala s LEFT JOIN r.organizador o " +
+            "WHERE (:projectId IS NULL OR r.project.id = :projectId) " +
+            "AND (:inicio IS NULL OR r.dataHoraInicio >= :inicio) AND (:fim IS NULL OR r.dataHoraInicio <= :fim) " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "ORDER BY r.dataHoraInicio, r.id")
+    Stream<ReuniaoExportacaoDTO> streamParaExportacao(@Param("projectId") Long projectId,
+                                                      @Param("inicio") LocalDateTime inicio,
+                                                      @Param("fim") LocalDateTime fim,
+                                                      @Param("status") StatusReuniao status);
+
+    /**
+     * Pares (reunião, participante sem presença) das reuniões com {@code status} iniciadas
+     * em [inicio, fim]: anti-join de REUNIAO_PARTICIPANTES com PRESENCA em uma consulta,
+     * com a sala da reunião já carregada.
+     */
+    @Query("SELECT new com.smartmeeting.dto.ParticipanteAusenteDTO(r, p) FROM Reuniao r " +
+            "LEFT JOIN FETCH r.sala JOIN r.participantes p " +
+            "WHERE r.status = :status AND r.dataHoraInicio BETWEEN :inicio AND :fim " +
+            "AND NOT EXISTS (SELECT 1 FROM Presenca pr WHERE pr.reuniao = r AND pr.participante = p) " +
+            "ORDER BY r.id, p.id")
+    List<ParticipanteAusenteDTO> findParticipantesSemPresenca(@Param("inicio") LocalDateTime inicio,
+                                                             @Param("fim") LocalDateTime fim,
+                                                             @Param("status") StatusReuniao status);
+
     @EntityGraph(value = "Reuniao.completa")
     List<Reuniao> findByDataHoraInicioBetween(LocalDateTime inicio, LocalDateTime fim);
 
@@ -76,4 +123,48 @@ public interface ReuniaoRepository extends JpaRepository<Reuniao, Long> {
     @Query("SELECT COUNT(DISTINCT r) FROM Reuniao r LEFT JOIN r.participantes p " +
             "WHERE r.organizador.id = :pessoaId OR p.id = :pessoaId")
     long countByOrganizadorIdOrParticipantesId(@Param("pessoaId") Long pessoaId);
-}
\ No newline at end of file
+
+    // ── Estatísticas ────────────────────────────────────────────────────────
+
+    long countByStatusAndDataHoraInicioAfter(StatusReuniao status, LocalDateTime instante);
+
+    @EntityGraph(value = "Reuniao.comOrganizadorESala")
+    List<Reuniao> findByStatusAndDataHoraInicioAfterOrderByDataHoraInicioAsc(StatusReuniao status,
+                                                                          LocalDateTime instante,
+                                                                          Pageable pageable);
+
+    // ── Ocupação de salas (projeção, sem hidratar Reuniao) ──────────────────
+
+    String OCUPACAO_PROJECAO = "SELECT new com.smartmeeting.dto.OcupacaoSalaDTO(" +
+            "r.id, r.sala.id, r.titulo, r.status, r.dataHoraInicio, r.dataHoraFim) FROM Reuniao r ";
+
+    @Query(OCUPACAO_PROJECAO + "WHERE r.sala.id = :salaId AND r.status IN :status " +
+            "AND r.dataHoraInicio < :fim AND r.dataHoraFim > :inicio ORDER BY r.dataHoraInicio")
+    List<OcupacaoSalaDTO> findOcupacoesSala(@Param("salaId") Long salaId,
+                                            @Param("inicio") LocalDateTime inicio,
+                                            @Param("fim") LocalDateTime fim,
+                                            @Param("status") Collection<StatusReuniao> status);
+
+    @Query(OCUPACAO_PROJECAO + "WHERE r.sala IS NOT NULL AND r.status IN :status " +
+            "AND r.dataHoraInicio < :fim AND r.dataHoraFim > :inicio ORDER BY r.sala.id, r.dataHoraInicio")
+    List<OcupacaoSalaDTO> findOcupacoesNoPeriodo(@Param("inicio") LocalDateTime inicio,
+                                                 @Param("fim") LocalDateTime fim,
+                                                 @Param("status") Collection<StatusReuniao> status);
+
+    @Query(OCUPACAO_PROJECAO + "WHERE r.sala IS NOT NULL AND r.status IN :status")
+    List<OcupacaoSalaDTO> findOcupacoesPorStatus(@Param("status") Collection<StatusReuniao> status);
+
+    // ── Contadores do dashboard ─────────────────────────────────────────────
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(r.status, COUNT(r)) FROM Reuniao r GROUP BY r.status")
+    List<ContagemDTO> contarPorStatus();
+
+    /** Reuniões por id de sala; {@code status} nulo conta todas */
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(s.id, COUNT(r)) FROM Reuniao r JOIN r.sala s " +
+            "WHERE (:status IS NULL OR r.status = :status) GROUP BY s.id")
+    List<ContagemDTO> contarPorSalaId(@Param("status") StatusReuniao status);
+
+    /** Reuniões gravadas antes de DATAHORAFIM_REUNIAO existir */
+    @Query("SELECT r FROM Reuniao r WHERE r.dataHoraFim IS NULL")
+    List<Reuniao> findSemDataHoraFim();
+}
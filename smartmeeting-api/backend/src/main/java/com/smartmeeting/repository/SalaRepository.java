@@ -1,12 +1,21 @@
 package com.smartmeeting.repository;
 
+import com.smartmeeting.dto.UtilizacaoSalaDTO;
 import com.smartmeeting.enums.SalaStatus;
+import com.smartmeeting.enums.StatusReuniao;
 import com.smartmeeting.model.Sala;
-import org.springframework.cache.annotation.Cacheable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,14 +23,74 @@ import java.util.Optional;
 public interface SalaRepository extends JpaRepository<Sala, Long> {
 
     @Override
-    @Cacheable("salas")
-    @EntityGraph(value = "Sala.comEquipamentosEReunioes")
+    @EntityGraph(attributePaths = "equipamentos")
     List<Sala> findAll();
 
-    @Override
-    @Cacheable(value = "salas", key = "#id")
-    Optional<Sala> findById(Long id);
+    /**
+     * Fonte do catálogo de salas: cadastro com equipamentos, sem reuniões.
+     */
+    @Query("SELECT DISTINCT s FROM Sala s LEFT JOIN FETCH s.equipamentos ORDER BY s.nome")
+    List<Sala> findCatalogo();
+
+    @EntityGraph(attributePaths = "equipamentos")
+    Optional<Sala> findComEquipamentosById(Long id);
 
     @EntityGraph(value = "Sala.comEquipamentosEReunioes")
     long countByStatus(SalaStatus status);
+
+    @Query("SELECT s.id FROM Sala s")
+    List<Long> findAllIds();
+
+    @Query("SELECT s.id FROM Sala s WHERE s.status = :status")
+    List<Long> findIdsByStatus(@Param("status") SalaStatus status);
+
+    /**
+     * Uma linha por sala com as reuniões iniciadas em [inicio, fim) e os minutos
+     * reservados dentro do expediente ([expedienteInicio, expedienteFim), em minutos do
+     * dia) do dia de início de cada reunião. O que passa da meia-noite não é contado.
+     */
+    @Query("SELECT new com.smartmeeting.dto.UtilizacaoSalaDTO(s.id, s.nome, s.capacidade, COUNT(r), " +
+            "SUM(CASE WHEN least(extract(hour from r.dataHoraInicio) * 60 + extract(minute from r.dataHoraInicio) " +
+            "       + (r.dataHoraFim - r.dataHoraInicio) by minute, :expedienteFim) " +
+            "     > greatest(extract(hour from r.dataHoraInicio) * 60 + extract(minute from r.dataHoraInicio), :expedienteInicio) " +
+            "   THEN least(extract(hour from r.dataHoraInicio) * 60 + extract(minute from r.dataHoraInicio) " +
+            "       + (r.dataHoraFim - r.dataHoraInicio) by minute, :expedienteFim) " +
+            "     - greatest(extract(hour from r.dataHoraInicio) * 60 + extract(minute from r.dataHoraInicio), :expedienteInicio) " +
+            "   ELSE 0 END)) " +
+            "FROM Sala s LEFT JOIN s.reunioes r ON r.status IN :status " +
+            "AND r.dataHoraInicio >= :inicio AND r.dataHoraInicio < :fim " +
+            "GROUP BY s.id, s.nome, s.capacidade ORDER BY s.nome")
+    List<UtilizacaoSalaDTO> agregarUtilizacao(@Param("inicio") LocalDateTime inicio,
+                                              @Param("fim") LocalDateTime fim,
+                                              @Param("expedienteInicio") long expedienteInicio,
+                                              @Param("expedienteFim") long expedienteFim,
+                                              @Param("status") Collection<StatusReuniao> status);
+
+    /**
+     * Salas reserváveis (fora de manutenção) que atendem aos filtros, com equipamentos.
+     * Equipamentos: a sala precisa ter todos os informados (comparação sem caixa);
+     * com {@code qtdEquipamentos = 0} o filtro é ignorado.
+     */
+    @Query("SELECT DISTINCT s FROM Sala s LEFT JOIN FETCH s.equipamentos " +
+            "WHERE s.status <> com.smartmeeting.enums.SalaStatus.MANUTENCAO " +
+            "AND (:capacidade IS NULL OR s.capacidade >= :capacidade) " +
+            "AND (:categoria IS NULL OR LOWER(s.categoria) = :categoria) " +
+            "AND (:andar IS NULL OR LOWER(s.andar) = :andar) " +
+            "AND (:qtdEquipamentos = 0 OR (SELECT COUNT(DISTINCT LOWER(e)) FROM Sala s2 JOIN s2.equipamentos e " +
+            "     WHERE s2.id = s.id AND LOWER(e) IN :equipamentos) = :qtdEquipamentos) " +
+            "ORDER BY s.nome")
+    List<Sala> findReservaveis(@Param("capacidade") Integer capacidade,
+                               @Param("categoria") String categoria,
+                               @Param("andar") String andar,
+                               @Param("equipamentos") Collection<String> equipamentos,
+                               @Param("qtdEquipamentos") long qtdEquipamentos);
+
+    /**
+     * Carrega a sala com lock de escrita na linha: serializa as reservas da mesma sala
+     * sem bloquear as demais.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "10000"))
+    @Query("SELECT s FROM Sala s WHERE s.id = :id")
+    Optional<Sala> findByIdParaReserva(@Param("id") Long id);
 }
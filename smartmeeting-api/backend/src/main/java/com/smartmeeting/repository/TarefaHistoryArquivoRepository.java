@@ -0,0 +1,57 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.TarefaHistoryDTO;
+import com.smartmeeting.model.TarefaHistoryArquivo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TarefaHistoryArquivoRepository extends JpaRepository<TarefaHistoryArquivo, Long> {
+
+    String PROJECAO = "SELECT new com.smartmeeting.dto.TarefaHistoryDTO(" +
+            "a.id, a.tarefaId, a.usuarioId, a.usuarioNome, a.actionType, a.fieldName, " +
+            "a.oldValue, a.newValue, a.description, a.createdAt) " +
+            "FROM TarefaHistoryArquivo a ";
+
+    @Query(PROJECAO + "WHERE a.tarefaId = :tarefaId ORDER BY a.createdAt DESC, a.id DESC")
+    List<TarefaHistoryDTO> findByTarefaId(@Param("tarefaId") Long tarefaId, Pageable pageable);
+
+    @Query(PROJECAO + "WHERE a.tarefaId = :tarefaId " +
+            "AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC, a.id DESC")
+    List<TarefaHistoryDTO> findByTarefaIdAndDateRange(
+            @Param("tarefaId") Long tarefaId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query(PROJECAO + "WHERE a.projectId = :projectId ORDER BY a.createdAt DESC, a.id DESC")
+    List<TarefaHistoryDTO> findFeedByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(PROJECAO + "WHERE a.projectId = :projectId " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<TarefaHistoryDTO> findFeedByProjectIdAfter(
+            @Param("projectId") Long projectId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(a) FROM TarefaHistoryArquivo a WHERE a.tarefaId = :tarefaId")
+    long countByTarefaId(@Param("tarefaId") Long tarefaId);
+
+    @Modifying
+    @Query("DELETE FROM TarefaHistoryArquivo a WHERE a.tarefaId = :tarefaId")
+    void deleteByTarefaId(@Param("tarefaId") Long tarefaId);
+
+    /** Remove linhas de tarefas que não existem mais (o arquivo não tem FK para TAREFA) */
+    @Modifying
+    @Query("DELETE FROM TarefaHistoryArquivo a WHERE NOT EXISTS " +
+            "(SELECT 1 FROM Tarefa t WHERE t.id = a.tarefaId)")
+    int deleteOrfaos();
+}
@@ -1,11 +1,13 @@
 package com.smartmeeting.repository;
 
+import com.smartmeeting.dto.TarefaHistoryDTO;
 import com.smartmeeting.enums.HistoryActionType;
 import com.smartmeeting.model.TarefaHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -49,6 +51,51 @@ public interface TarefaHistoryRepository extends JpaRepository<TarefaHistory, Lo
             "ORDER BY th.createdAt DESC")
     Page<TarefaHistory> findByProjectId(@Param("projectId") Long projectId, Pageable pageable);
 
+    // ── Feed do projeto (keyset em createdAt DESC, id DESC) ──────────────────
+    // Projeção direta para DTO: não hidrata TarefaHistory nem as associações.
+
+    String FEED_PROJECAO = "SELECT new com.smartmeeting.dto.TarefaHistoryDTO(" +
+            "th.id, th.tarefa.id, u.id, u.nome, th.actionType, th.fieldName, " +
+            "th.oldValue, th.newValue, th.description, th.createdAt) " +
+            "FROM TarefaHistory th LEFT JOIN th.usuario u ";
+
+    @Query(FEED_PROJECAO + "WHERE th.projectId = :projectId " +
+            "ORDER BY th.createdAt DESC, th.id DESC")
+    List<TarefaHistoryDTO> findFeedByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(FEED_PROJECAO + "WHERE th.projectId = :projectId " +
+            "AND (th.createdAt < :createdAt OR (th.createdAt = :createdAt AND th.id < :id)) " +
+            "ORDER BY th.createdAt DESC, th.id DESC")
+    List<TarefaHistoryDTO> findFeedByProjectIdAfter(
+            @Param("projectId") Long projectId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    /** Preenche ID_PROJECT em registros gravados antes da desnormalização */
+    @Modifying
+    @Query("UPDATE TarefaHistory th SET th.projectId = " +
+            "(SELECT t.project.id FROM Tarefa t WHERE t = th.tarefa) " +
+            "WHERE th.projectId IS NULL")
+    int preencherProjectIdAusente();
+
+    // ── Retenção / arquivamento ──────────────────────────────────────────────
+
+    @Query("SELECT DISTINCT th.tarefa.id FROM TarefaHistory th WHERE th.createdAt < :limite " +
+            "ORDER BY th.tarefa.id")
+    List<Long> findTarefaIdsComHistoricoAntesDe(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    @Query("SELECT th FROM TarefaHistory th LEFT JOIN FETCH th.usuario " +
+            "WHERE th.tarefa.id IN :tarefaIds AND th.createdAt < :limite " +
+            "ORDER BY th.tarefa.id, th.createdAt, th.id")
+    List<TarefaHistory> findParaArquivamento(
+            @Param("tarefaIds") List<Long> tarefaIds,
+            @Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query("DELETE FROM TarefaHistory th WHERE th.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
     @Query("SELECT COUNT(th) FROM TarefaHistory th WHERE th.tarefa.id = :tarefaId")
     long countByTarefaId(@Param("tarefaId") Long tarefaId);
 
@@ -0,0 +1,18 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.ProdutividadeResponsavelDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Agregados de tarefas para relatórios: prazo em [inicio, fim]; filtros nulos ficam fora
+ * da consulta
+ */
+public interface TarefaRelatorioRepository {
+
+    List<ContagemDTO> contarPorConclusaoNoPrazo(Long projectId, LocalDate inicio, LocalDate fim);
+
+    List<ProdutividadeResponsavelDTO> produtividadePorResponsavel(Long projectId, LocalDate inicio, LocalDate fim);
+}
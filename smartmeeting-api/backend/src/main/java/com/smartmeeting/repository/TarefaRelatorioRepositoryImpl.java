@@ -0,0 +1,42 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.ProdutividadeResponsavelDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class TarefaRelatorioRepositoryImpl implements TarefaRelatorioRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ContagemDTO> contarPorConclusaoNoPrazo(Long projectId, LocalDate inicio, LocalDate fim) {
+        FiltroJpql filtro = filtro(projectId, inicio, fim);
+        return filtro.criar(entityManager,
+                "SELECT new com.smartmeeting.dto.ContagemDTO(t.concluida, COUNT(t)) FROM Tarefa t " +
+                        filtro.where() + "GROUP BY t.concluida",
+                ContagemDTO.class).getResultList();
+    }
+
+    @Override
+    public List<ProdutividadeResponsavelDTO> produtividadePorResponsavel(Long projectId, LocalDate inicio,
+                                                                         LocalDate fim) {
+        FiltroJpql filtro = filtro(projectId, inicio, fim);
+        return filtro.criar(entityManager,
+                "SELECT new com.smartmeeting.dto.ProdutividadeResponsavelDTO(r.id, r.nome, COUNT(t), " +
+                        "SUM(CASE WHEN t.concluida = true THEN 1 ELSE 0 END)) FROM Tarefa t JOIN t.responsavel r " +
+                        filtro.where() + "GROUP BY r.id, r.nome ORDER BY r.nome, r.id",
+                ProdutividadeResponsavelDTO.class).getResultList();
+    }
+
+    private static FiltroJpql filtro(Long projectId, LocalDate inicio, LocalDate fim) {
+        return new FiltroJpql()
+                .igual("t.project.id", "projectId", projectId)
+                .aPartirDe("t.prazo", "inicio", inicio)
+                .ate("t.prazo", "fim", fim);
+    }
+}
@@ -1,19 +1,34 @@
 package com.smartmeeting.repository;
 
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.TarefaExportacaoDTO;
+import com.smartmeeting.dto.TarefaLembreteDTO;
+import com.smartmeeting.dto.TarefaParticipanteDTO;
+import com.smartmeeting.dto.TarefaResumoDTO;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.model.KanbanColumnDynamic;
+import com.smartmeeting.model.Pessoa;
 import com.smartmeeting.model.Tarefa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
+public interface TarefaRepository extends JpaRepository<Tarefa, Long>, TarefaRelatorioRepository {
 
     @EntityGraph(value = "Tarefa.completa")
     List<Tarefa> findAll();
@@ -31,6 +46,189 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
 
     long countByProjectId(Long projectId);
 
+    // ── Listagens enxutas ───────────────────────────────────────────────────
+
+    String RESUMO_PROJECAO = "SELECT new com.smartmeeting.dto.TarefaResumoDTO(t.id, t.titulo, t.descricao, " +
+            "t.prazo, t.concluida, t.prioridade, c.id, c.title, r.id, r.nome, p.id, p.name) FROM Tarefa t " +
+            "LEFT JOIN t.column c LEFT JOIN t.responsavel r LEFT JOIN t.project p ";
+
+    /** Abertas com prazo em [de, ate], pelo índice (CONCLUIDA_TAREFA, PRAZO_TAREFA) */
+    @Query(RESUMO_PROJECAO + "WHERE t.concluida = false AND t.prazo BETWEEN :de AND :ate " +
+            "AND (:projectId IS NULL OR p.id = :projectId) " +
+            "AND (:responsavelId IS NULL OR r.id = :responsavelId) " +
+            "ORDER BY t.prazo, t.id")
+    List<TarefaResumoDTO> findAbertasComPrazoEntre(@Param("de") LocalDate de,
+                                                   @Param("ate") LocalDate ate,
+                                                   @Param("projectId") Long projectId,
+                                                   @Param("responsavelId") Long responsavelId,
+                                                   Pageable pageable);
+
+    /**
+     * Tarefas em que a pessoa é responsável, participante ou criadora. Cada ramo do
+     * UNION usa o próprio índice (ID_RESPONSAVEL, TAREFA_PARTICIPANTES.ID_PESSOA,
+     * CREATED_BY); abertas primeiro, por prazo.
+     */
+    @Query(RESUMO_PROJECAO + "WHERE t.id IN (" +
+            "SELECT t1.id FROM Tarefa t1 WHERE t1.responsavel.id = :pessoaId " +
+            "UNION SELECT t2.id FROM Tarefa t2 JOIN t2.participantes pp WHERE pp.id = :pessoaId " +
+            "UNION SELECT t3.id FROM Tarefa t3 WHERE t3.createdBy IN :criadores) " +
+            "ORDER BY t.concluida, t.prazo, t.id")
+    List<TarefaResumoDTO> findDoUsuario(@Param("pessoaId") Long pessoaId,
+                                        @Param("criadores") Collection<String> criadores,
+                                        Pageable pageable);
+
+    @Query(RESUMO_PROJECAO + "WHERE t.id IN :ids")
+    List<TarefaResumoDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.smartmeeting.dto.TarefaParticipanteDTO(t.id, p.id) " +
+            "FROM Tarefa t JOIN t.participantes p WHERE t.id IN :ids")
+    List<TarefaParticipanteDTO> findParticipantesByTarefaIdIn(@Param("ids") Collection<Long> ids);
+
+    // ── Lembretes de pendências (keyset por responsável) ─────────────────────
+
+    /** Próximos responsáveis com tarefa aberta depois de {@code ultimoId}, em ordem de id */
+    @Query("SELECT DISTINCT r.id FROM Tarefa t JOIN t.responsavel r " +
+            "WHERE t.concluida = false AND r.id > :ultimoId ORDER BY r.id")
+    List<Long> findResponsaveisComTarefasAbertasApos(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new com.smartmeeting.dto.TarefaLembreteDTO(t.id, t.titulo, t.descricao, t.prazo, " +
+            "t.prioridade, r.id, r.nome, r.email, p.name) FROM Tarefa t JOIN t.responsavel r " +
+            "LEFT JOIN t.project p WHERE t.concluida = false AND r.id IN :responsaveis " +
+            "ORDER BY r.id, t.prazo, t.id")
+    List<TarefaLembreteDTO> findLembretesAbertosPorResponsaveis(@Param("responsaveis") Collection<Long> responsaveis);
+
+    // ── Operações em lote (não passam pelos listeners da entidade) ──────────
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.column = :coluna, t.lastModifiedBy = :usuario, t.lastModifiedDate = :agora " +
+            "WHERE t.id IN :ids")
+    int moverEmLote(@Param("ids") Collection<Long> ids,
+                    @Param("coluna") KanbanColumnDynamic coluna,
+                    @Param("usuario") String usuario,
+                    @Param("agora") LocalDateTime agora);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.responsavel = :responsavel, t.lastModifiedBy = :usuario, " +
+            "t.lastModifiedDate = :agora WHERE t.id IN :ids")
+    int atribuirEmLote(@Param("ids") Collection<Long> ids,
+                       @Param("responsavel") Pessoa responsavel,
+                       @Param("usuario") String usuario,
+                       @Param("agora") LocalDateTime agora);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.prioridade = :prioridade, t.lastModifiedBy = :usuario, " +
+            "t.lastModifiedDate = :agora WHERE t.id IN :ids")
+    int alterarPrioridadeEmLote(@Param("ids") Collection<Long> ids,
+                                @Param("prioridade") PrioridadeTarefa prioridade,
+                                @Param("usuario") String usuario,
+                                @Param("agora") LocalDateTime agora);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.prazo = :prazo, t.lastModifiedBy = :usuario, " +
+            "t.lastModifiedDate = :agora WHERE t.id IN :ids")
+    int alterarPrazoEmLote(@Param("ids") Collection<Long> ids,
+                           @Param("prazo") LocalDate prazo,
+                           @Param("usuario") String usuario,
+                           @Param("agora") LocalDateTime agora);
+
+    /** Mesma regra de Tarefa#sincronizarDataConclusao: marca a conclusão agora */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.concluida = true, t.dataConclusao = :agora, t.lastModifiedBy = :usuario, " +
+            "t.lastModifiedDate = :agora WHERE t.id IN :ids AND t.concluida = false")
+    int concluirEmLote(@Param("ids") Collection<Long> ids,
+                       @Param("usuario") String usuario,
+                       @Param("agora") LocalDateTime agora);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tarefa t SET t.concluida = false, t.dataConclusao = NULL, t.lastModifiedBy = :usuario, " +
+            "t.lastModifiedDate = :agora WHERE t.id IN :ids AND t.concluida = true")
+    int reabrirEmLote(@Param("ids") Collection<Long> ids,
+                      @Param("usuario") String usuario,
+                      @Param("agora") LocalDateTime agora);
+
+    /** Tarefas do projeto fora de uma coluna de conclusão (sem coluna conta como aberta) */
+    @Query("SELECT COUNT(t) FROM Tarefa t LEFT JOIN t.column c " +
+            "WHERE t.project.id = :projectId AND (c IS NULL OR c.isDoneColumn = false)")
+    long contarForaDeColunaFinal(@Param("projectId") Long projectId);
+
+    // ── Estatísticas (agregadas no banco; filtros nulos são ignorados) ──────
+
+    /** Projeto e período de criação (createdDate em [inicio, fim)) */
+    String FILTRO_ESTATISTICAS = "WHERE (:projectId IS NULL OR t.project.id = :projectId) " +
+            "AND (:inicio IS NULL OR t.createdDate >= :inicio) AND (:fim IS NULL OR t.createdDate < :fim) ";
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(t.concluida, COUNT(t)) FROM Tarefa t " +
+            FILTRO_ESTATISTICAS + "GROUP BY t.concluida")
+    List<ContagemDTO> contarPorConclusao(@Param("projectId") Long projectId,
+                                         @Param("inicio") LocalDateTime inicio,
+                                         @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(c.title, COUNT(t)) FROM Tarefa t JOIN t.column c " +
+            FILTRO_ESTATISTICAS + "GROUP BY c.title")
+    List<ContagemDTO> contarPorColuna(@Param("projectId") Long projectId,
+                                      @Param("inicio") LocalDateTime inicio,
+                                      @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(t.prioridade, COUNT(t)) FROM Tarefa t " +
+            FILTRO_ESTATISTICAS + "GROUP BY t.prioridade")
+    List<ContagemDTO> contarPorPrioridade(@Param("projectId") Long projectId,
+                                          @Param("inicio") LocalDateTime inicio,
+                                          @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(r.nome, COUNT(t)) FROM Tarefa t JOIN t.responsavel r " +
+            FILTRO_ESTATISTICAS + "GROUP BY r.id, r.nome")
+    List<ContagemDTO> contarPorResponsavel(@Param("projectId") Long projectId,
+                                           @Param("inicio") LocalDateTime inicio,
+                                           @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(r.nome, COUNT(t)) FROM Tarefa t JOIN t.responsavel r " +
+            FILTRO_ESTATISTICAS + "AND t.concluida = true GROUP BY r.id, r.nome")
+    List<ContagemDTO> contarConcluidasPorResponsavel(@Param("projectId") Long projectId,
+                                                     @Param("inicio") LocalDateTime inicio,
+                                                     @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT COUNT(t) FROM Tarefa t WHERE t.concluida = false AND t.prazo BETWEEN :de AND :ate " +
+            "AND (:projectId IS NULL OR t.project.id = :projectId)")
+    long contarAbertasComPrazoEntre(@Param("projectId") Long projectId,
+                                    @Param("de") LocalDate de,
+                                    @Param("ate") LocalDate ate);
+
+    @Query("SELECT COUNT(t) FROM Tarefa t WHERE t.concluida = false AND t.prazo < :data " +
+            "AND (:projectId IS NULL OR t.project.id = :projectId)")
+    long contarAbertasComPrazoAntes(@Param("projectId") Long projectId, @Param("data") LocalDate data);
+
+    /** Tempo médio (minutos) entre criação e conclusão, para conclusões em [inicio, fim) */
+    @Query("SELECT AVG((t.dataConclusao - t.createdDate) by minute) FROM Tarefa t " +
+            "WHERE t.concluida = true AND t.createdDate IS NOT NULL " +
+            "AND t.dataConclusao >= :inicio AND t.dataConclusao < :fim " +
+            "AND (:projectId IS NULL OR t.project.id = :projectId)")
+    Double mediaMinutosConclusao(@Param("projectId") Long projectId,
+                                 @Param("inicio") LocalDateTime inicio,
+                                 @Param("fim") LocalDateTime fim);
+
+    /** Conclusões por dia em [inicio, fim) */
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(cast(t.dataConclusao as LocalDate), COUNT(t)) FROM Tarefa t " +
+            "WHERE t.concluida = true AND t.dataConclusao >= :inicio AND t.dataConclusao < :fim " +
+            "AND (:projectId IS NULL OR t.project.id = :projectId) " +
+            "GROUP BY cast(t.dataConclusao as LocalDate)")
+    List<ContagemDTO> contarConclusoesPorDia(@Param("projectId") Long projectId,
+                                             @Param("inicio") LocalDateTime inicio,
+                                             @Param("fim") LocalDateTime fim);
+
+    /** Tarefas gravadas sem CREATED_DATE: usa o registro CREATED do histórico */
+    @Modifying
+    @Query("UPDATE Tarefa t SET t.createdDate = (SELECT MIN(h.createdAt) FROM TarefaHistory h " +
+            "WHERE h.tarefa = t AND h.actionType = com.smartmeeting.enums.HistoryActionType.CREATED) " +
+            "WHERE t.createdDate IS NULL")
+    int preencherCreatedDateAusente();
+
+    /** Concluídas antes de DATA_CONCLUSAO existir: última movimentação no histórico */
+    @Modifying
+    @Query("UPDATE Tarefa t SET t.dataConclusao = COALESCE((SELECT MAX(h.createdAt) FROM TarefaHistory h " +
+            "WHERE h.tarefa = t), t.lastModifiedDate, t.createdDate) " +
+            "WHERE t.concluida = true AND t.dataConclusao IS NULL")
+    int preencherDataConclusaoAusente();
+
     @EntityGraph(value = "Tarefa.completa")
     List<Tarefa> findByProjectId(Long projectId);
 
@@ -42,6 +240,10 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     @Query("UPDATE Tarefa t SET t.progresso = t.progresso + 1 WHERE t.column.id = :columnId AND t.progresso >= :progresso")
     void incrementarProgressoApos(@Param("columnId") Long columnId, @Param("progresso") Integer progresso);
 
+    /** Tarefas por id de coluna, para (re)montar os contadores do dashboard */
+    @Query("SELECT new com.smartmeeting.dto.ContagemDTO(c.id, COUNT(t)) FROM Tarefa t JOIN t.column c GROUP BY c.id")
+    List<ContagemDTO> contarPorColunaId();
+
     // FIX: Retorno alterado de Optional<Long> para List<Long>.
     // A query pode retornar múltiplos projectIds distintos, causando NonUniqueResultException
     // quando usada com Optional. TarefaService.getFirstProjectIdForCurrentUser() pega o primeiro elemento.
@@ -50,4 +252,33 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
             "AND (t.responsavel.id = :userId OR :userId IN (SELECT p.id FROM t.participantes p)) " +
             "ORDER BY t.project.id ASC")
     List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // ── Exportação CSV ───────────────────────────────────────────────────────
+    // Streams de projeções lidos com fetch size limitado: consumir dentro de uma
+    // transação e fechar ao terminar. Filtros nulos são ignorados.
+
+    String EXPORTACAO_PROJECAO = "SELECT new com.smartmeeting.dto.TarefaExportacaoDTO(" +
+            "t.id, t.titulo, r.id, r.nome, p.name, t.prioridade, t.prazo, t.concluida, t.dataConclusao) " +
+            "FROM Tarefa t LEFT JOIN t.responsavel r LEFT JOIN t.project p " +
+            "WHERE (:projectId IS NULL OR p.id = :projectId) " +
+            "AND (:inicio IS NULL OR t.prazo >= :inicio) AND (:fim IS NULL OR t.prazo <= :fim) ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORTACAO_PROJECAO + "ORDER BY t.id")
+    Stream<TarefaExportacaoDTO> streamParaExportacao(@Param("projectId") Long projectId,
+                                                     @Param("inicio") LocalDate inicio,
+                                                     @Param("fim") LocalDate fim);
+
+    /** Só tarefas com responsável, agrupadas por ele */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORTACAO_PROJECAO + "AND r.id IS NOT NULL ORDER BY r.nome, r.id, t.id")
+    Stream<TarefaExportacaoDTO> streamPorResponsavelParaExportacao(@Param("projectId") Long projectId,
+                                                                   @Param("inicio") LocalDate inicio,
+                                                                   @Param("fim") LocalDate fim);
+}
@@ -0,0 +1,465 @@
+package com.smartmeeting.service.dashboard;
+
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.dto.ProdutividadeResponsavelDTO;
+import com.smartmeeting.dto.TarefaSituacaoDTO;
+import com.smartmeeting.dto.TarefaStatisticsDTO;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.evento.ReuniaoAlteradaEvent;
+import com.smartmeeting.evento.TarefaAlteradaEvent;
+import com.smartmeeting.model.KanbanColumnDynamic;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.repository.KanbanColumnDynamicRepository;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Contadores do dashboard mantidos em memória: tarefas por coluna, prioridade e
+ * responsável; reuniões por status e por sala.
+ * <p>
+ * Só os totais agrupados ficam em memória (tamanho proporcional ao número de grupos, não
+ * de linhas). Cada evento de domínio ({@link TarefaAlteradaEvent},
+ * {@link ReuniaoAlteradaEvent}) traz a situação anterior e a nova da linha; aplicar o
+ * evento é descontar uma e somar a outra. Evento sem situação anterior conhecida marca os
+ * contadores como desatualizados até a próxima remontagem.
+ * <p>
+ * A remontagem (carga inicial e reconciliação agendada) roda as consultas GROUP BY fora do
+ * lock, sobre um conjunto novo de contadores, que substitui o atual se nenhum evento chegou
+ * durante as consultas. Se chegou, não há como saber se a consulta já viu aquele commit
+ * (reaplicá-lo poderia contá-lo duas vezes): o conjunto novo é descartado e a remontagem
+ * é repetida. Esgotadas as tentativas, os contadores ficam marcados como desatualizados
+ * até a reconciliação seguinte.
+ * <p>
+ * As leituras não vão ao banco, exceto para resolver título de coluna ou nome de
+ * pessoa ainda não vistos.
+ */
+@Component
+public class DashboardContadores {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardContadores.class);
+
+    private static final int TENTATIVAS_REMONTAGEM = 3;
+
+    private final TarefaRepository tarefaRepository;
+    private final ReuniaoRepository reuniaoRepository;
+    private final KanbanColumnDynamicRepository colunaRepository;
+    private final PessoaRepository pessoaRepository;
+
+    // lock: aplicação de eventos (curta); remontagem: uma remontagem por vez
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock remontagem = new ReentrantLock();
+    private volatile Contagens atual = new Contagens();
+    private volatile boolean pronto = false;
+    private volatile boolean desatualizado = false;
+
+    // Remontagem em curso e se chegou evento durante ela; só acessados sob o lock
+    private boolean remontando = false;
+    private boolean alteradoNaRemontagem = false;
+
+    public DashboardContadores(TarefaRepository tarefaRepository,
+                               ReuniaoRepository reuniaoRepository,
+                               KanbanColumnDynamicRepository colunaRepository,
+                               PessoaRepository pessoaRepository) {
+        this.tarefaRepository = tarefaRepository;
+        this.reuniaoRepository = reuniaoRepository;
+        this.colunaRepository = colunaRepository;
+        this.pessoaRepository = pessoaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconciliar();
+    }
+
+    /**
+     * Remonta os contadores a partir do banco e registra se havia divergência
+     */
+    @Scheduled(cron = "${app.dashboard.reconciliacao.cron:0 */15 * * * *}")
+    public void reconciliar() {
+        remontagem.lock();
+        try {
+            for (int tentativa = 1; !remontar(tentativa == TENTATIVAS_REMONTAGEM); tentativa++) {
+                logger.debug("Eventos durante a remontagem dos contadores do dashboard; repetindo ({})", tentativa);
+            }
+        } finally {
+            remontagem.unlock();
+        }
+    }
+
+    /**
+     * @return false se chegaram eventos durante as consultas e a remontagem deve ser repetida
+     */
+    private boolean remontar(boolean ultimaTentativa) {
+        lock.lock();
+        try {
+            remontando = true;
+            alteradoNaRemontagem = false;
+        } finally {
+            lock.unlock();
+        }
+
+        Contagens novas;
+        try {
+            novas = consultar();
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                remontando = false;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            remontando = false;
+            if (alteradoNaRemontagem) {
+                if (!ultimaTentativa) {
+                    return false;
+                }
+                // Sem janela quieta: mantém os contadores atuais (ou publica a carga inicial)
+                desatualizado = true;
+                if (pronto) {
+                    return true;
+                }
+            } else {
+                if (pronto && !desatualizado && !novas.mesmasContagens(atual)) {
+                    logger.warn("Contadores do dashboard divergentes do banco; valores corrigidos na reconciliação");
+                }
+                desatualizado = false;
+            }
+            atual = novas;
+            if (!pronto) {
+                pronto = true;
+                logger.info("Contadores do dashboard carregados: {} tarefas, {} reuniões",
+                        novas.totalTarefas, novas.totalReunioes);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        TarefaSituacaoDTO anterior = event.getAnterior();
+        TarefaSituacaoDTO nova = event.getSituacao();
+        switch (event.getTipo()) {
+            case CRIADA -> aplicar(c -> c.contarTarefa(nova, 1));
+            case REMOVIDA -> aplicar(c -> c.contarTarefa(anterior != null ? anterior : nova, -1));
+            case ATUALIZADA -> {
+                if (anterior == null) {
+                    marcarDesatualizado("tarefa", event.getTarefaId());
+                } else {
+                    aplicar(c -> {
+                        c.contarTarefa(anterior, -1);
+                        c.contarTarefa(nova, 1);
+                    });
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReuniao(ReuniaoAlteradaEvent event) {
+        OcupacaoSalaDTO anterior = event.getAnterior();
+        OcupacaoSalaDTO nova = event.getOcupacao();
+        switch (event.getTipo()) {
+            case CRIADA -> aplicar(c -> c.contarReuniao(nova, 1));
+            case REMOVIDA -> aplicar(c -> c.contarReuniao(anterior != null ? anterior : nova, -1));
+            case ATUALIZADA -> {
+                if (anterior == null) {
+                    marcarDesatualizado("reunião", event.getReuniaoId());
+                } else {
+                    aplicar(c -> {
+                        c.contarReuniao(anterior, -1);
+                        c.contarReuniao(nova, 1);
+                    });
+                }
+            }
+        }
+    }
+
+    // ── Leituras: tarefas ───────────────────────────────────────────────────
+
+    public long getTotalTarefas() {
+        return contagens().totalTarefas;
+    }
+
+    public long getTarefasConcluidas() {
+        return contagens().tarefasConcluidas;
+    }
+
+    /**
+     * Tarefas por título de coluna (colunas de projetos diferentes com o mesmo título somam)
+     */
+    public Map<String, Long> getTarefasPorColuna() {
+        Contagens c = contagens();
+        resolverTitulos(c, c.porColuna.keySet());
+        Map<String, Long> porTitulo = new LinkedHashMap<>();
+        c.porColuna.forEach((colunaId, total) ->
+                porTitulo.merge(c.titulosColuna.getOrDefault(colunaId, "Coluna " + colunaId), total, Long::sum));
+        return porTitulo;
+    }
+
+    public Map<PrioridadeTarefa, Long> getTarefasPorPrioridade() {
+        Map<PrioridadeTarefa, Long> porPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+        porPrioridade.putAll(contagens().porPrioridade);
+        return porPrioridade;
+    }
+
+    public List<TarefaStatisticsDTO.ResponsavelStatsDTO> getTarefasPorResponsavel() {
+        Contagens c = contagens();
+        resolverNomes(c, c.porResponsavel.keySet());
+        List<TarefaStatisticsDTO.ResponsavelStatsDTO> lista = new ArrayList<>();
+        c.porResponsavel.forEach((pessoaId, total) -> lista.add(new TarefaStatisticsDTO.ResponsavelStatsDTO(
+                c.nomesPessoa.getOrDefault(pessoaId, "Pessoa " + pessoaId),
+                total,
+                c.concluidasPorResponsavel.getOrDefault(pessoaId, 0L))));
+        lista.sort(Comparator.comparing(TarefaStatisticsDTO.ResponsavelStatsDTO::getResponsavel));
+        return lista;
+    }
+
+    // ── Leituras: reuniões e salas ──────────────────────────────────────────
+
+    public long getTotalReunioes() {
+        return contagens().totalReunioes;
+    }
+
+    public Map<StatusReuniao, Long> getReunioesPorStatus() {
+        Map<StatusReuniao, Long> porStatus = new EnumMap<>(StatusReuniao.class);
+        porStatus.putAll(contagens().reunioesPorStatus);
+        return porStatus;
+    }
+
+    /**
+     * Sala com mais reuniões (qualquer status); empate fica com o menor id
+     */
+    public Optional<Long> getSalaMaisUsada() {
+        return contagens().reunioesPorSala.entrySet().stream()
+                .max(Map.Entry.<Long, Long>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey);
+    }
+
+    /**
+     * Quantidade de salas com ao menos uma reunião EM_ANDAMENTO
+     */
+    public long getSalasComReuniaoEmAndamento() {
+        return contagens().emAndamentoPorSala.size();
+    }
+
+    public Map<Long, Long> getReunioesPorSala() {
+        return new HashMap<>(contagens().reunioesPorSala);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    private Contagens contagens() {
+        if (!pronto) {
+            remontagem.lock();
+            try {
+                if (!pronto) {
+                    reconciliar();
+                }
+            } finally {
+                remontagem.unlock();
+            }
+        }
+        return atual;
+    }
+
+    /**
+     * Aplica o evento ao conjunto atual (se já carregado) e invalida a remontagem em curso
+     * (se houver)
+     */
+    private void aplicar(Consumer<Contagens> evento) {
+        lock.lock();
+        try {
+            if (pronto) {
+                evento.accept(atual);
+            }
+            if (remontando) {
+                alteradoNaRemontagem = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void marcarDesatualizado(String tipo, Long id) {
+        lock.lock();
+        try {
+            if (remontando) {
+                alteradoNaRemontagem = true;
+            }
+            if (pronto && !desatualizado) {
+                desatualizado = true;
+                logger.debug("Alteração da {} {} sem situação anterior; contadores aguardam a reconciliação", tipo, id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Contagens agrupadas direto do banco, sem lock
+     */
+    private Contagens consultar() {
+        Contagens c = new Contagens();
+        for (ContagemDTO g : tarefaRepository.contarPorConclusao(null, null, null)) {
+            c.totalTarefas += g.getTotal();
+            if (Boolean.TRUE.equals(g.getChave())) {
+                c.tarefasConcluidas += g.getTotal();
+            }
+        }
+        for (ContagemDTO g : tarefaRepository.contarPorColunaId()) {
+            c.porColuna.put((Long) g.getChave(), g.getTotal());
+        }
+        for (ContagemDTO g : tarefaRepository.contarPorPrioridade(null, null, null)) {
+            PrioridadeTarefa prioridade = g.getChave() != null ? (PrioridadeTarefa) g.getChave() : PrioridadeTarefa.MEDIA;
+            c.porPrioridade.merge(prioridade, g.getTotal(), Long::sum);
+        }
+        for (ProdutividadeResponsavelDTO g : tarefaRepository.produtividadePorResponsavel(null, null, null)) {
+            c.porResponsavel.put(g.getResponsavelId(), g.getTotal());
+            if (g.getConcluidas() != null && g.getConcluidas() > 0) {
+                c.concluidasPorResponsavel.put(g.getResponsavelId(), g.getConcluidas());
+            }
+            c.nomesPessoa.put(g.getResponsavelId(), g.getResponsavel());
+        }
+
+        for (ContagemDTO g : reuniaoRepository.contarPorStatus()) {
+            c.totalReunioes += g.getTotal();
+            if (g.getChave() != null) {
+                c.reunioesPorStatus.put((StatusReuniao) g.getChave(), g.getTotal());
+            }
+        }
+        for (ContagemDTO g : reuniaoRepository.contarPorSalaId(null)) {
+            c.reunioesPorSala.put((Long) g.getChave(), g.getTotal());
+        }
+        for (ContagemDTO g : reuniaoRepository.contarPorSalaId(StatusReuniao.EM_ANDAMENTO)) {
+            c.emAndamentoPorSala.put((Long) g.getChave(), g.getTotal());
+        }
+        return c;
+    }
+
+    private void resolverTitulos(Contagens c, Set<Long> ids) {
+        List<Long> faltando = ids.stream().filter(id -> !c.titulosColuna.containsKey(id)).toList();
+        if (!faltando.isEmpty()) {
+            for (KanbanColumnDynamic coluna : colunaRepository.findAllById(faltando)) {
+                c.titulosColuna.put(coluna.getId(), coluna.getTitle());
+            }
+        }
+    }
+
+    private void resolverNomes(Contagens c, Set<Long> ids) {
+        List<Long> faltando = ids.stream().filter(id -> !c.nomesPessoa.containsKey(id)).toList();
+        if (!faltando.isEmpty()) {
+            for (Pessoa pessoa : pessoaRepository.findAllById(faltando)) {
+                c.nomesPessoa.put(pessoa.getId(), pessoa.getNome());
+            }
+        }
+    }
+
+    /**
+     * Um conjunto completo de contadores, com os rótulos dos grupos já vistos. Alterado
+     * só sob o lock do componente (ou antes de publicado); os mapas são concorrentes para
+     * que as leituras dispensem o lock.
+     */
+    private static final class Contagens {
+        private final Map<Long, Long> porColuna = new ConcurrentHashMap<>();
+        private final Map<PrioridadeTarefa, Long> porPrioridade = new ConcurrentHashMap<>();
+        private final Map<Long, Long> porResponsavel = new ConcurrentHashMap<>();
+        private final Map<Long, Long> concluidasPorResponsavel = new ConcurrentHashMap<>();
+        private volatile long totalTarefas;
+        private volatile long tarefasConcluidas;
+
+        private final Map<StatusReuniao, Long> reunioesPorStatus = new ConcurrentHashMap<>();
+        private final Map<Long, Long> reunioesPorSala = new ConcurrentHashMap<>();
+        private final Map<Long, Long> emAndamentoPorSala = new ConcurrentHashMap<>();
+        private volatile long totalReunioes;
+
+        private final Map<Long, String> titulosColuna = new ConcurrentHashMap<>();
+        private final Map<Long, String> nomesPessoa = new ConcurrentHashMap<>();
+
+        void contarTarefa(TarefaSituacaoDTO t, long sinal) {
+            totalTarefas += sinal;
+            if (t.isConcluida()) {
+                tarefasConcluidas += sinal;
+            }
+            if (t.getColunaId() != null) {
+                somar(porColuna, t.getColunaId(), sinal);
+                if (t.getColunaTitulo() != null) {
+                    titulosColuna.putIfAbsent(t.getColunaId(), t.getColunaTitulo());
+                }
+            }
+            somar(porPrioridade, t.getPrioridade() != null ? t.getPrioridade() : PrioridadeTarefa.MEDIA, sinal);
+            if (t.getResponsavelId() != null) {
+                somar(porResponsavel, t.getResponsavelId(), sinal);
+                if (t.isConcluida()) {
+                    somar(concluidasPorResponsavel, t.getResponsavelId(), sinal);
+                }
+                if (t.getResponsavelNome() != null) {
+                    nomesPessoa.putIfAbsent(t.getResponsavelId(), t.getResponsavelNome());
+                }
+            }
+        }
+
+        void contarReuniao(OcupacaoSalaDTO r, long sinal) {
+            totalReunioes += sinal;
+            if (r.getStatus() != null) {
+                somar(reunioesPorStatus, r.getStatus(), sinal);
+            }
+            if (r.getSalaId() != null) {
+                somar(reunioesPorSala, r.getSalaId(), sinal);
+                if (r.getStatus() == StatusReuniao.EM_ANDAMENTO) {
+                    somar(emAndamentoPorSala, r.getSalaId(), sinal);
+                }
+            }
+        }
+
+        boolean mesmasContagens(Contagens outra) {
+            return totalTarefas == outra.totalTarefas
+                    && tarefasConcluidas == outra.tarefasConcluidas
+                    && totalReunioes == outra.totalReunioes
+                    && porColuna.equals(outra.porColuna)
+                    && porPrioridade.equals(outra.porPrioridade)
+                    && porResponsavel.equals(outra.porResponsavel)
+                    && concluidasPorResponsavel.equals(outra.concluidasPorResponsavel)
+                    && reunioesPorStatus.equals(outra.reunioesPorStatus)
+                    && reunioesPorSala.equals(outra.reunioesPorSala)
+                    && emAndamentoPorSala.equals(outra.emAndamentoPorSala);
+        }
+
+        /** Contador que chega a zero sai do mapa */
+        private static <K> void somar(Map<K, Long> mapa, K chave, long delta) {
+            mapa.merge(chave, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.smartmeeting.service.email;
+
+import com.smartmeeting.config.ExecutorConfig;
+import com.smartmeeting.dto.EmailOutboxMetricasDTO;
+import com.smartmeeting.enums.StatusEmailOutbox;
+import com.smartmeeting.evento.EmailEnfileiradoEvent;
+import com.smartmeeting.model.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega a fila de saída de e-mails.
+ * <ul>
+ * <li>Usa o pool {@code emailExecutor} ({@code threads} workers, fila de no máximo um
+ * lote por worker); o despachante só reserva um lote quando há lugar, o resto espera no banco.</li>
+ * <li>Cada lote (até {@code mensagens-por-conexao}) vai por uma única conexão SMTP:
+ * {@link JavaMailSender#send(MimeMessage...)} abre o transporte uma vez para o array.</li>
+ * <li>Limite de taxa global de {@code max-por-minuto} mensagens (0 desliga), espaçando os lotes.</li>
+ * </ul>
+ * Acorda após o commit de cada enfileiramento e, de tempos em tempos, para novas
+ * tentativas e reservas expiradas.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final String remetente;
+    private final int mensagensPorConexao;
+    private final long intervaloPorMensagemNanos;
+    private final int diasRetencao;
+    private final ThreadPoolTaskExecutor workers;
+
+    private final AtomicBoolean despachando = new AtomicBoolean();
+    private long proximaJanela = System.nanoTime();
+
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong tentativasFalhas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 JavaMailSender mailSender,
+                                 @Qualifier(ExecutorConfig.EMAIL) ThreadPoolTaskExecutor workers,
+                                 @Value("${spring.mail.username}") String remetente,
+                                 @Value("${app.email.outbox.mensagens-por-conexao:20}") int mensagensPorConexao,
+                                 @Value("${app.email.outbox.max-por-minuto:120}") int maxPorMinuto,
+                                 @Value("${app.email.outbox.retencao-dias:7}") int diasRetencao) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        this.remetente = remetente;
+        this.mensagensPorConexao = mensagensPorConexao;
+        this.intervaloPorMensagemNanos = maxPorMinuto > 0 ? TimeUnit.MINUTES.toNanos(1) / maxPorMinuto : 0;
+        this.diasRetencao = diasRetencao;
+        this.workers = workers;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoEnfileirar(EmailEnfileiradoEvent event) {
+        acordar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        // Pendências de antes do restart
+        acordar();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.intervalo-ms:10000}")
+    public void verificarFila() {
+        outboxService.liberarReservasExpiradas();
+        despachar();
+    }
+
+    @Scheduled(cron = "${app.email.outbox.limpeza-cron:0 15 4 * * *}")
+    public void limparEnviados() {
+        int excluidos = outboxService.excluirEnviadosAntesDe(LocalDateTime.now().minusDays(diasRetencao));
+        log.info("Limpeza da fila de e-mails: {} mensagens enviadas há mais de {} dias excluídas",
+                excluidos, diasRetencao);
+    }
+
+    /**
+     * Reserva lotes enquanto houver worker (ou lugar na fila do pool) para recebê-los.
+     * Só um despacho roda por vez; chamadas concorrentes retornam de imediato.
+     */
+    public void despachar() {
+        if (!despachando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (workers.getThreadPoolExecutor().getQueue().remainingCapacity() > 0) {
+                List<EmailOutbox> lote = outboxService.reservar(mensagensPorConexao);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                try {
+                    workers.execute(() -> enviarLote(lote));
+                } catch (RejectedExecutionException e) {
+                    outboxService.devolver(lote);
+                    break;
+                }
+                if (lote.size() < mensagensPorConexao) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao despachar a fila de e-mails: {}", e.getMessage(), e);
+        } finally {
+            despachando.set(false);
+        }
+    }
+
+    public EmailOutboxMetricasDTO getMetricas() {
+        LocalDateTime umaHoraAtras = LocalDateTime.now().minusHours(1);
+        return new EmailOutboxMetricasDTO(
+                outboxService.contar(StatusEmailOutbox.PENDENTE),
+                outboxService.contar(StatusEmailOutbox.ENVIANDO),
+                outboxService.contar(StatusEmailOutbox.FALHA),
+                outboxService.idadeMaisAntigaPendenteSegundos(),
+                outboxService.latenciaMediaSegundos(umaHoraAtras),
+                outboxService.latenciaMaximaSegundos(umaHoraAtras),
+                enviadas.get(),
+                tentativasFalhas.get(),
+                lotes.get(),
+                workers.getActiveCount(),
+                workers.getQueueSize());
+    }
+
+    private void acordar() {
+        try {
+            workers.execute(this::despachar);
+        } catch (RejectedExecutionException e) {
+            // Pool ocupado: quem terminar um lote (ou o ciclo agendado) despacha o resto
+        }
+    }
+
+    private void enviarLote(List<EmailOutbox> lote) {
+        List<Long> enviadasNoLote = new ArrayList<>();
+        Map<Long, String> falhas = new HashMap<>();
+        try {
+            aguardarLimiteDeTaxa(lote.size());
+
+            List<MimeMessage> mensagens = new ArrayList<>();
+            Map<MimeMessage, Long> idPorMensagem = new IdentityHashMap<>();
+            for (EmailOutbox e : lote) {
+                try {
+                    MimeMessage mensagem = montar(e);
+                    mensagens.add(mensagem);
+                    idPorMensagem.put(mensagem, e.getId());
+                } catch (MessagingException | RuntimeException ex) {
+                    falhas.put(e.getId(), "Mensagem inválida: " + ex.getMessage());
+                }
+            }
+
+            if (!mensagens.isEmpty()) {
+                try {
+                    mailSender.send(mensagens.toArray(new MimeMessage[0]));
+                } catch (MailSendException ex) {
+                    // Falhas por mensagem; as demais saíram na mesma conexão
+                    ex.getFailedMessages().forEach((original, erro) -> {
+                        Long id = idPorMensagem.get(original);
+                        if (id != null) {
+                            falhas.put(id, erro.getMessage());
+                        }
+                    });
+                    if (ex.getFailedMessages().isEmpty()) {
+                        idPorMensagem.values().forEach(id -> falhas.put(id, ex.getMessage()));
+                    }
+                } catch (MailException ex) {
+                    // Autenticação/conexão: o lote inteiro volta para a fila
+                    idPorMensagem.values().forEach(id -> falhas.put(id, ex.getMessage()));
+                }
+                idPorMensagem.values().stream().filter(id -> !falhas.containsKey(id)).forEach(enviadasNoLote::add);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lote.stream().map(EmailOutbox::getId).filter(id -> !falhas.containsKey(id))
+                    .forEach(id -> falhas.put(id, "Envio interrompido"));
+        }
+
+        try {
+            outboxService.registrarResultado(enviadasNoLote, falhas);
+        } catch (RuntimeException e) {
+            // As linhas continuam reservadas e voltam à fila quando a reserva expirar
+            log.error("Erro ao registrar resultado do lote de e-mails: {}", e.getMessage(), e);
+        }
+        lotes.incrementAndGet();
+        enviadas.addAndGet(enviadasNoLote.size());
+        tentativasFalhas.addAndGet(falhas.size());
+        log.info("Lote de e-mails: {} enviados, {} com falha", enviadasNoLote.size(), falhas.size());
+
+        if (!Thread.currentThread().isInterrupted()) {
+            despachar();
+        }
+    }
+
+    private MimeMessage montar(EmailOutbox e) throws MessagingException {
+        MimeMessage mensagem = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mensagem, false, "UTF-8");
+        helper.setFrom(remetente);
+        helper.setTo(e.getDestinatario());
+        helper.setSubject(e.getAssunto());
+        helper.setText(e.getCorpo() != null ? e.getCorpo() : "", false);
+        return mensagem;
+    }
+
+    /**
+     * Reserva a próxima janela de envio para {@code mensagens} e espera até ela começar
+     */
+    private void aguardarLimiteDeTaxa(int mensagens) throws InterruptedException {
+        if (intervaloPorMensagemNanos == 0) {
+            return;
+        }
+        long espera;
+        synchronized (this) {
+            long agora = System.nanoTime();
+            long inicio = Math.max(agora, proximaJanela);
+            proximaJanela = inicio + mensagens * intervaloPorMensagemNanos;
+            espera = inicio - agora;
+        }
+        if (espera > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.smartmeeting.service.email;
+
+import com.smartmeeting.dto.EmailDTO;
+import com.smartmeeting.enums.StatusEmailOutbox;
+import com.smartmeeting.evento.EmailEnfileiradoEvent;
+import com.smartmeeting.model.EmailOutbox;
+import com.smartmeeting.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fila de saída de e-mails (tabela EMAIL_OUTBOX): enfileirar, reservar lotes para os
+ * workers e registrar o resultado de cada mensagem. Falhas voltam para a fila com
+ * espera exponencial ({@code espera-inicial-s * 2^(tentativas-1)}, limitada a
+ * {@code espera-maxima-s}) até {@code max-tentativas}.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final EmailOutboxRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxTentativas;
+    private final long esperaInicialSegundos;
+    private final long esperaMaximaSegundos;
+    private final long reservaExpiraMinutos;
+
+    public EmailOutboxService(EmailOutboxRepository repository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.email.outbox.max-tentativas:6}") int maxTentativas,
+                              @Value("${app.email.outbox.espera-inicial-s:30}") long esperaInicialSegundos,
+                              @Value("${app.email.outbox.espera-maxima-s:3600}") long esperaMaximaSegundos,
+                              @Value("${app.email.outbox.reserva-expira-min:10}") long reservaExpiraMinutos) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.maxTentativas = maxTentativas;
+        this.esperaInicialSegundos = esperaInicialSegundos;
+        this.esperaMaximaSegundos = esperaMaximaSegundos;
+        this.reservaExpiraMinutos = reservaExpiraMinutos;
+    }
+
+    @Transactional
+    public void enfileirar(EmailDTO email) {
+        enfileirarTodos(List.of(email));
+    }
+
+    @Transactional
+    public void enfileirarTodos(Collection<EmailDTO> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        repository.saveAll(emails.stream()
+                .map(e -> new EmailOutbox(e.getDestinatario(), e.getAssunto(), e.getCorpo()))
+                .toList());
+        eventPublisher.publishEvent(new EmailEnfileiradoEvent(this, emails.size()));
+        log.debug("{} e-mail(s) enfileirado(s)", emails.size());
+    }
+
+    /**
+     * Reserva até {@code limite} mensagens prontas (status ENVIANDO) para um worker
+     */
+    @Transactional
+    public List<EmailOutbox> reservar(int limite) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EmailOutbox> lote = repository.findProntosParaEnvio(agora, PageRequest.of(0, limite));
+        for (EmailOutbox e : lote) {
+            e.setStatus(StatusEmailOutbox.ENVIANDO);
+            e.setReservadoEm(agora);
+        }
+        return lote;
+    }
+
+    /**
+     * Marca as enviadas e reagenda (ou encerra) as que falharam
+     *
+     * @param falhas id da mensagem -> mensagem de erro
+     */
+    @Transactional
+    public void registrarResultado(Collection<Long> enviadas, Map<Long, String> falhas) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(enviadas);
+        ids.addAll(falhas.keySet());
+        for (EmailOutbox e : repository.findByIdIn(ids)) {
+            e.setReservadoEm(null);
+            e.setTentativas(e.getTentativas() + 1);
+            String erro = falhas.get(e.getId());
+            if (erro == null) {
+                e.setStatus(StatusEmailOutbox.ENVIADO);
+                e.setEnviadoEm(agora);
+                e.setUltimoErro(null);
+            } else if (e.getTentativas() >= maxTentativas) {
+                e.setStatus(StatusEmailOutbox.FALHA);
+                e.setUltimoErro(truncar(erro));
+                log.error("E-mail {} para {} descartado após {} tentativas: {}",
+                        e.getId(), e.getDestinatario(), e.getTentativas(), erro);
+            } else {
+                e.setStatus(StatusEmailOutbox.PENDENTE);
+                e.setProximaTentativa(agora.plus(espera(e.getTentativas())));
+                e.setUltimoErro(truncar(erro));
+            }
+        }
+    }
+
+    /**
+     * Devolve à fila mensagens reservadas que não chegaram a ser entregues a um worker
+     */
+    @Transactional
+    public void devolver(Collection<EmailOutbox> lote) {
+        for (EmailOutbox e : repository.findByIdIn(lote.stream().map(EmailOutbox::getId).toList())) {
+            e.setStatus(StatusEmailOutbox.PENDENTE);
+            e.setReservadoEm(null);
+        }
+    }
+
+    @Transactional
+    public int liberarReservasExpiradas() {
+        int liberadas = repository.liberarReservasExpiradas(LocalDateTime.now().minusMinutes(reservaExpiraMinutos));
+        if (liberadas > 0) {
+            log.warn("{} e-mail(s) reservados há mais de {} min devolvidos à fila", liberadas, reservaExpiraMinutos);
+        }
+        return liberadas;
+    }
+
+    @Transactional
+    public int excluirEnviadosAntesDe(LocalDateTime limite) {
+        return repository.excluirEnviadosAntesDe(limite);
+    }
+
+    @Transactional(readOnly = true)
+    public long contar(StatusEmailOutbox status) {
+        return repository.countByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public long idadeMaisAntigaPendenteSegundos() {
+        LocalDateTime maisAntiga = repository.findCriacaoMaisAntigaPendente();
+        return maisAntiga == null ? 0 : Math.max(0, Duration.between(maisAntiga, LocalDateTime.now()).getSeconds());
+    }
+
+    @Transactional(readOnly = true)
+    public Double latenciaMediaSegundos(LocalDateTime desde) {
+        return repository.mediaSegundosAteEnvio(desde);
+    }
+
+    @Transactional(readOnly = true)
+    public Long latenciaMaximaSegundos(LocalDateTime desde) {
+        return repository.maximoSegundosAteEnvio(desde);
+    }
+
+    Duration espera(int tentativas) {
+        long fator = 1L << Math.min(tentativas - 1, 20);
+        return Duration.ofSeconds(Math.min(esperaMaximaSegundos, esperaInicialSegundos * fator));
+    }
+
+    private static String truncar(String erro) {
+        return erro.length() <= 1000 ? erro : erro.substring(0, 1000);
+    }
+}
@@ -1,6 +1,7 @@
 package com.smartmeeting.service.email;
 
 import com.smartmeeting.dto.EmailDTO;
+import com.smartmeeting.dto.TarefaLembreteDTO;
 import com.smartmeeting.model.Pessoa;
 import com.smartmeeting.model.Reuniao;
 import com.smartmeeting.model.Tarefa;
@@ -13,19 +14,30 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * Montagem dos e-mails da aplicação. O envio é assíncrono: as mensagens vão para a
+ * fila de saída ({@link EmailOutboxService}) e os métodos retornam {@code true} quando
+ * a mensagem foi enfileirada. Só o e-mail de teste é enviado na hora, para validar o SMTP.
+ */
 @Service
 public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxService outboxService;
     private final String remetente;
 
     public EmailService(JavaMailSender mailSender,
+                       EmailOutboxService outboxService,
                        @Value("${spring.mail.username}") String remetente) {
         this.mailSender = mailSender;
+        this.outboxService = outboxService;
         this.remetente = remetente;
     }
 
@@ -40,7 +52,7 @@ public class EmailService {
                 .setAssunto("Teste de Envio de E-mail - SmartMeeting")
                 .setCorpo(EmailTemplateBuilder.buildEmailTeste(destinatario));
 
-        return enviarEmail(email);
+        return enviarAgora(email);
     }
 
     public void enviarConviteReuniao(Reuniao reuniao, List<Pessoa> participantes) {
@@ -50,16 +62,15 @@ public class EmailService {
         }
 
         String assunto = "Convite para Reunião: " + reuniao.getPauta();
-        
-        participantes.stream()
+
+        List<EmailDTO> convites = participantes.stream()
                 .filter(p -> p != null && isEmailValido(p.getEmail()))
-                .forEach(participante -> {
-                    EmailDTO email = new EmailDTO()
-                            .setDestinatario(participante.getEmail())
-                            .setAssunto(assunto)
-                            .setCorpo(EmailTemplateBuilder.buildConviteReuniao(participante, reuniao));
-                    enviarEmail(email);
-                });
+                .map(participante -> new EmailDTO()
+                        .setDestinatario(participante.getEmail())
+                        .setAssunto(assunto)
+                        .setCorpo(EmailTemplateBuilder.buildConviteReuniao(participante, reuniao)))
+                .collect(Collectors.toList());
+        outboxService.enfileirarTodos(convites);
     }
 
     public boolean enviarLembreteChecklist(Pessoa participante, Reuniao reuniao) {
@@ -102,6 +113,37 @@ public class EmailService {
         return enviarEmail(email);
     }
 
+    /**
+     * Enfileira um resumo por responsável com as tarefas abertas dele (cada lista vem
+     * de um único responsável). No máximo {@code maxItens} tarefas são listadas por
+     * e-mail; as demais entram só na contagem.
+     *
+     * @return quantidade de resumos enfileirados
+     */
+    public int enviarResumosTarefasPendentes(Collection<List<TarefaLembreteDTO>> tarefasPorResponsavel, int maxItens) {
+        List<EmailDTO> resumos = new ArrayList<>();
+        for (List<TarefaLembreteDTO> tarefas : tarefasPorResponsavel) {
+            if (tarefas.isEmpty()) {
+                continue;
+            }
+            TarefaLembreteDTO primeira = tarefas.get(0);
+            if (!isEmailValido(primeira.getResponsavelEmail())) {
+                log.warn("Email inválido para responsável: {}", primeira.getResponsavelNome());
+                continue;
+            }
+            List<TarefaLembreteDTO> listadas = tarefas.size() > maxItens ? tarefas.subList(0, maxItens) : tarefas;
+            resumos.add(new EmailDTO()
+                    .setDestinatario(primeira.getResponsavelEmail())
+                    .setAssunto(tarefas.size() == 1
+                            ? "Lembrete: 1 tarefa pendente"
+                            : "Lembrete: " + tarefas.size() + " tarefas pendentes")
+                    .setCorpo(EmailTemplateBuilder.buildResumoTarefasPendentes(
+                            primeira.getResponsavelNome(), listadas, tarefas.size())));
+        }
+        outboxService.enfileirarTodos(resumos);
+        return resumos.size();
+    }
+
     public boolean enviarAlertaPresencaAtrasada(Reuniao reuniao, Pessoa participante) {
         if (!validarDadosEmail(participante, reuniao)) {
             return false;
@@ -116,6 +158,12 @@ public class EmailService {
     }
 
     private boolean enviarEmail(EmailDTO emailDTO) {
+        outboxService.enfileirar(emailDTO);
+        log.debug("Email enfileirado para: {}", emailDTO.getDestinatario());
+        return true;
+    }
+
+    private boolean enviarAgora(EmailDTO emailDTO) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(remetente);
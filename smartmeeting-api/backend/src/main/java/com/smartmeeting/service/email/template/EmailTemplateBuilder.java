@@ -1,10 +1,12 @@
 package com.smartmeeting.service.email.template;
 
+import com.smartmeeting.dto.TarefaLembreteDTO;
 import com.smartmeeting.model.Pessoa;
 import com.smartmeeting.model.Reuniao;
 import com.smartmeeting.model.Tarefa;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.time.format.DateTimeFormatter;
 
 public class EmailTemplateBuilder {
@@ -103,6 +105,36 @@ public class EmailTemplateBuilder {
         return corpo.toString();
     }
 
+    public static String buildResumoTarefasPendentes(String nome, List<TarefaLembreteDTO> tarefas, int totalAbertas) {
+        StringBuilder corpo = new StringBuilder();
+
+        corpo.append("Olá ").append(nome).append(",\n\n");
+        corpo.append("Você tem ").append(totalAbertas)
+                .append(totalAbertas == 1 ? " tarefa pendente:\n\n" : " tarefas pendentes:\n\n");
+
+        for (TarefaLembreteDTO t : tarefas) {
+            corpo.append("- ").append(t.getTitulo() != null ? t.getTitulo() : t.getDescricao());
+            if (t.getPrazo() != null) {
+                corpo.append(" (prazo: ").append(t.getPrazo()).append(")");
+            }
+            if (t.getPrioridade() != null) {
+                corpo.append(" [").append(t.getPrioridade().getDescricao()).append("]");
+            }
+            if (t.getProjectName() != null) {
+                corpo.append(" - ").append(t.getProjectName());
+            }
+            corpo.append("\n");
+        }
+        if (totalAbertas > tarefas.size()) {
+            corpo.append("... e mais ").append(totalAbertas - tarefas.size()).append(".\n");
+        }
+
+        corpo.append("\nPor favor, atualize o status das tarefas quando concluídas.");
+        corpo.append(ASSINATURA);
+
+        return corpo.toString();
+    }
+
     public static String buildAlertaPresencaAtrasada(Pessoa participante, Reuniao reuniao) {
         StringBuilder corpo = new StringBuilder();
         
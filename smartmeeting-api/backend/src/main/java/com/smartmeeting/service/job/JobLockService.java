@@ -0,0 +1,212 @@
+package com.smartmeeting.service.job;
+
+import com.smartmeeting.config.ExecutorConfig;
+import com.smartmeeting.dto.JobExecucaoDTO;
+import com.smartmeeting.dto.JobLockDTO;
+import com.smartmeeting.enums.StatusJobExecucao;
+import com.smartmeeting.model.JobExecucao;
+import com.smartmeeting.repository.JobExecucaoRepository;
+import com.smartmeeting.repository.JobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execução única por cluster dos jobs agendados, com lock no banco (JOB_LOCK).
+ * <ul>
+ * <li>Adquirir: cria a linha do job ou toma o lock vencido com um UPDATE condicional;
+ * só uma instância consegue.</li>
+ * <li>Lease e heartbeat: o lock vale por {@code lease-s}; enquanto o job roda, a
+ * instância renova o prazo a cada terço do lease. Se ela cair, o prazo vence e a
+ * próxima instância a disparar o job assume (takeover), marcando a execução
+ * anterior como ABANDONADA.</li>
+ * <li>Tempo mínimo: ao terminar, o lock fica preso até {@code minimo-s} após o início,
+ * para que uma instância com o relógio um pouco atrasado não rode o mesmo disparo de novo.</li>
+ * </ul>
+ * Cada execução fica em JOB_EXECUCAO com instância, duração e resultado. Os relógios
+ * das instâncias precisam estar sincronizados (NTP) com folga bem menor que o lease.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLockService.class);
+
+    private final JobLockRepository lockRepository;
+    private final JobExecucaoRepository execucaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler scheduler;
+    private final String instancia;
+    private final Duration lease;
+    private final Duration minimo;
+    private final int diasHistorico;
+
+    public JobLockService(JobLockRepository lockRepository,
+                          JobExecucaoRepository execucaoRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Qualifier(ExecutorConfig.AGENDADOR) TaskScheduler scheduler,
+                          @Value("${app.jobs.instancia:}") String instancia,
+                          @Value("${app.jobs.lease-s:300}") long leaseSegundos,
+                          @Value("${app.jobs.minimo-s:60}") long minimoSegundos,
+                          @Value("${app.jobs.historico-dias:30}") int diasHistorico) {
+        this.lockRepository = lockRepository;
+        this.execucaoRepository = execucaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = scheduler;
+        this.instancia = instancia.isBlank() ? identificarInstancia() : instancia;
+        this.lease = Duration.ofSeconds(leaseSegundos);
+        this.minimo = Duration.ofSeconds(minimoSegundos);
+        this.diasHistorico = diasHistorico;
+    }
+
+    /**
+     * Roda {@code tarefa} se esta instância conseguir o lock de {@code nome}.
+     * Erros da tarefa são registrados na execução e repassados a quem chamou.
+     *
+     * @return {@code false} se outra instância está com o job
+     */
+    public boolean executar(String nome, Runnable tarefa) {
+        LocalDateTime inicio = LocalDateTime.now();
+        if (!adquirir(nome, inicio)) {
+            log.debug("Job {} ignorado nesta instância: lock com outra instância", nome);
+            return false;
+        }
+
+        JobExecucao execucao = transactionTemplate.execute(status -> {
+            int abandonadas = execucaoRepository.marcarAbandonadas(nome, inicio,
+                    StatusJobExecucao.EXECUTANDO, StatusJobExecucao.ABANDONADA);
+            if (abandonadas > 0) {
+                log.warn("Job {}: lock vencido assumido por {}; {} execução(ões) anterior(es) abandonada(s)",
+                        nome, instancia, abandonadas);
+            }
+            return execucaoRepository.save(new JobExecucao(nome, instancia, inicio));
+        });
+
+        AtomicInteger heartbeatsPerdidos = new AtomicInteger();
+        Duration intervalo = lease.dividedBy(3);
+        ScheduledFuture<?> heartbeat = scheduler.scheduleAtFixedRate(
+                () -> renovar(nome, heartbeatsPerdidos), Instant.now().plus(intervalo), intervalo);
+
+        RuntimeException erro = null;
+        try {
+            tarefa.run();
+        } catch (RuntimeException e) {
+            erro = e;
+            throw e;
+        } finally {
+            heartbeat.cancel(false);
+            finalizar(nome, execucao, inicio, heartbeatsPerdidos.get(), erro);
+        }
+        return true;
+    }
+
+    public String getInstancia() {
+        return instancia;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public List<JobLockDTO> listarLocks() {
+        LocalDateTime agora = LocalDateTime.now();
+        return lockRepository.findAllByOrderByNomeAsc().stream().map(l -> JobLockDTO.de(l, agora)).toList();
+    }
+
+    public List<JobExecucaoDTO> listarExecucoes(String nome, int limite) {
+        return execucaoRepository.findRecentes(nome, PageRequest.of(0, Math.min(Math.max(limite, 1), 500)))
+                .stream().map(JobExecucaoDTO::de).toList();
+    }
+
+    @Scheduled(cron = "${app.jobs.limpeza-cron:0 45 4 * * *}")
+    public void limparHistorico() {
+        executar("LIMPEZA_JOB_EXECUCAO", () -> {
+            LocalDateTime limite = LocalDateTime.now().minusDays(diasHistorico);
+            Integer excluidas = transactionTemplate.execute(status ->
+                    execucaoRepository.excluirAntesDe(limite, StatusJobExecucao.EXECUTANDO));
+            log.info("Histórico de jobs: {} execuções anteriores a {} excluídas", excluidas, limite);
+        });
+    }
+
+    private boolean adquirir(String nome, LocalDateTime agora) {
+        LocalDateTime expiraEm = agora.plus(lease);
+        Integer tomados = transactionTemplate.execute(status ->
+                lockRepository.tomarSeVencido(nome, instancia, expiraEm, agora));
+        if (tomados != null && tomados > 0) {
+            return true;
+        }
+        if (lockRepository.existsById(nome)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    lockRepository.inserir(nome, instancia, expiraEm, agora));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a linha primeiro
+            return false;
+        }
+    }
+
+    private void renovar(String nome, AtomicInteger heartbeatsPerdidos) {
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            Integer renovados = transactionTemplate.execute(status ->
+                    lockRepository.renovar(nome, instancia, agora.plus(lease), agora));
+            if (renovados == null || renovados == 0) {
+                heartbeatsPerdidos.incrementAndGet();
+                log.warn("Job {}: lock não pertence mais a {} (lease perdido durante a execução)", nome, instancia);
+            }
+        } catch (RuntimeException e) {
+            heartbeatsPerdidos.incrementAndGet();
+            log.warn("Job {}: falha ao renovar o lock: {}", nome, e.getMessage());
+        }
+    }
+
+    private void finalizar(String nome, JobExecucao execucao, LocalDateTime inicio,
+                           int heartbeatsPerdidos, RuntimeException erro) {
+        LocalDateTime fim = LocalDateTime.now();
+        LocalDateTime liberarEm = inicio.plus(minimo);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lockRepository.liberar(nome, instancia, liberarEm.isAfter(fim) ? liberarEm : fim);
+
+                execucao.setFim(fim);
+                execucao.setDuracaoMs(Duration.between(inicio, fim).toMillis());
+                execucao.setHeartbeatsPerdidos(heartbeatsPerdidos);
+                execucao.setStatus(erro == null ? StatusJobExecucao.SUCESSO : StatusJobExecucao.FALHA);
+                if (erro != null) {
+                    String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+                    execucao.setErro(mensagem.length() > 2000 ? mensagem.substring(0, 2000) : mensagem);
+                }
+                execucaoRepository.save(execucao);
+            });
+        } catch (RuntimeException e) {
+            // O lock vence sozinho ao fim do lease
+            log.error("Job {}: erro ao registrar o fim da execução: {}", nome, e.getMessage(), e);
+        }
+        log.info("Job {} concluído em {} ms na instância {}{}", nome, execucao.getDuracaoMs(), instancia,
+                erro != null ? " (com erro)" : "");
+    }
+
+    private static String identificarInstancia() {
+        // "pid@host" do runtime, mais um sufixo para distinguir reinícios com o mesmo pid
+        return ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -2,7 +2,6 @@ package com.smartmeeting.service.kanban;
 
 import com.smartmeeting.enums.ProjectStatus;
 import com.smartmeeting.model.Project;
-import com.smartmeeting.model.Tarefa;
 import com.smartmeeting.repository.ProjectRepository;
 import com.smartmeeting.repository.TarefaRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,8 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -26,13 +23,11 @@ public class ProjectStatusService {
                 .orElseThrow(() -> new com.smartmeeting.exception.ResourceNotFoundException(
                         "Projeto não encontrado: " + projectId));
 
-        List<Tarefa> tasks = tarefaRepository.findByProjectId(projectId);
-
-        if (tasks.isEmpty()) {
+        if (tarefaRepository.countByProjectId(projectId) == 0) {
             return;
         }
 
-        boolean allTasksDone = tasks.stream().allMatch(t -> t.getColumn() != null && t.getColumn().isDoneColumn());
+        boolean allTasksDone = tarefaRepository.contarForaDeColunaFinal(projectId) == 0;
 
         if (allTasksDone) {
             if (project.getStatus() != ProjectStatus.COMPLETED) {
@@ -0,0 +1,89 @@
+package com.smartmeeting.service.notification;
+
+import com.smartmeeting.enums.TipoLembrete;
+import com.smartmeeting.model.LembreteEnviado;
+import com.smartmeeting.repository.LembreteEnviadoRepository;
+import com.smartmeeting.service.job.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Livro de lembretes enviados, para que janelas de agendamento sobrepostas não repitam
+ * o mesmo lembrete. Por execução de job: uma consulta com todas as reuniões/tarefas
+ * da rodada ({@link #jaEnviados}), filtro em memória e um insert em lote dos novos
+ * envios ({@link #registrar}), na transação que enfileira os e-mails.
+ */
+@Service
+public class LembreteLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LembreteLedgerService.class);
+
+    private final LembreteEnviadoRepository repository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int diasRetencao;
+
+    public LembreteLedgerService(LembreteEnviadoRepository repository,
+                                 JobLockService jobLockService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.lembretes.ledger.retencao-dias:30}") int diasRetencao) {
+        this.repository = repository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.diasRetencao = diasRetencao;
+    }
+
+    /**
+     * Destinatário de um lembrete sobre uma reunião ou tarefa, para o horário alvo
+     * (início da reunião) vigente no envio
+     */
+    public record Envio(Long referenciaId, Long destinatarioId, LocalDateTime alvoEm) {
+    }
+
+    /**
+     * Envios já registrados de {@code tipo} para as referências informadas
+     */
+    @Transactional(readOnly = true)
+    public Set<Envio> jaEnviados(TipoLembrete tipo, Collection<Long> referencias) {
+        if (referencias.isEmpty()) {
+            return new HashSet<>();
+        }
+        return repository.findByTipoAndReferencias(tipo, referencias).stream()
+                .map(l -> new Envio(l.getReferenciaId(), l.getDestinatarioId(), l.getAlvoEm()))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @Transactional
+    public void registrar(TipoLembrete tipo, Collection<Envio> envios) {
+        if (envios.isEmpty()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        List<LembreteEnviado> novos = envios.stream()
+                .map(e -> new LembreteEnviado(tipo, e.referenciaId(), e.destinatarioId(), e.alvoEm(), agora))
+                .toList();
+        repository.saveAll(novos);
+    }
+
+    @Scheduled(cron = "${app.lembretes.ledger.limpeza-cron:0 50 4 * * *}")
+    public void limpar() {
+        jobLockService.executar("LIMPEZA_LEMBRETE_ENVIADO", () -> {
+            Integer excluidos = transactionTemplate.execute(status ->
+                    repository.excluirAntesDe(LocalDateTime.now().minusDays(diasRetencao)));
+            log.info("Livro de lembretes: {} registros com mais de {} dias excluídos", excluidos, diasRetencao);
+        });
+    }
+}
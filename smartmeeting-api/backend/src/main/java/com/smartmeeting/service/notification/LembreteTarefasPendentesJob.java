@@ -0,0 +1,175 @@
+package com.smartmeeting.service.notification;
+
+import com.smartmeeting.config.ExecutorConfig;
+import com.smartmeeting.dto.TarefaLembreteDTO;
+import com.smartmeeting.model.ProgressoJob;
+import com.smartmeeting.repository.ProgressoJobRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.service.email.EmailService;
+import com.smartmeeting.service.job.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo diário de tarefas pendentes: um e-mail por responsável com as tarefas
+ * abertas dele.
+ * <p>
+ * Percorre os responsáveis em ordem de id, {@code pessoas-por-lote} por vez (keyset,
+ * sem OFFSET). Cada lote roda na sua própria transação: lê as tarefas, grava os
+ * resumos na fila de saída e avança o ponto de retomada em JOB_PROGRESSO. Se a
+ * aplicação cair no meio, a execução do dia continua do último lote confirmado,
+ * sem repetir quem já recebeu.
+ */
+@Service
+public class LembreteTarefasPendentesJob {
+
+    static final String NOME_JOB = "LEMBRETE_TAREFAS_PENDENTES";
+
+    private static final Logger log = LoggerFactory.getLogger(LembreteTarefasPendentesJob.class);
+
+    private final TarefaRepository tarefaRepository;
+    private final ProgressoJobRepository progressoRepository;
+    private final EmailService emailService;
+    private final JobLockService jobLockService;
+    private final TaskScheduler scheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final int pessoasPorLote;
+    private final int maxTarefasPorResumo;
+
+    public LembreteTarefasPendentesJob(TarefaRepository tarefaRepository,
+                                       ProgressoJobRepository progressoRepository,
+                                       EmailService emailService,
+                                       JobLockService jobLockService,
+                                       @Qualifier(ExecutorConfig.AGENDADOR) TaskScheduler scheduler,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.lembretes.tarefas.pessoas-por-lote:100}") int pessoasPorLote,
+                                       @Value("${app.lembretes.tarefas.max-tarefas-por-resumo:50}") int maxTarefasPorResumo) {
+        this.tarefaRepository = tarefaRepository;
+        this.progressoRepository = progressoRepository;
+        this.emailService = emailService;
+        this.jobLockService = jobLockService;
+        this.scheduler = scheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pessoasPorLote = pessoasPorLote;
+        this.maxTarefasPorResumo = maxTarefasPorResumo;
+    }
+
+    /**
+     * Executa (ou retoma) a rodada de hoje. Se a rodada de hoje já terminou, não faz nada.
+     */
+    public void executar() {
+        LocalDate hoje = LocalDate.now();
+        Boolean pendente = transactionTemplate.execute(status -> prepararExecucao(hoje));
+        if (!Boolean.TRUE.equals(pendente)) {
+            log.info("Lembretes de tarefas de {} já enviados", hoje);
+            return;
+        }
+        processarLotes();
+    }
+
+    /**
+     * Após um restart, termina a rodada de hoje que ficou pela metade. Usa o mesmo lock
+     * do job agendado: só uma instância retoma, e não enquanto outra ainda está rodando.
+     * Se o lock ainda estiver com a instância que caiu, tenta de novo depois de um lease.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarAoIniciar() {
+        LocalDate hoje = LocalDate.now();
+        boolean interrompida = progressoRepository.findById(NOME_JOB)
+                .filter(p -> hoje.equals(p.getExecucao()) && !p.isConcluido())
+                .isPresent();
+        if (interrompida) {
+            try {
+                boolean executou = jobLockService.executar(NOME_JOB, () -> {
+                    log.info("Retomando lembretes de tarefas interrompidos de {}", hoje);
+                    processarLotes();
+                });
+                if (!executou) {
+                    scheduler.schedule(this::retomarAoIniciar, Instant.now().plus(jobLockService.getLease()));
+                }
+            } catch (RuntimeException e) {
+                log.error("Erro ao retomar lembretes de tarefas: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void processarLotes() {
+        int resumos = 0;
+        while (true) {
+            int[] resultado = transactionTemplate.execute(status -> processarLote());
+            if (resultado == null || resultado[0] == 0) {
+                break;
+            }
+            resumos += resultado[1];
+        }
+        ProgressoJob progresso = progressoRepository.findById(NOME_JOB).orElseThrow();
+        log.info("Lembretes de tarefas enviados: {} resumos nesta execução ({} responsáveis na rodada de {})",
+                resumos, progresso.getProcessados(), progresso.getExecucao());
+    }
+
+    /**
+     * Abre a rodada de hoje, ou mantém a que está em andamento.
+     *
+     * @return {@code false} se a rodada de hoje já foi concluída
+     */
+    boolean prepararExecucao(LocalDate hoje) {
+        ProgressoJob progresso = progressoRepository.findById(NOME_JOB)
+                .orElseGet(() -> new ProgressoJob(NOME_JOB));
+        if (hoje.equals(progresso.getExecucao())) {
+            return !progresso.isConcluido();
+        }
+        progresso.iniciar(hoje);
+        progressoRepository.save(progresso);
+        return true;
+    }
+
+    /**
+     * Processa o próximo lote de responsáveis a partir do ponto de retomada.
+     *
+     * @return {responsáveis no lote, resumos enfileirados}; zero responsáveis encerra a rodada
+     */
+    int[] processarLote() {
+        ProgressoJob progresso = progressoRepository.findById(NOME_JOB).orElseThrow();
+        if (progresso.isConcluido()) {
+            return new int[] { 0, 0 };
+        }
+        long ultimaChave = progresso.getUltimaChave() != null ? progresso.getUltimaChave() : 0L;
+
+        List<Long> responsaveis = tarefaRepository.findResponsaveisComTarefasAbertasApos(
+                ultimaChave, PageRequest.of(0, pessoasPorLote));
+        LocalDateTime agora = LocalDateTime.now();
+        if (responsaveis.isEmpty()) {
+            progresso.setConcluidoEm(agora);
+            progresso.setAtualizadoEm(agora);
+            return new int[] { 0, 0 };
+        }
+
+        Map<Long, List<TarefaLembreteDTO>> porResponsavel = new LinkedHashMap<>();
+        for (TarefaLembreteDTO t : tarefaRepository.findLembretesAbertosPorResponsaveis(responsaveis)) {
+            porResponsavel.computeIfAbsent(t.getResponsavelId(), id -> new ArrayList<>()).add(t);
+        }
+        int enfileirados = emailService.enviarResumosTarefasPendentes(porResponsavel.values(), maxTarefasPorResumo);
+
+        progresso.setUltimaChave(responsaveis.get(responsaveis.size() - 1));
+        progresso.setProcessados(progresso.getProcessados() + responsaveis.size());
+        progresso.setAtualizadoEm(agora);
+        return new int[] { responsaveis.size(), enfileirados };
+    }
+}
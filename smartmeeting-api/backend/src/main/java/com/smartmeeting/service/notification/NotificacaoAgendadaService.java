@@ -1,44 +1,93 @@
 package com.smartmeeting.service.notification;
 
+import com.smartmeeting.dto.ParticipanteAusenteDTO;
 import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.enums.TipoLembrete;
 import com.smartmeeting.model.Pessoa;
-import com.smartmeeting.model.Presenca;
 import com.smartmeeting.model.Reuniao;
-import com.smartmeeting.model.Tarefa;
 import com.smartmeeting.repository.ReuniaoRepository;
-import com.smartmeeting.repository.TarefaRepository;
 import com.smartmeeting.service.email.EmailService;
+import com.smartmeeting.service.job.JobLockService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
+/**
+ * Lembretes e alertas agendados. Cada job roda em uma única instância do cluster
+ * ({@link JobLockService}) e não repete lembretes já registrados no
+ * {@link LembreteLedgerService} (as janelas dos jobs se sobrepõem). Os e-mails são gravados na fila de saída dentro da
+ * transação do job (por isso ela não é somente leitura) e entregues pelo
+ * {@code EmailOutboxDispatcher} após o commit.
+ */
 @Service
 public class NotificacaoAgendadaService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificacaoAgendadaService.class);
 
+    static final String JOB_CHECKLIST = "LEMBRETES_CHECKLIST";
+    static final String JOB_PENDENCIAS = "PENDENCIAS_REUNIOES";
+    static final String JOB_PRESENCAS = "PRESENCAS_ATRASADAS";
+
     private final ReuniaoRepository reuniaoRepository;
-    private final TarefaRepository tarefaRepository;
     private final EmailService emailService;
+    private final LembreteTarefasPendentesJob lembreteTarefasJob;
+    private final JobLockService jobLockService;
+    private final LembreteLedgerService ledger;
+    private final TransactionTemplate transactionTemplate;
 
     public NotificacaoAgendadaService(ReuniaoRepository reuniaoRepository,
-            TarefaRepository tarefaRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            LembreteTarefasPendentesJob lembreteTarefasJob,
+            JobLockService jobLockService,
+            LembreteLedgerService ledger,
+            PlatformTransactionManager transactionManager) {
         this.reuniaoRepository = reuniaoRepository;
-        this.tarefaRepository = tarefaRepository;
         this.emailService = emailService;
+        this.lembreteTarefasJob = lembreteTarefasJob;
+        this.jobLockService = jobLockService;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Scheduled(cron = "0 0 10 * * *")
-    @Transactional(readOnly = true)
     public void enviarLembretesChecklist() {
+        jobLockService.executar(JOB_CHECKLIST, () -> transactionTemplate.executeWithoutResult(s -> lembretesChecklist()));
+    }
+
+    @Scheduled(cron = "0 */30 * * * *")
+    public void verificarPendencias() {
+        jobLockService.executar(JOB_PENDENCIAS, () -> transactionTemplate.executeWithoutResult(s -> pendencias()));
+    }
+
+    /**
+     * Resumo diário por responsável; o trabalho em lotes e a retomada ficam no
+     * {@link LembreteTarefasPendentesJob}
+     */
+    @Scheduled(cron = "0 0 8 * * *")
+    public void enviarLembretesTarefasPendentes() {
+        jobLockService.executar(LembreteTarefasPendentesJob.NOME_JOB, () -> {
+            log.info("Enviando lembretes de tarefas pendentes");
+            lembreteTarefasJob.executar();
+        });
+    }
+
+    @Scheduled(cron = "0 */15 * * * *")
+    public void verificarPresencasAtrasadas() {
+        jobLockService.executar(JOB_PRESENCAS, () -> transactionTemplate.executeWithoutResult(s -> presencasAtrasadas()));
+    }
+
+    private void lembretesChecklist() {
         log.info("Iniciando envio de lembretes de checklist");
 
         LocalDateTime amanha = LocalDateTime.now().plusDays(1);
@@ -48,24 +97,14 @@ public class NotificacaoAgendadaService {
         List<Reuniao> reunioes = reuniaoRepository.findByDataHoraInicioBetweenAndStatus(
                 inicio, fim, StatusReuniao.AGENDADA);
 
-        int emailsEnviados = 0;
-        for (Reuniao reuniao : reunioes) {
-            if (reuniao.getParticipantes() != null) {
-                for (Pessoa participante : reuniao.getParticipantes()) {
-                    if (emailService.enviarLembreteChecklist(participante, reuniao)) {
-                        emailsEnviados++;
-                    }
-                }
-            }
-        }
+        int emailsEnviados = enviarParaParticipantes(TipoLembrete.CHECKLIST_REUNIAO, reunioes,
+                emailService::enviarLembreteChecklist);
 
         log.info("Lembretes de checklist enviados: {} para {} reuniões",
                 emailsEnviados, reunioes.size());
     }
 
-    @Scheduled(cron = "0 */30 * * * *")
-    @Transactional(readOnly = true)
-    public void verificarPendencias() {
+    private void pendencias() {
         log.info("Verificando pendências de reuniões próximas");
 
         LocalDateTime agora = LocalDateTime.now();
@@ -76,71 +115,69 @@ public class NotificacaoAgendadaService {
         List<Reuniao> reunioes = reuniaoRepository.findByDataHoraInicioBetweenAndStatus(
                 inicio, fim, StatusReuniao.AGENDADA);
 
-        int emailsEnviados = 0;
-        for (Reuniao reuniao : reunioes) {
-            if (reuniao.getParticipantes() != null) {
-                for (Pessoa participante : reuniao.getParticipantes()) {
-                    if (emailService.enviarLembreteUrgente(participante, reuniao)) {
-                        emailsEnviados++;
-                    }
-                }
-            }
-        }
+        int emailsEnviados = enviarParaParticipantes(TipoLembrete.URGENTE_REUNIAO, reunioes,
+                emailService::enviarLembreteUrgente);
 
         log.info("Lembretes urgentes enviados: {} para {} reuniões",
                 emailsEnviados, reunioes.size());
     }
 
-    @Scheduled(cron = "0 0 8 * * *")
-    @Transactional(readOnly = true)
-    public void enviarLembretesTarefasPendentes() {
-        log.info("Enviando lembretes de tarefas pendentes");
-
-        List<Tarefa> tarefasPendentes = tarefaRepository.findAll();
-
-        int emailsEnviados = 0;
-        for (Tarefa tarefa : tarefasPendentes) {
-            if (!tarefa.isConcluida() && tarefa.getResponsavel() != null) {
-                if (emailService.enviarLembreteTarefa(tarefa, tarefa.getResponsavel())) {
-                    emailsEnviados++;
-                }
-            }
-        }
-
-        log.info("Lembretes de tarefas enviados: {} de {} tarefas pendentes",
-                emailsEnviados, tarefasPendentes.size());
-    }
-
-    @Scheduled(cron = "0 */15 * * * *")
-    @Transactional(readOnly = true)
-    public void verificarPresencasAtrasadas() {
+    private void presencasAtrasadas() {
         log.info("Verificando presenças atrasadas");
 
         LocalDateTime agora = LocalDateTime.now();
         LocalDateTime inicioJanela = agora.minusMinutes(30);
 
-        List<Reuniao> reunioesEmAndamento = reuniaoRepository.findByDataHoraInicioBetweenAndStatus(
+        List<ParticipanteAusenteDTO> ausentes = reuniaoRepository.findParticipantesSemPresenca(
                 inicioJanela, agora, StatusReuniao.EM_ANDAMENTO);
+        Set<Long> reunioes = ausentes.stream()
+                .map(a -> a.getReuniao().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Set<LembreteLedgerService.Envio> jaEnviados = ledger.jaEnviados(TipoLembrete.PRESENCA_ATRASADA, reunioes);
+        List<LembreteLedgerService.Envio> novos = new ArrayList<>();
+
+        for (ParticipanteAusenteDTO ausente : ausentes) {
+            Reuniao reuniao = ausente.getReuniao();
+            Pessoa participante = ausente.getParticipante();
+            LembreteLedgerService.Envio envio = new LembreteLedgerService.Envio(
+                    reuniao.getId(), participante.getId(), reuniao.getDataHoraInicio());
+            if (!jaEnviados.contains(envio) && emailService.enviarAlertaPresencaAtrasada(reuniao, participante)) {
+                novos.add(envio);
+            }
+        }
+        ledger.registrar(TipoLembrete.PRESENCA_ATRASADA, novos);
 
-        int alertasEnviados = 0;
-        for (Reuniao reuniao : reunioesEmAndamento) {
-            Set<Long> participantesPresentes = reuniao.getPresencas().stream()
-                    .map(Presenca::getParticipante)
-                    .map(Pessoa::getId)
-                    .collect(Collectors.toSet());
+        log.info("Alertas de presença atrasada enviados: {} de {} ausências em {} reuniões",
+                novos.size(), ausentes.size(), reunioes.size());
+    }
 
-            List<Pessoa> participantesAusentes = reuniao.getParticipantes().stream()
-                    .filter(p -> !participantesPresentes.contains(p.getId()))
-                    .collect(Collectors.toList());
+    /**
+     * Envia o lembrete {@code tipo} a cada participante das reuniões, pulando quem já
+     * o recebeu para a mesma reunião no mesmo horário (uma consulta ao livro para toda
+     * a rodada). Uma reunião remarcada volta a gerar lembretes para o novo início.
+     *
+     * @return quantidade de lembretes enfileirados
+     */
+    private int enviarParaParticipantes(TipoLembrete tipo, List<Reuniao> reunioes,
+                                        BiPredicate<Pessoa, Reuniao> enviar) {
+        Set<LembreteLedgerService.Envio> jaEnviados = ledger.jaEnviados(tipo,
+                reunioes.stream().map(Reuniao::getId).toList());
+        List<LembreteLedgerService.Envio> novos = new ArrayList<>();
 
-            for (Pessoa participante : participantesAusentes) {
-                if (emailService.enviarAlertaPresencaAtrasada(reuniao, participante)) {
-                    alertasEnviados++;
+        for (Reuniao reuniao : reunioes) {
+            if (reuniao.getParticipantes() == null) {
+                continue;
+            }
+            for (Pessoa participante : reuniao.getParticipantes()) {
+                LembreteLedgerService.Envio envio = new LembreteLedgerService.Envio(
+                        reuniao.getId(), participante.getId(), reuniao.getDataHoraInicio());
+                if (!jaEnviados.contains(envio) && enviar.test(participante, reuniao)) {
+                    novos.add(envio);
                 }
             }
         }
-
-        log.info("Alertas de presença atrasada enviados: {} para {} reuniões",
-                alertasEnviados, reunioesEmAndamento.size());
+        ledger.registrar(tipo, novos);
+        return novos.size();
     }
 }
@@ -1,49 +1,188 @@
 package com.smartmeeting.service.relatorio;
 
+import com.smartmeeting.config.ExecutorConfig;
+import com.smartmeeting.dto.ReuniaoExportacaoDTO;
+import com.smartmeeting.dto.TarefaExportacaoDTO;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static com.smartmeeting.service.relatorio.PeriodoRelatorio.fimDe;
+import static com.smartmeeting.service.relatorio.PeriodoRelatorio.inicioDe;
+
+/**
+ * Exportações CSV em streaming: as linhas vão direto para a resposta, uma por vez.
+ * <p>
+ * A consulta é um {@link Stream} de projeções (fora do contexto de persistência) lido
+ * com fetch size limitado, dentro de uma transação somente leitura aberta na thread que
+ * escreve a resposta. A memória usada não depende do número de linhas: só o buffer de
+ * escrita e o lote corrente do driver.
+ * <p>
+ * A escrita roda no pool de exportação e com prazo próprio ({@link #download}); o resto
+ * do MVC assíncrono fica com o executor e o prazo padrão.
+ */
 @Service
 public class CsvExportService {
 
-    @SuppressWarnings("unchecked")
-    public String exportToCsv(Map<String, Object> data) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-
-        // Escreve o cabeçalho
-        pw.println(String.join(",", data.keySet()));
-
-        // Escreve os valores
-        for (Object value : data.values()) {
-            if (value instanceof List) {
-                for (Object item : (List<?>) value) {
-                    pw.println(item.toString());
-                }
-            } else if (value instanceof Map) {
-                pw.println(mapToCsv((Map<String, Object>) value));
-            } else {
-                pw.print(value.toString() + ",");
-            }
-        }
-        pw.println();
+    private static final Logger log = LoggerFactory.getLogger(CsvExportService.class);
+
+    // BOM UTF-8: sem ele o Excel abre o arquivo como Latin-1 e estraga os acentos
+    private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final List<String> CABECALHO_REUNIAO = List.of(
+            "id", "titulo", "sala", "data_hora_inicio", "duracao_minutos", "status", "organizador");
+
+    private static final List<String> CABECALHO_TAREFA = List.of(
+            "id", "titulo", "responsavel_id", "responsavel", "projeto", "prioridade", "prazo",
+            "concluida", "data_conclusao");
 
-        return sw.toString();
+    private final ReuniaoRepository reuniaoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor exportacaoExecutor;
+    private final Duration timeout;
+
+    public CsvExportService(ReuniaoRepository reuniaoRepository,
+                            TarefaRepository tarefaRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier(ExecutorConfig.EXPORTACAO) ThreadPoolTaskExecutor exportacaoExecutor,
+                            @Value("${app.exportacao.timeout-min:30}") long timeoutMinutos) {
+        this.reuniaoRepository = reuniaoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.exportacaoExecutor = exportacaoExecutor;
+        this.timeout = Duration.ofMinutes(timeoutMinutos);
     }
 
-    private String mapToCsv(Map<String, Object> map) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
+    /**
+     * Resposta de download: cabeçalhos definidos agora, linhas escritas depois no pool de
+     * exportação, com prazo de {@code app.exportacao.timeout-min} (uma exportação grande
+     * passa bem dos 30 s padrão). Pool cheio: a requisição é recusada com 503.
+     */
+    public WebAsyncTask<Void> download(String arquivo, HttpServletResponse response, StreamingResponseBody corpo) {
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(arquivo).build().toString());
+        return new WebAsyncTask<>(timeout.toMillis(), exportacaoExecutor, () -> {
+            corpo.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
 
-        // Escreve os valores do mapa
-        for (Object value : map.values()) {
-            pw.print(value.toString() + ",");
-        }
+    /**
+     * Reuniões iniciadas no período, com sala e duração (uma linha por reunião)
+     */
+    public StreamingResponseBody exportarReunioes(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        return exportar("reunioes", CABECALHO_REUNIAO,
+                () -> reuniaoRepository.streamParaExportacao(projectId, inicioDe(dataInicio), fimDe(dataFim), null),
+                CsvExportService::colunasReuniao);
+    }
+
+    /**
+     * Reuniões finalizadas no período
+     */
+    public StreamingResponseBody exportarReunioesFinalizadas(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        return exportar("reunioes-finalizadas", CABECALHO_REUNIAO,
+                () -> reuniaoRepository.streamParaExportacao(projectId, inicioDe(dataInicio), fimDe(dataFim),
+                        StatusReuniao.FINALIZADA),
+                CsvExportService::colunasReuniao);
+    }
+
+    /**
+     * Tarefas com prazo no período
+     */
+    public StreamingResponseBody exportarTarefas(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        return exportar("tarefas", CABECALHO_TAREFA,
+                () -> tarefaRepository.streamParaExportacao(projectId, dataInicio, dataFim),
+                CsvExportService::colunasTarefa);
+    }
+
+    /**
+     * Tarefas com prazo no período, agrupadas por responsável
+     */
+    public StreamingResponseBody exportarTarefasPorResponsavel(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        return exportar("tarefas-por-responsavel", CABECALHO_TAREFA,
+                () -> tarefaRepository.streamPorResponsavelParaExportacao(projectId, dataInicio, dataFim),
+                CsvExportService::colunasTarefa);
+    }
+
+    /**
+     * Monta a resposta: cabeçalho e uma linha por item de {@code origem}. A consulta só é
+     * aberta quando o Spring começa a escrever a resposta, e é fechada ao final (ou se o
+     * cliente desconectar).
+     */
+    public <T> StreamingResponseBody exportar(String nome, List<String> cabecalho,
+                                              Supplier<Stream<T>> origem, Function<T, List<?>> colunas) {
+        return out -> {
+            long inicio = System.nanoTime();
+            long[] linhas = { 0 };
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<T> stream = origem.get()) {
+                        out.write(BOM);
+                        CsvWriter csv = new CsvWriter(new BufferedWriter(
+                                new OutputStreamWriter(out, StandardCharsets.UTF_8), TAMANHO_BUFFER));
+                        csv.linha(cabecalho);
+                        Iterator<T> it = stream.iterator();
+                        while (it.hasNext()) {
+                            csv.linha(colunas.apply(it.next()));
+                            linhas[0]++;
+                        }
+                        csv.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Em geral o cliente fechou a conexão
+                log.warn("Exportação CSV {} interrompida após {} linhas: {}", nome, linhas[0], e.getMessage());
+                throw e.getCause();
+            }
+            log.info("Exportação CSV {}: {} linhas em {} ms", nome, linhas[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        };
+    }
+
+    private static List<?> colunasReuniao(ReuniaoExportacaoDTO r) {
+        return Arrays.asList(r.getId(), r.getTitulo(), r.getSala(), r.getDataHoraInicio(),
+                r.getDuracaoMinutos(), r.getStatus(), r.getOrganizador());
+    }
 
-        return sw.toString();
+    private static List<?> colunasTarefa(TarefaExportacaoDTO t) {
+        return Arrays.asList(t.getId(), t.getTitulo(), t.getResponsavelId(), t.getResponsavel(),
+                t.getProjeto(), t.getPrioridade() != null ? t.getPrioridade().getDescricao() : null,
+                t.getPrazo(), t.isConcluida(), t.getDataConclusao());
     }
 }
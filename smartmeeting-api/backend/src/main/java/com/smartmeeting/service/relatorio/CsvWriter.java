@@ -0,0 +1,80 @@
+package com.smartmeeting.service.relatorio;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Escreve linhas CSV (RFC 4180) direto no {@link Writer}, sem montar o arquivo em memória.
+ * <ul>
+ * <li>Campos com vírgula, aspas, quebra de linha ou espaço nas pontas vão entre aspas,
+ * com as aspas internas duplicadas; linhas terminam em CRLF.</li>
+ * <li>Textos que começam com {@code = + - @} (fórmulas para planilhas) recebem um
+ * apóstrofo na frente.</li>
+ * <li>{@code null} vira campo vazio; datas usam o formato ISO.</li>
+ * </ul>
+ */
+class CsvWriter {
+
+    private static final char SEPARADOR = ',';
+    private static final String FIM_DE_LINHA = "\r\n";
+
+    private final Writer out;
+
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    void linha(Iterable<?> campos) throws IOException {
+        boolean primeiro = true;
+        for (Object campo : campos) {
+            if (!primeiro) {
+                out.write(SEPARADOR);
+            }
+            escreverCampo(campo);
+            primeiro = false;
+        }
+        out.write(FIM_DE_LINHA);
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void escreverCampo(Object campo) throws IOException {
+        if (campo == null) {
+            return;
+        }
+        if (campo instanceof Number || campo instanceof Boolean || campo instanceof TemporalAccessor) {
+            out.write(campo.toString());
+            return;
+        }
+        String texto = campo.toString();
+        if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (precisaAspas(texto)) {
+            out.write('"');
+            out.write(texto.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(texto);
+        }
+    }
+
+    private static boolean precisaAspas(String texto) {
+        if (texto.isEmpty()) {
+            return false;
+        }
+        if (Character.isWhitespace(texto.charAt(0)) || Character.isWhitespace(texto.charAt(texto.length() - 1))) {
+            return true;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == SEPARADOR || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
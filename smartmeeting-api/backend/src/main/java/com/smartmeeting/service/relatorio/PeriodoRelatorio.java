@@ -0,0 +1,23 @@
+package com.smartmeeting.service.relatorio;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Limites de um período de relatório informado em datas: do início do primeiro dia ao
+ * último instante do último. Data nula continua nula (filtro ignorado).
+ */
+final class PeriodoRelatorio {
+
+    private PeriodoRelatorio() {
+    }
+
+    static LocalDateTime inicioDe(LocalDate data) {
+        return data != null ? data.atStartOfDay() : null;
+    }
+
+    static LocalDateTime fimDe(LocalDate data) {
+        return data != null ? data.atTime(LocalTime.MAX) : null;
+    }
+}
@@ -1,172 +1,142 @@
 package com.smartmeeting.service.relatorio;
 
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.DuracaoReunioesDTO;
+import com.smartmeeting.dto.ProdutividadeResponsavelDTO;
 import com.smartmeeting.enums.StatusReuniao;
-
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.model.Pessoa;
-import com.smartmeeting.model.Presenca;
-import com.smartmeeting.model.Reuniao;
-import com.smartmeeting.model.Tarefa;
-import com.smartmeeting.repository.*;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.PresencaRepository;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.TarefaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.smartmeeting.service.relatorio.PeriodoRelatorio.fimDe;
+import static com.smartmeeting.service.relatorio.PeriodoRelatorio.inicioDe;
+
+/**
+ * Relatórios agregados. Cada relatório é uma consulta GROUP BY que devolve só as linhas
+ * do resultado (uma por sala, pessoa ou responsável); nenhuma entidade é carregada.
+ * Período e projeto são opcionais e independentes: filtro nulo é ignorado.
+ */
 @Service
+@Transactional(readOnly = true)
 public class RelatorioService {
 
-    @Autowired
-    private ReuniaoRepository reuniaoRepository;
-
-    @Autowired
-    private TarefaRepository tarefaRepository;
-
-    @Autowired
-    private PresencaRepository presencaRepository;
-
-    @Autowired
-    private PessoaRepository pessoaRepository;
-
-    public Map<String, Object> getReunioesPorSala(LocalDate dataInicio, LocalDate dataFim) {
-        List<Reuniao> reunioes;
-        if (dataInicio != null && dataFim != null) {
-            reunioes = reuniaoRepository.findByDataHoraInicioBetween(dataInicio.atStartOfDay(),
-                    dataFim.atTime(LocalTime.MAX));
-        } else {
-            reunioes = reuniaoRepository.findAll();
-        }
+    private static final String SEM_SALA = "Sem sala";
+
+    private final ReuniaoRepository reuniaoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final PresencaRepository presencaRepository;
+    private final PessoaRepository pessoaRepository;
+
+    public RelatorioService(ReuniaoRepository reuniaoRepository,
+                            TarefaRepository tarefaRepository,
+                            PresencaRepository presencaRepository,
+                            PessoaRepository pessoaRepository) {
+        this.reuniaoRepository = reuniaoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.presencaRepository = presencaRepository;
+        this.pessoaRepository = pessoaRepository;
+    }
 
-        Map<String, Long> reunioesPorSala = reunioes.stream()
-                .collect(Collectors.groupingBy(
-                        reuniao -> reuniao.getSala().getNome(),
-                        Collectors.counting()));
+    public Map<String, Object> getReunioesPorSala(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        List<ContagemDTO> contagens = reuniaoRepository.contarPorSala(projectId, inicioDe(dataInicio), fimDe(dataFim));
+        Map<String, Long> reunioesPorSala = somarPorNome(contagens, SEM_SALA);
 
         Map<String, Object> resultado = new HashMap<>();
-        resultado.put("total_reunioes", reunioes.size());
+        resultado.put("total_reunioes", total(contagens));
         resultado.put("reunioes_por_sala", reunioesPorSala);
         resultado.put("data_geracao", LocalDateTime.now());
 
         return resultado;
     }
 
-    public Map<String, Object> getTarefasConcluidas(LocalDate dataInicio, LocalDate dataFim) {
-        List<Tarefa> todasTarefas;
-        if (dataInicio != null && dataFim != null) {
-            todasTarefas = tarefaRepository.findByPrazoBetween(dataInicio, dataFim);
-        } else {
-            todasTarefas = tarefaRepository.findAll();
+    public Map<String, Object> getTarefasConcluidas(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        long total = 0;
+        long tarefasConcluidas = 0;
+        for (ContagemDTO c : tarefaRepository.contarPorConclusaoNoPrazo(projectId, dataInicio, dataFim)) {
+            total += c.getTotal();
+            if (Boolean.TRUE.equals(c.getChave())) {
+                tarefasConcluidas = c.getTotal();
+            }
         }
 
-        long tarefasConcluidas = todasTarefas.stream().filter(Tarefa::isConcluida).count();
-
         Map<String, Object> resultado = new HashMap<>();
-        resultado.put("total_tarefas", todasTarefas.size());
+        resultado.put("total_tarefas", total);
         resultado.put("tarefas_concluidas", tarefasConcluidas);
-        resultado.put("tarefas_pendentes", todasTarefas.size() - tarefasConcluidas);
-        resultado.put("percentual_conclusao",
-                todasTarefas.size() > 0 ? (double) tarefasConcluidas / todasTarefas.size() * 100 : 0);
+        resultado.put("tarefas_pendentes", total - tarefasConcluidas);
+        resultado.put("percentual_conclusao", percentual(tarefasConcluidas, total));
         resultado.put("data_geracao", LocalDateTime.now());
 
         return resultado;
     }
 
-    public Map<String, Object> getPresencaPorPessoa(Long participanteId) {
-        List<Presenca> presencas;
+    public Map<String, Object> getPresencaPorPessoa(Long participanteId, LocalDate dataInicio, LocalDate dataFim,
+                                                    Long projectId) {
+        String pessoaFiltrada = null;
         if (participanteId != null) {
-            // Verifica se a pessoa existe antes de buscar as presenças
-            pessoaRepository.findById(participanteId)
+            pessoaFiltrada = pessoaRepository.findById(participanteId)
+                    .map(Pessoa::getNome)
                     .orElseThrow(
                             () -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + participanteId));
-            presencas = presencaRepository.findByParticipanteId(participanteId);
-        } else {
-            presencas = presencaRepository.findAll();
         }
 
-        Map<String, Long> presencasPorPessoa = presencas.stream()
-                .collect(Collectors.groupingBy(
-                        presenca -> presenca.getParticipante().getNome(),
-                        Collectors.counting()));
+        List<ContagemDTO> contagens = presencaRepository.contarPorPessoa(participanteId, projectId,
+                inicioDe(dataInicio), fimDe(dataFim));
 
         Map<String, Object> resultado = new HashMap<>();
-        resultado.put("total_presencas", presencas.size());
-        resultado.put("presencas_por_pessoa", presencasPorPessoa);
-        if (participanteId != null) {
-            Optional<Pessoa> pessoa = pessoaRepository.findById(participanteId);
-            resultado.put("pessoa_filtrada", pessoa.map(Pessoa::getNome).orElse("Não encontrada"));
+        resultado.put("total_presencas", total(contagens));
+        resultado.put("presencas_por_pessoa", somarPorNome(contagens, null));
+        if (pessoaFiltrada != null) {
+            resultado.put("pessoa_filtrada", pessoaFiltrada);
         }
         resultado.put("data_geracao", LocalDateTime.now());
 
         return resultado;
     }
 
-    public Map<String, Object> getDuracaoReunioes(LocalDate dataInicio, LocalDate dataFim) {
-        List<Reuniao> reunioesFinalizadas;
-        if (dataInicio != null && dataFim != null) {
-            reunioesFinalizadas = reuniaoRepository.findByDataHoraInicioBetweenAndStatus(dataInicio.atStartOfDay(),
-                    dataFim.atTime(LocalTime.MAX), StatusReuniao.FINALIZADA);
-        } else {
-            reunioesFinalizadas = reuniaoRepository.findByStatus(StatusReuniao.FINALIZADA);
-        }
-
-        double duracaoMedia = reunioesFinalizadas.stream()
-                .mapToDouble(Reuniao::getDuracaoMinutos)
-                .average()
-                .orElse(0.0);
-
-        double duracaoTotal = reunioesFinalizadas.stream()
-                .mapToDouble(Reuniao::getDuracaoMinutos)
-                .sum();
-
-        OptionalDouble duracaoMaxima = reunioesFinalizadas.stream()
-                .mapToDouble(Reuniao::getDuracaoMinutos)
-                .max();
-
-        OptionalDouble duracaoMinima = reunioesFinalizadas.stream()
-                .mapToDouble(Reuniao::getDuracaoMinutos)
-                .min();
+    public Map<String, Object> getDuracaoReunioes(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        DuracaoReunioesDTO duracao = reuniaoRepository.resumirDuracao(projectId, inicioDe(dataInicio), fimDe(dataFim),
+                StatusReuniao.FINALIZADA);
 
         Map<String, Object> resultado = new HashMap<>();
-        resultado.put("total_reunioes_finalizadas", reunioesFinalizadas.size());
-        resultado.put("duracao_media_minutos", duracaoMedia);
-        resultado.put("duracao_total_minutos", duracaoTotal);
-        resultado.put("duracao_maxima_minutos", duracaoMaxima.isPresent() ? duracaoMaxima.getAsDouble() : 0);
-        resultado.put("duracao_minima_minutos", duracaoMinima.isPresent() ? duracaoMinima.getAsDouble() : 0);
+        resultado.put("total_reunioes_finalizadas", duracao.getTotal());
+        resultado.put("duracao_media_minutos", duracao.getMedia() != null ? duracao.getMedia() : 0.0);
+        resultado.put("duracao_total_minutos", duracao.getSoma() != null ? duracao.getSoma() : 0L);
+        resultado.put("duracao_maxima_minutos", duracao.getMaxima() != null ? duracao.getMaxima() : 0);
+        resultado.put("duracao_minima_minutos", duracao.getMinima() != null ? duracao.getMinima() : 0);
         resultado.put("data_geracao", LocalDateTime.now());
 
         return resultado;
     }
 
-    public Map<String, Object> getProdutividadePorParticipante(LocalDate dataInicio, LocalDate dataFim) {
-        List<Tarefa> todasTarefas;
-        if (dataInicio != null && dataFim != null) {
-            todasTarefas = tarefaRepository.findByPrazoBetween(dataInicio, dataFim);
-        } else {
-            todasTarefas = tarefaRepository.findAll();
+    public Map<String, Object> getProdutividadePorParticipante(LocalDate dataInicio, LocalDate dataFim, Long projectId) {
+        // {total, concluídas} por nome; homônimos são somados, como no relatório por nome
+        Map<String, long[]> porNome = new LinkedHashMap<>();
+        for (ProdutividadeResponsavelDTO p : tarefaRepository.produtividadePorResponsavel(projectId, dataInicio, dataFim)) {
+            long[] soma = porNome.computeIfAbsent(p.getResponsavel(), nome -> new long[2]);
+            soma[0] += p.getTotal();
+            soma[1] += p.getConcluidas();
         }
 
-        Map<String, List<Tarefa>> tarefasPorPessoa = todasTarefas.stream()
-                .filter(t -> t.getResponsavel() != null)
-                .collect(Collectors.groupingBy(t -> t.getResponsavel().getNome()));
-
-        Map<String, Object> produtividade = tarefasPorPessoa.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> {
-                            long concluidas = entry.getValue().stream()
-                                    .filter(Tarefa::isConcluida)
-                                    .count();
-                            long total = entry.getValue().size();
-                            Map<String, Object> stats = new HashMap<>();
-                            stats.put("total_tarefas", total);
-                            stats.put("tarefas_concluidas", concluidas);
-                            stats.put("percentual_conclusao", total > 0 ? (double) concluidas / total * 100 : 0);
-                            return stats;
-                        }));
+        Map<String, Object> produtividade = new LinkedHashMap<>();
+        porNome.forEach((nome, soma) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("total_tarefas", soma[0]);
+            stats.put("tarefas_concluidas", soma[1]);
+            stats.put("percentual_conclusao", percentual(soma[1], soma[0]));
+            produtividade.put(nome, stats);
+        });
 
         Map<String, Object> resultado = new HashMap<>();
         resultado.put("produtividade_por_participante", produtividade);
@@ -174,4 +144,22 @@ public class RelatorioService {
 
         return resultado;
     }
+
+    /** Agrupamentos por id podem repetir o nome; o relatório é chaveado por nome */
+    private static Map<String, Long> somarPorNome(List<ContagemDTO> contagens, String semNome) {
+        Map<String, Long> porNome = new LinkedHashMap<>();
+        for (ContagemDTO c : contagens) {
+            String nome = c.getChave() != null ? c.getChave().toString() : semNome;
+            porNome.merge(nome, c.getTotal(), Long::sum);
+        }
+        return porNome;
+    }
+
+    private static long total(List<ContagemDTO> contagens) {
+        return contagens.stream().mapToLong(ContagemDTO::getTotal).sum();
+    }
+
+    private static double percentual(long parte, long total) {
+        return total > 0 ? (double) parte / total * 100 : 0;
+    }
 }
@@ -4,10 +4,14 @@ import com.smartmeeting.dto.ReuniaoListDTO;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.model.Reuniao;
 import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.service.sala.SalaOcupacaoIndex;
+import com.smartmeeting.service.sala.SalaReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,6 +23,7 @@ import java.util.stream.Collectors;
 public class ReuniaoCrudService {
 
     private final ReuniaoRepository repository;
+    private final SalaReservationService reservationService;
 
     public List<ReuniaoListDTO> listarTodas(Long userId) {
         List<Reuniao> reunioes;
@@ -56,13 +61,19 @@ public class ReuniaoCrudService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reunião não encontrada com ID: " + id));
     }
 
+    @Transactional
     public Reuniao salvar(Reuniao reuniao) {
+        reservarSala(reuniao, null);
         return repository.save(reuniao);
     }
 
+    @Transactional
     public Reuniao atualizar(Long id, Reuniao reuniaoAtualizada) {
         return repository.findById(id)
                 .map(reuniaoExistente -> {
+                    if (mudaOcupacao(reuniaoExistente, reuniaoAtualizada)) {
+                        reservarSala(reuniaoAtualizada, id);
+                    }
                     reuniaoExistente.setTitulo(reuniaoAtualizada.getTitulo());
                     reuniaoExistente.setDataHoraInicio(reuniaoAtualizada.getDataHoraInicio());
                     reuniaoExistente.setDuracaoMinutos(reuniaoAtualizada.getDuracaoMinutos());
@@ -77,6 +88,30 @@ public class ReuniaoCrudService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reunião não encontrada com ID: " + id));
     }
 
+    /**
+     * Reunião ativa com sala e horário: trava a sala e recusa sobreposição, como na
+     * reserva ({@link SalaReservationService#travarHorario})
+     */
+    private void reservarSala(Reuniao reuniao, Long reuniaoId) {
+        if (reuniao.getSala() == null || reuniao.getDataHoraFim() == null
+                || !SalaOcupacaoIndex.STATUS_OCUPANTES.contains(reuniao.getStatus())) {
+            return;
+        }
+        reuniao.setSala(reservationService.travarHorario(reuniao.getSala().getId(),
+                reuniao.getDataHoraInicio(), reuniao.getDataHoraFim(), reuniaoId));
+    }
+
+    private static boolean mudaOcupacao(Reuniao atual, Reuniao nova) {
+        return !Objects.equals(idSala(atual), idSala(nova))
+                || !Objects.equals(atual.getDataHoraInicio(), nova.getDataHoraInicio())
+                || !Objects.equals(atual.getDuracaoMinutos(), nova.getDuracaoMinutos())
+                || !SalaOcupacaoIndex.STATUS_OCUPANTES.contains(atual.getStatus());
+    }
+
+    private static Long idSala(Reuniao reuniao) {
+        return reuniao.getSala() != null ? reuniao.getSala().getId() : null;
+    }
+
     public void deletar(Long id) {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Reunião não encontrada com ID: " + id);
@@ -4,7 +4,6 @@ import com.smartmeeting.dto.ReuniaoListDTO;
 import com.smartmeeting.dto.ReuniaoStatisticsDTO;
 import com.smartmeeting.model.Reuniao;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -61,7 +60,6 @@ public class ReuniaoService {
         return statisticsService.getProximasReunioes();
     }
 
-    @Cacheable("statistics")
     public ReuniaoStatisticsDTO getReuniaoStatistics() {
         return statisticsService.getReuniaoStatistics();
     }
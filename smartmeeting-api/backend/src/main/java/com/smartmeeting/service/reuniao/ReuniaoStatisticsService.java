@@ -1,26 +1,45 @@
 package com.smartmeeting.service.reuniao;
 
+import com.smartmeeting.dto.ReuniaoDTO;
+import com.smartmeeting.dto.SalaCatalogoDTO;
 import com.smartmeeting.dto.ReuniaoStatisticsDTO;
 import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.evento.ReuniaoAlteradaEvent;
+import com.smartmeeting.mapper.ReuniaoMapper;
 import com.smartmeeting.model.Reuniao;
 import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.service.dashboard.DashboardContadores;
+import com.smartmeeting.service.sala.SalaCatalogoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Serviço responsável por estatísticas e relatórios de reuniões
+ * Serviço responsável por estatísticas e relatórios de reuniões.
+ * Contagens por status e por sala vêm dos {@link DashboardContadores}; as próximas
+ * reuniões, de consultas limitadas. O resultado fica no cache "statistics" e é
+ * descartado a cada {@link ReuniaoAlteradaEvent}.
  */
 @Service
 @RequiredArgsConstructor
 public class ReuniaoStatisticsService {
 
+    static final String CHAVE_CACHE = "'reunioes'";
+    private static final int LIMITE_PROXIMAS = 5;
+
     private final ReuniaoRepository repository;
+    private final ReuniaoMapper mapper;
+    private final DashboardContadores contadores;
+    private final SalaCatalogoService salaCatalogo;
 
     public long getTotalReunioes() {
         return repository.count();
@@ -31,54 +50,53 @@ public class ReuniaoStatisticsService {
     }
 
     public List<Reuniao> getProximasReunioes() {
-        LocalDateTime now = LocalDateTime.now();
-        return repository.findAll().stream()
-                .filter(r -> r.getDataHoraInicio().isAfter(now) && r.getStatus() == StatusReuniao.AGENDADA)
-                .sorted(Comparator.comparing(Reuniao::getDataHoraInicio))
-                .limit(5)
-                .collect(Collectors.toList());
+        return repository.findByStatusAndDataHoraInicioAfterOrderByDataHoraInicioAsc(
+                StatusReuniao.AGENDADA, LocalDateTime.now(), PageRequest.of(0, LIMITE_PROXIMAS));
     }
 
+    /**
+     * Estatísticas gerais, já com a lista das próximas reuniões.
+     * O DTO devolvido é compartilhado pelo cache: não deve ser alterado por quem chama.
+     */
+    @Cacheable(value = "statistics", key = CHAVE_CACHE)
+    @Transactional(readOnly = true)
     public ReuniaoStatisticsDTO getReuniaoStatistics() {
-        List<Reuniao> todasReunioes = repository.findAll();
         LocalDateTime now = LocalDateTime.now();
 
-        long total = todasReunioes.size();
-        long agendadas = todasReunioes.stream().filter(r -> r.getStatus() == StatusReuniao.AGENDADA).count();
-        long andamento = todasReunioes.stream().filter(r -> r.getStatus() == StatusReuniao.EM_ANDAMENTO).count();
-        long finalizadas = todasReunioes.stream().filter(r -> r.getStatus() == StatusReuniao.FINALIZADA).count();
-        long canceladas = todasReunioes.stream().filter(r -> r.getStatus() == StatusReuniao.CANCELADA).count();
-
-        long proximasCount = todasReunioes.stream()
-                .filter(r -> r.getDataHoraInicio().isAfter(now) && r.getStatus() == StatusReuniao.AGENDADA)
-                .count();
-
-        String salaMaisUsada = todasReunioes.stream()
-                .filter(r -> r.getSala() != null)
-                .collect(Collectors.groupingBy(r -> r.getSala().getNome(), Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        Map<StatusReuniao, Long> porStatus = contadores.getReunioesPorStatus();
+        long total = contadores.getTotalReunioes();
+
+        long proximasCount = repository.countByStatusAndDataHoraInicioAfter(StatusReuniao.AGENDADA, now);
+
+        String salaMaisUsada = contadores.getSalaMaisUsada()
+                .flatMap(salaCatalogo::buscar)
+                .map(SalaCatalogoDTO::getNome)
                 .orElse("N/A");
 
-        long salasEmUso = todasReunioes.stream()
-                .filter(r -> r.getStatus() == StatusReuniao.EM_ANDAMENTO && r.getSala() != null)
-                .map(r -> r.getSala().getId())
-                .distinct()
-                .count();
+        long salasEmUso = contadores.getSalasComReuniaoEmAndamento();
+
+        List<ReuniaoDTO> proximasList = getProximasReunioes().stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
 
         double taxaParticipacao = 0.0;
 
         return new ReuniaoStatisticsDTO(
                 total,
-                agendadas,
-                andamento,
-                finalizadas,
-                canceladas,
+                porStatus.getOrDefault(StatusReuniao.AGENDADA, 0L),
+                porStatus.getOrDefault(StatusReuniao.EM_ANDAMENTO, 0L),
+                porStatus.getOrDefault(StatusReuniao.FINALIZADA, 0L),
+                porStatus.getOrDefault(StatusReuniao.CANCELADA, 0L),
                 proximasCount,
                 salaMaisUsada,
                 salasEmUso,
                 taxaParticipacao,
-                null); // Controller will populate this
+                List.copyOf(proximasList));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = "statistics", key = CHAVE_CACHE)
+    public void aoAlterarReuniao(ReuniaoAlteradaEvent event) {
+        // Apenas descarta o retrato em cache
     }
 }
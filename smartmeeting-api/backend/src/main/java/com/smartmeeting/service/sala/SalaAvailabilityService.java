@@ -1,90 +1,211 @@
 package com.smartmeeting.service.sala;
 
+import com.smartmeeting.dto.IntervaloDTO;
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.dto.SalaCatalogoDTO;
+import com.smartmeeting.dto.SalaDTO;
+import com.smartmeeting.dto.SalaDisponibilidadeDTO;
+import com.smartmeeting.enums.SalaStatus;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.exception.BadRequestException;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.mapper.SalaMapper;
-import com.smartmeeting.model.Reuniao;
 import com.smartmeeting.model.Sala;
 import com.smartmeeting.repository.ReuniaoRepository;
 import com.smartmeeting.repository.SalaRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Verificação de disponibilidade de sala para uma data específica.
+ * Disponibilidade de salas: ocupação vinda do {@link SalaOcupacaoIndex}
+ * (ou da consulta indexada por sala/período enquanto o índice não carregou)
+ * e cálculo dos intervalos livres.
  */
 @Service
 public class SalaAvailabilityService {
 
         private final SalaRepository repository;
         private final ReuniaoRepository reuniaoRepository;
+        private final SalaOcupacaoIndex ocupacaoIndex;
         private final SalaMapper mapper;
+        private final SalaCatalogoService catalogo;
+        private final LocalTime inicioExpediente;
+        private final LocalTime fimExpediente;
 
         public SalaAvailabilityService(SalaRepository repository,
                         ReuniaoRepository reuniaoRepository,
-                        SalaMapper mapper) {
+                        SalaOcupacaoIndex ocupacaoIndex,
+                        SalaMapper mapper,
+                        SalaCatalogoService catalogo,
+                        @Value("${app.salas.expediente.inicio:08:00}") String inicioExpediente,
+                        @Value("${app.salas.expediente.fim:21:00}") String fimExpediente) {
                 this.repository = repository;
                 this.reuniaoRepository = reuniaoRepository;
+                this.ocupacaoIndex = ocupacaoIndex;
                 this.mapper = mapper;
+                this.catalogo = catalogo;
+                this.inicioExpediente = LocalTime.parse(inicioExpediente);
+                this.fimExpediente = LocalTime.parse(fimExpediente);
         }
 
         public Map<String, Object> getDisponibilidadeSala(Long salaId, String data) {
-                Sala sala = repository.findById(salaId)
+                SalaCatalogoDTO sala = catalogo.buscar(salaId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Sala não encontrada com ID: " + salaId));
 
-                if (sala.getStatus() == com.smartmeeting.enums.SalaStatus.MANUTENCAO) {
+                if (sala.getStatusGravado() == SalaStatus.MANUTENCAO) {
                         return Map.of(
                                         "disponivel", false,
                                         "motivo", "Sala em manutenção",
-                                        "statusAtual", sala.getStatus());
+                                        "statusAtual", SalaStatus.MANUTENCAO,
+                                        "horariosDisponiveis", List.of());
                 }
 
-                LocalDate dataSolicitada = LocalDate.parse(data, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                LocalDate dataSolicitada = parseData(data);
+                LocalDateTime inicio = dataSolicitada.atTime(inicioExpediente);
+                LocalDateTime fim = dataSolicitada.atTime(fimExpediente);
 
-                List<Reuniao> reunioesDoDia = reuniaoRepository
-                                .findByStatus(com.smartmeeting.enums.StatusReuniao.AGENDADA)
+                List<OcupacaoSalaDTO> ocupacoes = getOcupacoes(salaId, inicio, fim);
+                List<IntervaloDTO> livres = calcularIntervalosLivres(ocupacoes, inicio, fim);
+
+                Map<String, Object> resposta = new HashMap<>();
+                resposta.put("disponivel", ocupacoes.isEmpty());
+                SalaDTO salaDTO = mapper.toDTO(sala);
+                resposta.put("sala", salaDTO);
+                resposta.put("dataSolicitada", dataSolicitada);
+                resposta.put("expediente", new IntervaloDTO(inicio, fim));
+                resposta.put("reunioesAgendadas", contarPorStatus(ocupacoes, StatusReuniao.AGENDADA));
+                resposta.put("reunioesEmProgresso", contarPorStatus(ocupacoes, StatusReuniao.EM_ANDAMENTO));
+                resposta.put("statusAtual", salaDTO.getStatus());
+                resposta.put("horariosDisponiveis", livres);
+                resposta.put("detalhesReunioes", ocupacoes.stream()
+                                .map(o -> Map.of(
+                                                "id", o.getReuniaoId(),
+                                                "titulo", o.getTitulo() != null ? o.getTitulo() : "",
+                                                "inicio", o.getInicio(),
+                                                "fim", o.getFim(),
+                                                "status", o.getStatus()))
+                                .collect(Collectors.toList()));
+                return resposta;
+        }
+
+        /**
+         * Disponibilidade de várias salas de uma vez: uma consulta filtra as salas e
+         * uma única leitura de ocupação (índice ou consulta por período) cobre todas.
+         *
+         * @param duracaoMinima se informada, só retorna salas com algum intervalo livre
+         *                      de pelo menos essa duração (minutos)
+         */
+        public List<SalaDisponibilidadeDTO> buscarDisponibilidade(LocalDateTime inicio, LocalDateTime fim,
+                        Integer capacidadeMinima, String categoria, String andar,
+                        List<String> equipamentos, Integer duracaoMinima) {
+                validarJanela(inicio, fim);
+                List<String> equipamentosNormalizados = equipamentos == null ? List.of()
+                                : equipamentos.stream()
+                                                .filter(e -> e != null && !e.isBlank())
+                                                .map(e -> e.trim().toLowerCase())
+                                                .distinct()
+                                                .collect(Collectors.toList());
+
+                List<Sala> salas = repository.findReservaveis(
+                                capacidadeMinima,
+                                normalizar(categoria),
+                                normalizar(andar),
+                                equipamentosNormalizados.isEmpty() ? List.of("") : equipamentosNormalizados,
+                                equipamentosNormalizados.size());
+
+                Map<Long, List<OcupacaoSalaDTO>> ocupacoes = getOcupacoesNoPeriodo(inicio, fim);
+
+                List<SalaDisponibilidadeDTO> resultado = new ArrayList<>();
+                for (Sala sala : salas) {
+                        List<OcupacaoSalaDTO> daSala = ocupacoes.getOrDefault(sala.getId(), List.of());
+                        List<IntervaloDTO> livres = calcularIntervalosLivres(daSala, inicio, fim);
+                        if (duracaoMinima != null && livres.stream().noneMatch(
+                                        i -> Duration.between(i.getInicio(), i.getFim()).toMinutes() >= duracaoMinima)) {
+                                continue;
+                        }
+                        resultado.add(new SalaDisponibilidadeDTO(mapper.toDTO(sala), daSala.isEmpty(), livres));
+                }
+                return resultado;
+        }
+
+        /**
+         * Reuniões ativas da sala em [inicio, fim), ordenadas por início
+         */
+        public List<OcupacaoSalaDTO> getOcupacoes(Long salaId, LocalDateTime inicio, LocalDateTime fim) {
+                if (ocupacaoIndex.isPronto()) {
+                        return ocupacaoIndex.ocupacoes(salaId, inicio, fim);
+                }
+                return reuniaoRepository.findOcupacoesSala(salaId, inicio, fim, SalaOcupacaoIndex.STATUS_OCUPANTES);
+        }
+
+        /**
+         * Reuniões ativas de todas as salas em [inicio, fim), agrupadas por sala
+         */
+        public Map<Long, List<OcupacaoSalaDTO>> getOcupacoesNoPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+                if (ocupacaoIndex.isPronto()) {
+                        return ocupacaoIndex.ocupacoesNoPeriodo(inicio, fim);
+                }
+                return reuniaoRepository.findOcupacoesNoPeriodo(inicio, fim, SalaOcupacaoIndex.STATUS_OCUPANTES)
                                 .stream()
-                                .filter(r -> r.getSala() != null && r.getSala().getId().equals(salaId))
-                                .filter(r -> {
-                                        LocalDateTime inicioReuniao = r.getDataHoraInicio();
-                                        return !inicioReuniao.toLocalDate().isBefore(dataSolicitada) &&
-                                                        !inicioReuniao.toLocalDate().isAfter(dataSolicitada);
-                                })
-                                .collect(Collectors.toList());
-
-                List<Reuniao> reunioesEmProgresso = reuniaoRepository
-                                .findByStatus(com.smartmeeting.enums.StatusReuniao.EM_ANDAMENTO).stream()
-                                .filter(r -> r.getSala() != null && r.getSala().getId().equals(salaId))
-                                .collect(Collectors.toList());
-
-                boolean disponivel = reunioesDoDia.isEmpty() && reunioesEmProgresso.isEmpty();
-
-                return Map.of(
-                                "disponivel", disponivel,
-                                "sala", mapper.toDTO(sala),
-                                "dataSolicitada", dataSolicitada,
-                                "reunioesAgendadas", reunioesDoDia.size(),
-                                "reunioesEmProgresso", reunioesEmProgresso.size(),
-                                "statusAtual", sala.getStatus(),
-                                "horariosDisponiveis", disponivel ? "Todo o dia" : "Parcialmente ocupado",
-                                "detalhesReunioes", reunioesDoDia.stream()
-                                                .map(r -> Map.of(
-                                                                "id", r.getId(),
-                                                                "inicio", r.getDataHoraInicio(),
-                                                                "fim",
-                                                                r.getDataHoraInicio()
-                                                                                .plusMinutes(r.getDuracaoMinutos()),
-                                                                "pauta", r.getPauta(),
-                                                                "organizador",
-                                                                r.getOrganizador() != null
-                                                                                ? r.getOrganizador().getNome()
-                                                                                : "N/A"))
-                                                .collect(Collectors.toList()));
+                                .collect(Collectors.groupingBy(OcupacaoSalaDTO::getSalaId));
+        }
+
+        /**
+         * Complemento das ocupações (ordenadas por início) dentro de [inicio, fim)
+         */
+        public static List<IntervaloDTO> calcularIntervalosLivres(List<OcupacaoSalaDTO> ocupacoes,
+                        LocalDateTime inicio, LocalDateTime fim) {
+                List<IntervaloDTO> livres = new ArrayList<>();
+                LocalDateTime cursor = inicio;
+                for (OcupacaoSalaDTO o : ocupacoes) {
+                        if (o.getInicio().isAfter(cursor)) {
+                                livres.add(new IntervaloDTO(cursor, o.getInicio().isBefore(fim) ? o.getInicio() : fim));
+                        }
+                        if (o.getFim().isAfter(cursor)) {
+                                cursor = o.getFim();
+                        }
+                        if (!cursor.isBefore(fim)) {
+                                return livres;
+                        }
+                }
+                if (cursor.isBefore(fim)) {
+                        livres.add(new IntervaloDTO(cursor, fim));
+                }
+                return livres;
+        }
+
+        private static String normalizar(String valor) {
+                return valor == null || valor.isBlank() ? null : valor.trim().toLowerCase();
+        }
+
+        private static long contarPorStatus(List<OcupacaoSalaDTO> ocupacoes, StatusReuniao status) {
+                return ocupacoes.stream().filter(o -> o.getStatus() == status).count();
+        }
+
+        private static LocalDate parseData(String data) {
+                try {
+                        return LocalDate.parse(data, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                } catch (DateTimeParseException e) {
+                        throw new BadRequestException("Data inválida, use o formato yyyy-MM-dd: " + data);
+                }
+        }
+
+        static void validarJanela(LocalDateTime inicio, LocalDateTime fim) {
+                if (inicio == null || fim == null || !fim.isAfter(inicio)) {
+                        throw new BadRequestException("O fim do período deve ser posterior ao início");
+                }
         }
 }
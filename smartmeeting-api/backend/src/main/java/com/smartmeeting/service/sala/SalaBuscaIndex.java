@@ -0,0 +1,315 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.dto.SalaCatalogoDTO;
+import com.smartmeeting.repository.SalaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de busca textual de salas, em memória.
+ * <p>
+ * O texto de cada sala (nome, localização, categoria, andar e equipamentos) é normalizado
+ * sem acentos e sem caixa e quebrado em termos. Cada termo entra no índice pelos seus
+ * trigramas e pelos prefixos de 1 e 2 letras. Uma busca pega a menor lista de candidatos
+ * entre os gramas dos termos consultados e confirma cada candidato contra o texto
+ * normalizado; capacidade e equipamentos são filtros sobre esse mesmo candidato.
+ * <p>
+ * Carregado no startup (ou na primeira busca) e atualizado sala a sala via
+ * {@link SalaCatalogoService#invalidar(Long)}, que só vê as alterações desta instância;
+ * por isso o índice também é recarregado por agendamento em cada instância. A recarga
+ * monta um índice novo fora do lock e o troca pelo atual; salas reindexadas durante a
+ * consulta são relidas no índice novo antes da troca.
+ */
+@Component
+public class SalaBuscaIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaBuscaIndex.class);
+
+    private static final int TAM_GRAMA = 3;
+    private static final String MARCA_PREFIXO = "^";
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Comparator<SalaCatalogoDTO> POR_NOME = Comparator
+            .comparing((SalaCatalogoDTO s) -> s.getNome() != null ? s.getNome() : "", String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SalaCatalogoDTO::getId);
+
+    private final SalaRepository repository;
+
+    // lock: reindexação de uma sala (curta); recarga: uma recarga por vez
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock recarga = new ReentrantLock();
+    private volatile Indice atual = new Indice();
+    private volatile boolean pronto = false;
+
+    // Salas reindexadas durante a recarga; só acessado sob o lock
+    private Set<Long> pendentes;
+
+    public SalaBuscaIndex(SalaRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        carregar();
+    }
+
+    @Scheduled(cron = "${app.salas.busca.recarga-cron:0 */15 * * * *}")
+    public void carregar() {
+        recarga.lock();
+        try {
+            recarregar();
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private void recarregar() {
+        lock.lock();
+        try {
+            pendentes = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+
+        Indice novo = new Indice();
+        try {
+            repository.findCatalogo().stream().map(SalaCatalogoDTO::de).forEach(novo::indexar);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendentes = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            pendentes.forEach(id -> reler(novo, id));
+            pendentes = null;
+            atual = novo;
+            pronto = true;
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Índice de busca de salas carregado: {} salas, {} gramas",
+                novo.documentos.size(), novo.porGrama.size());
+    }
+
+    /**
+     * Relê a sala do banco e substitui a entrada dela; sala removida sai do índice
+     */
+    public void reindexar(Long salaId) {
+        if (salaId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (pronto) {
+                reler(atual, salaId);
+            }
+            if (pendentes != null) {
+                pendentes.add(salaId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Salas cujo texto contém todos os termos (sem acento/caixa; termos de até 2 letras
+     * casam com o início de uma palavra), com capacidade mínima e todos os equipamentos
+     * informados. Resultado ordenado por nome.
+     */
+    public List<SalaCatalogoDTO> buscar(String texto, Integer capacidadeMinima, Collection<String> equipamentos) {
+        if (!pronto) {
+            carregar();
+        }
+        String[] termos = termos(texto);
+        Set<String> equipamentosExigidos = new HashSet<>();
+        if (equipamentos != null) {
+            for (String e : equipamentos) {
+                String n = normalizar(e).trim();
+                if (!n.isEmpty()) {
+                    equipamentosExigidos.add(n);
+                }
+            }
+        }
+
+        Indice indice = atual;
+        Collection<Long> candidatos = termos.length == 0 ? indice.documentos.keySet() : indice.menorPostagem(termos);
+
+        // Termos curtos só casam com início de palavra
+        String[] padroes = new String[termos.length];
+        for (int i = 0; i < termos.length; i++) {
+            padroes[i] = termos[i].length() < TAM_GRAMA ? " " + termos[i] : termos[i];
+        }
+
+        List<SalaCatalogoDTO> resultado = new ArrayList<>();
+        for (Long id : candidatos) {
+            Documento doc = indice.documentos.get(id);
+            if (doc != null && doc.atende(padroes, capacidadeMinima, equipamentosExigidos)) {
+                resultado.add(doc.sala);
+            }
+        }
+        resultado.sort(POR_NOME);
+        return resultado;
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    private void reler(Indice indice, Long salaId) {
+        indice.remover(salaId);
+        repository.findComEquipamentosById(salaId).map(SalaCatalogoDTO::de).ifPresent(indice::indexar);
+    }
+
+    static String normalizar(String valor) {
+        if (valor == null || valor.isEmpty()) {
+            return "";
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] termos(String texto) {
+        String normalizado = SEPARADORES.matcher(normalizar(texto)).replaceAll(" ").trim();
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    /**
+     * Gramas e documentos de uma carga; as leituras são concorrentes e as escritas acontecem
+     * sob o lock (ou antes da publicação, na recarga)
+     */
+    private static final class Indice {
+
+        private final Map<String, Set<Long>> porGrama = new ConcurrentHashMap<>();
+        private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+
+        Collection<Long> menorPostagem(String[] termos) {
+            Set<Long> menor = null;
+            for (String termo : termos) {
+                if (termo.length() < TAM_GRAMA) {
+                    Set<Long> lista = porGrama.get(MARCA_PREFIXO + termo);
+                    if (lista == null) {
+                        return Set.of();
+                    }
+                    if (menor == null || lista.size() < menor.size()) {
+                        menor = lista;
+                    }
+                    continue;
+                }
+                for (int i = 0; i + TAM_GRAMA <= termo.length(); i++) {
+                    Set<Long> lista = porGrama.get(termo.substring(i, i + TAM_GRAMA));
+                    if (lista == null) {
+                        return Set.of();
+                    }
+                    if (menor == null || lista.size() < menor.size()) {
+                        menor = lista;
+                    }
+                }
+            }
+            return menor != null ? menor : Set.of();
+        }
+
+        void indexar(SalaCatalogoDTO sala) {
+            StringBuilder texto = new StringBuilder(" ");
+            for (String campo : new String[] { sala.getNome(), sala.getLocalizacao(), sala.getCategoria(), sala.getAndar() }) {
+                texto.append(normalizar(campo)).append(' ');
+            }
+            Set<String> equipamentos = new HashSet<>();
+            for (String e : sala.getEquipamentos()) {
+                String n = normalizar(e).trim();
+                equipamentos.add(n);
+                texto.append(n).append(' ');
+            }
+            String normalizado = SEPARADORES.matcher(texto).replaceAll(" ");
+
+            Set<String> gramas = new HashSet<>();
+            for (String termo : normalizado.trim().split(" ")) {
+                if (termo.isEmpty()) {
+                    continue;
+                }
+                gramas.add(MARCA_PREFIXO + termo.charAt(0));
+                if (termo.length() > 1) {
+                    gramas.add(MARCA_PREFIXO + termo.substring(0, 2));
+                }
+                for (int i = 0; i + TAM_GRAMA <= termo.length(); i++) {
+                    gramas.add(termo.substring(i, i + TAM_GRAMA));
+                }
+            }
+
+            documentos.put(sala.getId(), new Documento(sala, normalizado, equipamentos, gramas));
+            for (String g : gramas) {
+                porGrama.computeIfAbsent(g, k -> ConcurrentHashMap.newKeySet()).add(sala.getId());
+            }
+        }
+
+        void remover(Long salaId) {
+            Documento anterior = documentos.remove(salaId);
+            if (anterior == null) {
+                return;
+            }
+            for (String g : anterior.gramas) {
+                Set<Long> lista = porGrama.get(g);
+                if (lista != null) {
+                    lista.remove(salaId);
+                    if (lista.isEmpty()) {
+                        porGrama.remove(g, lista);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Documento {
+        private final SalaCatalogoDTO sala;
+        /** Termos separados por espaço, com espaço nas pontas */
+        private final String texto;
+        private final Set<String> equipamentos;
+        private final Set<String> gramas;
+
+        private Documento(SalaCatalogoDTO sala, String texto, Set<String> equipamentos, Set<String> gramas) {
+            this.sala = sala;
+            this.texto = texto;
+            this.equipamentos = equipamentos;
+            this.gramas = gramas;
+        }
+
+        private boolean atende(String[] padroes, Integer capacidadeMinima, Set<String> equipamentosExigidos) {
+            if (capacidadeMinima != null
+                    && (sala.getCapacidade() == null || sala.getCapacidade() < capacidadeMinima)) {
+                return false;
+            }
+            if (!equipamentos.containsAll(equipamentosExigidos)) {
+                return false;
+            }
+            for (String padrao : padroes) {
+                if (!texto.contains(padrao)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
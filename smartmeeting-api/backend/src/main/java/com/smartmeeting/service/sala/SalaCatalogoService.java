@@ -0,0 +1,57 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.dto.SalaCatalogoDTO;
+import com.smartmeeting.repository.SalaRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Catálogo de salas em cache ("salas", com limite de tamanho no {@code CacheConfig}).
+ * Guarda apenas {@link SalaCatalogoDTO} imutáveis: nada de entidades destacadas nem
+ * reuniões carregadas. Quem altera salas chama {@link #invalidar(Long)} depois de salvar.
+ */
+@Service
+public class SalaCatalogoService {
+
+    static final String CHAVE_TODAS = "'todas'";
+
+    private final SalaRepository repository;
+    private final SalaBuscaIndex buscaIndex;
+
+    public SalaCatalogoService(SalaRepository repository, SalaBuscaIndex buscaIndex) {
+        this.repository = repository;
+        this.buscaIndex = buscaIndex;
+    }
+
+    @Cacheable(value = "salas", key = CHAVE_TODAS)
+    @Transactional(readOnly = true)
+    public List<SalaCatalogoDTO> listar() {
+        return repository.findCatalogo().stream().map(SalaCatalogoDTO::de).toList();
+    }
+
+    /**
+     * Sala inexistente não é cacheada (Optional vazio)
+     */
+    @Cacheable(value = "salas", key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<SalaCatalogoDTO> buscar(Long id) {
+        return repository.findComEquipamentosById(id).map(SalaCatalogoDTO::de);
+    }
+
+    /**
+     * Remove a sala e a lista completa do cache e reindexa a sala na busca textual
+     */
+    @Caching(evict = {
+            @CacheEvict(value = "salas", key = "#id"),
+            @CacheEvict(value = "salas", key = CHAVE_TODAS)
+    })
+    public void invalidar(Long id) {
+        buscaIndex.reindexar(id);
+    }
+}
@@ -21,13 +21,19 @@ public class SalaCrudService {
     private final SalaRepository repository;
     private final ReuniaoRepository reuniaoRepository;
     private final SalaMapper mapper;
+    private final SalaOcupacaoAtual ocupacaoAtual;
+    private final SalaCatalogoService catalogo;
 
     public SalaCrudService(SalaRepository repository,
             ReuniaoRepository reuniaoRepository,
-            SalaMapper mapper) {
+            SalaMapper mapper,
+            SalaOcupacaoAtual ocupacaoAtual,
+            SalaCatalogoService catalogo) {
         this.repository = repository;
         this.reuniaoRepository = reuniaoRepository;
         this.mapper = mapper;
+        this.ocupacaoAtual = ocupacaoAtual;
+        this.catalogo = catalogo;
     }
 
     public SalaDTO toDTO(Sala sala) {
@@ -39,17 +45,19 @@ public class SalaCrudService {
     }
 
     public List<SalaDTO> listarTodas() {
-        return repository.findAll().stream().map(mapper::toDTO).collect(Collectors.toList());
+        return catalogo.listar().stream().map(mapper::toDTO).collect(Collectors.toList());
     }
 
     public SalaDTO buscarPorId(Long id) {
-        return repository.findById(id).map(mapper::toDTO)
+        return catalogo.buscar(id).map(mapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Sala não encontrada com ID: " + id));
     }
 
     public SalaDTO criar(SalaDTO dto) {
         Sala sala = mapper.toEntity(dto);
         Sala salvo = repository.save(sala);
+        ocupacaoAtual.invalidar();
+        catalogo.invalidar(salvo.getId());
         return mapper.toDTO(salvo);
     }
 
@@ -74,6 +82,8 @@ public class SalaCrudService {
             sala.setObservacoes(dtoAtualizada.getObservacoes());
 
         Sala atualizado = repository.save(sala);
+        ocupacaoAtual.invalidar();
+        catalogo.invalidar(id);
         return mapper.toDTO(atualizado);
     }
 
@@ -93,5 +103,7 @@ public class SalaCrudService {
         }
 
         repository.deleteById(id);
+        ocupacaoAtual.invalidar();
+        catalogo.invalidar(id);
     }
 }
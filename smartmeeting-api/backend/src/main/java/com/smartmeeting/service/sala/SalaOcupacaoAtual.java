@@ -0,0 +1,138 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.enums.SalaStatus;
+import com.smartmeeting.evento.ReuniaoAlteradaEvent;
+import com.smartmeeting.model.Sala;
+import com.smartmeeting.repository.SalaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Status de ocupação das salas derivado da agenda, em vez das flags gravadas em SALA.
+ * <ul>
+ * <li>MANUTENCAO: único status administrativo, lido de STATUS_SALA;</li>
+ * <li>OCUPADA: há reunião ativa acontecendo agora;</li>
+ * <li>RESERVADA: há reunião ativa começando ainda hoje;</li>
+ * <li>LIVRE: nenhum dos anteriores.</li>
+ * </ul>
+ * O status de uma sala é calculado na hora pelo {@link SalaOcupacaoIndex}. As contagens
+ * por status ficam num retrato recalculado pelo tick agendado, ou na próxima leitura
+ * depois que uma reunião/sala muda ou o retrato passa da validade.
+ */
+@Component
+public class SalaOcupacaoAtual {
+
+    private final SalaRepository repository;
+    private final SalaOcupacaoIndex ocupacaoIndex;
+    private final long validadeMs;
+
+    /** Serializa o recálculo (que lê o banco) sem fixar virtual threads na carrier */
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<SalaStatus, Long> contagens = new EnumMap<>(SalaStatus.class);
+    private volatile long atualizadoEm = 0L;
+
+    public SalaOcupacaoAtual(SalaRepository repository,
+                             SalaOcupacaoIndex ocupacaoIndex,
+                             @Value("${app.salas.status.tick-ms:60000}") long validadeMs) {
+        this.repository = repository;
+        this.ocupacaoIndex = ocupacaoIndex;
+        this.validadeMs = validadeMs;
+    }
+
+    /**
+     * Status efetivo da sala neste instante
+     */
+    public SalaStatus getStatus(Sala sala) {
+        return getStatus(sala.getId(), sala.getStatus());
+    }
+
+    /**
+     * Status efetivo a partir do id e do status gravado (entradas do catálogo)
+     */
+    public SalaStatus getStatus(Long salaId, SalaStatus statusGravado) {
+        if (statusGravado == SalaStatus.MANUTENCAO || !ocupacaoIndex.isPronto()) {
+            return statusGravado;
+        }
+        return derivar(salaId, LocalDateTime.now());
+    }
+
+    /**
+     * Quantidade de salas por status efetivo
+     */
+    public Map<SalaStatus, Long> getContagens() {
+        if (System.currentTimeMillis() - atualizadoEm > validadeMs) {
+            atualizar();
+        }
+        return contagens;
+    }
+
+    public long contar(SalaStatus status) {
+        return getContagens().getOrDefault(status, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.salas.status.tick-ms:60000}")
+    public void atualizar() {
+        lock.lock();
+        try {
+            if (!ocupacaoIndex.isPronto()) {
+                // Ainda no startup: usa o status gravado, sem guardar o retrato
+                Map<SalaStatus, Long> gravadas = new EnumMap<>(SalaStatus.class);
+                for (SalaStatus s : SalaStatus.values()) {
+                    gravadas.put(s, repository.countByStatus(s));
+                }
+                contagens = gravadas;
+                return;
+            }
+            Set<Long> emManutencao = new HashSet<>(repository.findIdsByStatus(SalaStatus.MANUTENCAO));
+            List<Long> salas = repository.findAllIds();
+            LocalDateTime agora = LocalDateTime.now();
+
+            Map<SalaStatus, Long> novas = new EnumMap<>(SalaStatus.class);
+            for (SalaStatus s : SalaStatus.values()) {
+                novas.put(s, 0L);
+            }
+            for (Long salaId : salas) {
+                SalaStatus status = emManutencao.contains(salaId) ? SalaStatus.MANUTENCAO : derivar(salaId, agora);
+                novas.merge(status, 1L, Long::sum);
+            }
+            contagens = novas;
+            atualizadoEm = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca o retrato como desatualizado; o recálculo fica para a próxima leitura
+     */
+    public void invalidar() {
+        atualizadoEm = 0L;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReuniao(ReuniaoAlteradaEvent event) {
+        invalidar();
+    }
+
+    private SalaStatus derivar(Long salaId, LocalDateTime agora) {
+        if (!ocupacaoIndex.ocupacoes(salaId, agora, agora.plusSeconds(1)).isEmpty()) {
+            return SalaStatus.OCUPADA;
+        }
+        LocalDateTime fimDoDia = LocalDate.from(agora).plusDays(1).atStartOfDay();
+        if (!ocupacaoIndex.ocupacoes(salaId, agora, fimDoDia).isEmpty()) {
+            return SalaStatus.RESERVADA;
+        }
+        return SalaStatus.LIVRE;
+    }
+}
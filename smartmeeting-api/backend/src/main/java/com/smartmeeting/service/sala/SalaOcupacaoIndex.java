@@ -0,0 +1,237 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.evento.ReuniaoAlteradaEvent;
+import com.smartmeeting.model.Reuniao;
+import com.smartmeeting.repository.ReuniaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória da ocupação das salas.
+ * <p>
+ * Por sala, as reuniões ativas ficam ordenadas por início; junto guardamos a maior
+ * duração já vista na sala. Uma busca por [inicio, fim) só precisa percorrer as
+ * reuniões que começam entre (inicio - maiorDuracao) e fim, sem ir ao banco.
+ * O índice é carregado no startup e mantido via {@link ReuniaoAlteradaEvent} após o commit;
+ * antes de carregado, {@link #isPronto()} é falso e os chamadores consultam o banco.
+ * Os eventos só cobrem as gravações desta instância, então cada instância também recarrega
+ * o índice por agendamento.
+ * <p>
+ * A carga monta um índice novo fora do lock; os eventos que chegam durante a consulta são
+ * guardados e, sob o lock, reaplicados ao índice novo antes de ele substituir o atual.
+ * Reaplicar um evento que a consulta já viu não muda nada (remove e indexa a mesma reunião).
+ */
+@Component
+public class SalaOcupacaoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaOcupacaoIndex.class);
+
+    /** Status de reunião que ocupam a sala */
+    public static final Set<StatusReuniao> STATUS_OCUPANTES =
+            EnumSet.of(StatusReuniao.AGENDADA, StatusReuniao.EM_ANDAMENTO);
+
+    private static final Comparator<OcupacaoSalaDTO> POR_INICIO = Comparator
+            .comparing(OcupacaoSalaDTO::getInicio)
+            .thenComparing(OcupacaoSalaDTO::getReuniaoId);
+
+    private final ReuniaoRepository reuniaoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // lock: aplicação de eventos (curta); recarga: uma recarga por vez
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock recarga = new ReentrantLock();
+    private volatile Ocupacoes atual = new Ocupacoes();
+    private volatile boolean pronto = false;
+
+    // Eventos recebidos durante a carga; só acessado sob o lock
+    private List<ReuniaoAlteradaEvent> pendentes;
+
+    public SalaOcupacaoIndex(ReuniaoRepository reuniaoRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.reuniaoRepository = reuniaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        // Reuniões gravadas antes de DATAHORAFIM_REUNIAO existir
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Reuniao> semFim = reuniaoRepository.findSemDataHoraFim();
+            if (!semFim.isEmpty()) {
+                semFim.forEach(Reuniao::sincronizarDataHoraFim);
+                logger.info("DATAHORAFIM_REUNIAO preenchido em {} reuniões", semFim.size());
+            }
+        });
+        carregar();
+    }
+
+    @Scheduled(cron = "${app.salas.ocupacao.recarga-cron:0 */5 * * * *}")
+    public void carregar() {
+        recarga.lock();
+        try {
+            recarregar();
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private void recarregar() {
+        lock.lock();
+        try {
+            pendentes = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        Ocupacoes novas = new Ocupacoes();
+        List<OcupacaoSalaDTO> ativas;
+        try {
+            ativas = reuniaoRepository.findOcupacoesPorStatus(STATUS_OCUPANTES);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendentes = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        ativas.forEach(novas::indexar);
+
+        lock.lock();
+        try {
+            pendentes.forEach(novas::aplicar);
+            pendentes = null;
+            atual = novas;
+            pronto = true;
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Índice de ocupação de salas carregado: {} reuniões ativas", ativas.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarReuniao(ReuniaoAlteradaEvent event) {
+        lock.lock();
+        try {
+            atual.aplicar(event);
+            if (pendentes != null) {
+                pendentes.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * Reuniões ativas da sala que cruzam [inicio, fim), ordenadas por início
+     */
+    public List<OcupacaoSalaDTO> ocupacoes(Long salaId, LocalDateTime inicio, LocalDateTime fim) {
+        return atual.ocupacoes(salaId, inicio, fim);
+    }
+
+    /**
+     * Ocupações de todas as salas indexadas que cruzam [inicio, fim)
+     */
+    public Map<Long, List<OcupacaoSalaDTO>> ocupacoesNoPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        Ocupacoes ocupacoes = atual;
+        Map<Long, List<OcupacaoSalaDTO>> resultado = new HashMap<>();
+        for (Long salaId : ocupacoes.porSala.keySet()) {
+            List<OcupacaoSalaDTO> lista = ocupacoes.ocupacoes(salaId, inicio, fim);
+            if (!lista.isEmpty()) {
+                resultado.put(salaId, lista);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Estrutura do índice; as leituras são concorrentes e as escritas acontecem sob o lock
+     * (ou antes da publicação, na carga)
+     */
+    private static final class Ocupacoes {
+
+        private final Map<Long, NavigableSet<OcupacaoSalaDTO>> porSala = new ConcurrentHashMap<>();
+        private final Map<Long, OcupacaoSalaDTO> porReuniao = new ConcurrentHashMap<>();
+        private final Map<Long, Long> maiorDuracaoPorSala = new ConcurrentHashMap<>();
+
+        List<OcupacaoSalaDTO> ocupacoes(Long salaId, LocalDateTime inicio, LocalDateTime fim) {
+            NavigableSet<OcupacaoSalaDTO> reunioes = porSala.get(salaId);
+            List<OcupacaoSalaDTO> resultado = new ArrayList<>();
+            if (reunioes == null) {
+                return resultado;
+            }
+            long maiorDuracao = maiorDuracaoPorSala.getOrDefault(salaId, 0L);
+            OcupacaoSalaDTO de = sonda(inicio.minusMinutes(maiorDuracao), Long.MIN_VALUE);
+            OcupacaoSalaDTO ate = sonda(fim, Long.MIN_VALUE);
+            for (OcupacaoSalaDTO o : reunioes.subSet(de, true, ate, false)) {
+                if (o.getFim().isAfter(inicio)) {
+                    resultado.add(o);
+                }
+            }
+            return resultado;
+        }
+
+        void aplicar(ReuniaoAlteradaEvent event) {
+            remover(event.getReuniaoId());
+            if (event.getTipo() != ReuniaoAlteradaEvent.Tipo.REMOVIDA) {
+                indexar(event.getOcupacao());
+            }
+        }
+
+        void indexar(OcupacaoSalaDTO o) {
+            if (o.getSalaId() == null || o.getInicio() == null || o.getFim() == null
+                    || !STATUS_OCUPANTES.contains(o.getStatus())) {
+                return;
+            }
+            porSala.computeIfAbsent(o.getSalaId(), id -> new ConcurrentSkipListSet<>(POR_INICIO)).add(o);
+            porReuniao.put(o.getReuniaoId(), o);
+            long duracao = Duration.between(o.getInicio(), o.getFim()).toMinutes();
+            maiorDuracaoPorSala.merge(o.getSalaId(), duracao, Math::max);
+        }
+
+        private void remover(Long reuniaoId) {
+            OcupacaoSalaDTO anterior = porReuniao.remove(reuniaoId);
+            if (anterior != null) {
+                NavigableSet<OcupacaoSalaDTO> reunioes = porSala.get(anterior.getSalaId());
+                if (reunioes != null) {
+                    reunioes.remove(anterior);
+                }
+            }
+        }
+    }
+
+    private static OcupacaoSalaDTO sonda(LocalDateTime instante, Long reuniaoId) {
+        OcupacaoSalaDTO o = new OcupacaoSalaDTO();
+        o.setInicio(instante);
+        o.setReuniaoId(reuniaoId);
+        return o;
+    }
+}
@@ -1,6 +1,9 @@
 package com.smartmeeting.service.sala;
 
+import com.smartmeeting.enums.SalaStatus;
 import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.exception.BadRequestException;
+import com.smartmeeting.exception.ConflictException;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.model.Pessoa;
 import com.smartmeeting.model.Reuniao;
@@ -10,9 +13,12 @@ import com.smartmeeting.repository.ReuniaoRepository;
 import com.smartmeeting.repository.SalaRepository;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 /**
  * Reserva e cancelamento de reservas.
@@ -20,6 +26,8 @@ import java.time.LocalDateTime;
 @Service
 public class SalaReservationService {
 
+    private static final int DURACAO_PADRAO_MINUTOS = 60;
+
     private final SalaRepository repository;
     private final ReuniaoRepository reuniaoRepository;
     private final PessoaRepository pessoaRepository;
@@ -32,36 +40,88 @@ public class SalaReservationService {
         this.pessoaRepository = pessoaRepository;
     }
 
+    /**
+     * Reserva a sala em [inicio, fim). O lock pessimista na linha da sala serializa
+     * reservas concorrentes da mesma sala; sob o lock, a checagem de sobreposição
+     * vai ao banco (e não ao índice em memória, atualizado só após o commit).
+     * Ver {@link #travarHorario}.
+     *
+     * @return ID da reunião criada para a reserva
+     */
     @Transactional
-    public void reservarSala(Long id, String inicio, String fim) {
-        Sala sala = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Sala não encontrada com ID: " + id));
+    public Long reservarSala(Long id, String inicio, String fim, String motivo) {
+        LocalDateTime dataInicio = parseDataHora(inicio, "inicio");
+        LocalDateTime dataFim = fim != null && !fim.isBlank()
+                ? parseDataHora(fim, "fim")
+                : dataInicio.plusMinutes(DURACAO_PADRAO_MINUTOS);
+        if (!dataFim.isAfter(dataInicio)) {
+            throw new BadRequestException("O fim da reserva deve ser posterior ao início");
+        }
 
         String emailOrganizador = SecurityContextHolder.getContext().getAuthentication().getName();
         Pessoa organizador = pessoaRepository.findByEmail(emailOrganizador)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Organizador não encontrado com o email: " + emailOrganizador));
 
+        Sala sala = travarHorario(id, dataInicio, dataFim, null);
+        if (sala.getStatus() == SalaStatus.MANUTENCAO) {
+            throw new ConflictException("Sala em manutenção: " + sala.getNome());
+        }
+
         Reuniao reuniao = new Reuniao();
+        reuniao.setTitulo("Reserva - " + sala.getNome());
         reuniao.setSala(sala);
         reuniao.setOrganizador(organizador);
-        reuniao.setDataHoraInicio(LocalDateTime.parse(inicio));
-        reuniao.setDuracaoMinutos(60);
-        reuniao.setPauta("Reserva de sala");
+        reuniao.setDataHoraInicio(dataInicio);
+        reuniao.setDuracaoMinutos((int) Duration.between(dataInicio, dataFim).toMinutes());
+        reuniao.setPauta(motivo != null && !motivo.isBlank() ? motivo : "Reserva de sala");
         reuniao.setStatus(StatusReuniao.AGENDADA);
         reuniao.setAta("");
 
-        reuniaoRepository.save(reuniao);
+        return reuniaoRepository.save(reuniao).getId();
+    }
 
-        sala.setStatus(com.smartmeeting.enums.SalaStatus.RESERVADA);
-        repository.save(sala);
+    /**
+     * Trava a linha da sala até o fim da transação corrente e recusa o horário se outra
+     * reunião ativa já ocupa [inicio, fim). Toda gravação que põe uma reunião numa sala
+     * ou muda o horário dela passa por aqui, para que reservas e edições de reunião
+     * concorrentes sejam serializadas pela mesma linha.
+     *
+     * @param ignorarReuniaoId reunião sendo alterada (não conflita consigo mesma), ou null
+     * @return a sala travada
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Sala travarHorario(Long salaId, LocalDateTime inicio, LocalDateTime fim, Long ignorarReuniaoId) {
+        Sala sala = repository.findByIdParaReserva(salaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sala não encontrada com ID: " + salaId));
+
+        reuniaoRepository.findOcupacoesSala(salaId, inicio, fim, SalaOcupacaoIndex.STATUS_OCUPANTES).stream()
+                .filter(c -> !c.getReuniaoId().equals(ignorarReuniaoId))
+                .findFirst()
+                .ifPresent(c -> {
+                    throw new ConflictException(String.format(
+                            "Sala já reservada de %s até %s (reunião %d)", c.getInicio(), c.getFim(), c.getReuniaoId()));
+                });
+        return sala;
     }
 
+    private static LocalDateTime parseDataHora(String valor, String campo) {
+        if (valor == null || valor.isBlank()) {
+            throw new BadRequestException("Campo obrigatório: " + campo);
+        }
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data/hora inválida em '" + campo + "': " + valor);
+        }
+    }
+
+    /**
+     * Cancela a reserva. O status da sala é derivado da agenda
+     * ({@link SalaOcupacaoAtual}), então não há varredura nem escrita em SALA.
+     */
     @Transactional
     public void cancelarReservaSala(Long salaId, Long reservaId) {
-        Sala sala = repository.findById(salaId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sala não encontrada com ID: " + salaId));
-
         Reuniao reserva = reuniaoRepository.findById(reservaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reserva não encontrada com ID: " + reservaId));
 
@@ -71,16 +131,5 @@ public class SalaReservationService {
 
         reserva.setStatus(StatusReuniao.CANCELADA);
         reuniaoRepository.save(reserva);
-
-        boolean temOutras = reuniaoRepository.findByStatus(StatusReuniao.AGENDADA).stream()
-                .filter(r -> r.getSala() != null && r.getSala().getId().equals(salaId))
-                .filter(r -> r.getDataHoraInicio().isAfter(LocalDateTime.now()))
-                .findAny().isPresent();
-
-        if (!temOutras) {
-            sala.setStatus(com.smartmeeting.enums.SalaStatus.LIVRE);
-            repository.save(sala);
-        }
-
     }
 }
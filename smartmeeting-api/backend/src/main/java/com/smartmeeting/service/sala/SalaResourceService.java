@@ -7,27 +7,40 @@ import com.smartmeeting.model.Sala;
 import com.smartmeeting.repository.SalaRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
- * Atualizações relacionadas a recursos da sala (placeholder).
+ * Atualizações relacionadas a recursos (equipamentos) da sala.
  */
 @Service
 public class SalaResourceService {
 
     private final SalaRepository repository;
     private final SalaMapper mapper;
+    private final SalaCatalogoService catalogo;
 
-    public SalaResourceService(SalaRepository repository, SalaMapper mapper) {
+    public SalaResourceService(SalaRepository repository, SalaMapper mapper, SalaCatalogoService catalogo) {
         this.repository = repository;
         this.mapper = mapper;
+        this.catalogo = catalogo;
     }
 
     public SalaDTO updateRecursos(Long salaId, List<String> recursos) {
         Sala sala = repository.findById(salaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sala não encontrada com ID: " + salaId));
 
-        // Por enquanto não altera a entidade (como no original). Retorna DTO atual.
-        return mapper.toDTO(sala);
+        if (recursos == null) {
+            return mapper.toDTO(sala);
+        }
+
+        sala.setEquipamentos(recursos.stream()
+                .filter(r -> r != null && !r.isBlank())
+                .map(String::trim)
+                .collect(Collectors.toCollection(HashSet::new)));
+        Sala salva = repository.save(sala);
+        catalogo.invalidar(salaId);
+        return mapper.toDTO(salva);
     }
 }
@@ -1,6 +1,7 @@
 package com.smartmeeting.service.sala;
 
 import com.smartmeeting.dto.SalaDTO;
+import com.smartmeeting.dto.SalaDisponibilidadeDTO;
 import com.smartmeeting.dto.SalaStatisticsDTO;
 
 import org.springframework.stereotype.Service;
@@ -82,15 +83,28 @@ public class SalaService {
         return statisticsService.getSalaStatistics();
     }
 
+    public SalaStatisticsDTO getSalaStatistics(java.time.LocalDate inicio, java.time.LocalDate fim) {
+        return statisticsService.getSalaStatistics(inicio, fim);
+    }
+
     // Reserva / disponibilidade
-    public void reservarSala(Long id, String inicio, String fim) {
-        reservationService.reservarSala(id, inicio, fim);
+    public Long reservarSala(Long id, String inicio, String fim, String motivo) {
+        return reservationService.reservarSala(id, inicio, fim, motivo);
     }
 
     public Map<String, Object> getDisponibilidadeSala(Long salaId, String data) {
         return availabilityService.getDisponibilidadeSala(salaId, data);
     }
 
+    public List<SalaDisponibilidadeDTO> buscarDisponibilidade(java.time.LocalDateTime inicio,
+                                                              java.time.LocalDateTime fim,
+                                                              Integer capacidadeMinima, String categoria,
+                                                              String andar, List<String> equipamentos,
+                                                              Integer duracaoMinima) {
+        return availabilityService.buscarDisponibilidade(
+                inicio, fim, capacidadeMinima, categoria, andar, equipamentos, duracaoMinima);
+    }
+
     public void cancelarReservaSala(Long salaId, Long reservaId) {
         reservationService.cancelarReservaSala(salaId, reservaId);
     }
@@ -108,6 +122,10 @@ public class SalaService {
         return searchService.buscarPorTexto(termo);
     }
 
+    public List<SalaDTO> buscarPorTexto(String termo, Integer capacidadeMinima, List<String> equipamentos) {
+        return searchService.buscarPorTexto(termo, capacidadeMinima, equipamentos);
+    }
+
     public List<String> getCategorias() {
         return searchService.getCategorias();
     }
@@ -1,12 +1,21 @@
 package com.smartmeeting.service.sala;
 
 import com.smartmeeting.dto.SalaStatisticsDTO;
+import com.smartmeeting.dto.UtilizacaoSalaDTO;
 import com.smartmeeting.enums.SalaStatus;
-import com.smartmeeting.model.Sala;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.exception.BadRequestException;
 import com.smartmeeting.repository.SalaRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Estatísticas e contagens de salas.
@@ -14,10 +23,24 @@ import java.util.List;
 @Service
 public class SalaStatisticsService {
 
+    /** Reuniões que contam como tempo reservado (tudo, menos canceladas) */
+    private static final Set<StatusReuniao> STATUS_RESERVADOS =
+            EnumSet.of(StatusReuniao.AGENDADA, StatusReuniao.EM_ANDAMENTO, StatusReuniao.FINALIZADA);
+
+    private static final int DIAS_PERIODO_PADRAO = 30;
+
     private final SalaRepository repository;
+    private final SalaOcupacaoAtual ocupacaoAtual;
+    private final long inicioExpedienteMinutos;
+    private final long fimExpedienteMinutos;
 
-    public SalaStatisticsService(SalaRepository repository) {
+    public SalaStatisticsService(SalaRepository repository, SalaOcupacaoAtual ocupacaoAtual,
+                                 @Value("${app.salas.expediente.inicio:08:00}") String inicioExpediente,
+                                 @Value("${app.salas.expediente.fim:21:00}") String fimExpediente) {
         this.repository = repository;
+        this.ocupacaoAtual = ocupacaoAtual;
+        this.inicioExpedienteMinutos = LocalTime.parse(inicioExpediente).toSecondOfDay() / 60;
+        this.fimExpedienteMinutos = LocalTime.parse(fimExpediente).toSecondOfDay() / 60;
     }
 
     public long getTotalSalas() {
@@ -25,25 +48,57 @@ public class SalaStatisticsService {
     }
 
     public long getSalasEmUso() {
-        return repository.countByStatus(SalaStatus.OCUPADA);
+        return ocupacaoAtual.contar(SalaStatus.OCUPADA);
     }
 
     public SalaStatisticsDTO getSalaStatistics() {
-        List<Sala> todasSalas = repository.findAll();
-
-        long total = todasSalas.size();
-        long disponiveis = todasSalas.stream()
-                .filter(s -> s.getStatus() == SalaStatus.LIVRE)
-                .count();
-        long ocupadas = todasSalas.stream()
-                .filter(s -> s.getStatus() == SalaStatus.OCUPADA)
-                .count();
-        long manutencao = todasSalas.stream()
-                .filter(s -> s.getStatus() == SalaStatus.MANUTENCAO)
-                .count();
-
-        double utilizacaoMedia = 0.0;
-
-        return new SalaStatisticsDTO(total, disponiveis, ocupadas, manutencao, utilizacaoMedia);
+        return getSalaStatistics(null, null);
+    }
+
+    /**
+     * Contagens por status efetivo e utilização no período [inicio, fim] (dias inclusivos;
+     * padrão: últimos 30 dias). Utilização = minutos reservados dentro do expediente /
+     * minutos de expediente, por sala e geral, numa única agregação sobre SALA x REUNIAO.
+     */
+    public SalaStatisticsDTO getSalaStatistics(LocalDate inicio, LocalDate fim) {
+        LocalDate periodoFim = fim != null ? fim : LocalDate.now();
+        LocalDate periodoInicio = inicio != null ? inicio : periodoFim.minusDays(DIAS_PERIODO_PADRAO - 1L);
+        if (periodoFim.isBefore(periodoInicio)) {
+            throw new BadRequestException("A data final deve ser igual ou posterior à inicial");
+        }
+
+        // Contagens pelo status efetivo (derivado da agenda)
+        Map<SalaStatus, Long> porStatus = ocupacaoAtual.getContagens();
+
+        long total = porStatus.values().stream().mapToLong(Long::longValue).sum();
+        long disponiveis = porStatus.getOrDefault(SalaStatus.LIVRE, 0L);
+        long ocupadas = porStatus.getOrDefault(SalaStatus.OCUPADA, 0L);
+        long manutencao = porStatus.getOrDefault(SalaStatus.MANUTENCAO, 0L);
+
+        long dias = ChronoUnit.DAYS.between(periodoInicio, periodoFim) + 1;
+        long minutosDisponiveis = dias * (fimExpedienteMinutos - inicioExpedienteMinutos);
+
+        List<UtilizacaoSalaDTO> porSala = repository.agregarUtilizacao(
+                periodoInicio.atStartOfDay(), periodoFim.plusDays(1).atStartOfDay(),
+                inicioExpedienteMinutos, fimExpedienteMinutos, STATUS_RESERVADOS);
+
+        long reservadosTotal = 0;
+        for (UtilizacaoSalaDTO u : porSala) {
+            u.setMinutosDisponiveis(minutosDisponiveis);
+            u.setUtilizacao(percentual(u.getMinutosReservados(), minutosDisponiveis));
+            reservadosTotal += u.getMinutosReservados();
+        }
+        double utilizacaoMedia = percentual(reservadosTotal, minutosDisponiveis * porSala.size());
+
+        return new SalaStatisticsDTO(total, disponiveis, ocupadas, manutencao, utilizacaoMedia,
+                periodoInicio, periodoFim, porSala);
+    }
+
+    private static double percentual(long reservados, long disponiveis) {
+        if (disponiveis <= 0) {
+            return 0.0;
+        }
+        double valor = reservados * 100.0 / disponiveis;
+        return Math.round(valor * 100.0) / 100.0;
     }
 }
@@ -11,16 +11,23 @@ import java.util.Arrays;
 
 /**
  * Atualização de status de salas.
+ * Apenas MANUTENCAO é administrativo; LIVRE/RESERVADA/OCUPADA exibidos
+ * vêm da agenda ({@link SalaOcupacaoAtual}).
  */
 @Service
 public class SalaStatusService {
 
     private final SalaRepository repository;
     private final SalaMapper mapper;
+    private final SalaOcupacaoAtual ocupacaoAtual;
+    private final SalaCatalogoService catalogo;
 
-    public SalaStatusService(SalaRepository repository, SalaMapper mapper) {
+    public SalaStatusService(SalaRepository repository, SalaMapper mapper, SalaOcupacaoAtual ocupacaoAtual,
+                             SalaCatalogoService catalogo) {
         this.repository = repository;
         this.mapper = mapper;
+        this.ocupacaoAtual = ocupacaoAtual;
+        this.catalogo = catalogo;
     }
 
     public SalaDTO atualizarStatus(Long salaId, String status) {
@@ -47,6 +54,8 @@ public class SalaStatusService {
         // Log removed
 
         Sala salaAtualizada = repository.save(sala);
+        ocupacaoAtual.invalidar();
+        catalogo.invalidar(salaId);
         return mapper.toDTO(salaAtualizada);
     }
 }
@@ -0,0 +1,48 @@
+package com.smartmeeting.service.tarefa;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartmeeting.repository.NotificacaoTarefaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Quantidade de notificações de tarefa não lidas por usuário, em memória.
+ * <p>
+ * Cada valor é sempre um COUNT no índice da caixa de entrada; nunca é ajustado em
+ * memória. A cada mudança, o evento após o commit descarta o contador do usuário e a
+ * próxima leitura conta de novo, já com a alteração confirmada. Somar deltas a um valor
+ * que pode ter sido carregado depois do commit contaria a mesma notificação duas vezes.
+ * Cada entrada expira {@code ttl-min} após ser contada, o que cobre o que os eventos não
+ * veem (outra instância, alterações direto no banco).
+ */
+@Component
+public class ContadorNotificacoesNaoLidas {
+
+    private final NotificacaoTarefaRepository notificacaoRepo;
+    private final Cache<Long, Long> contadores;
+
+    public ContadorNotificacoesNaoLidas(NotificacaoTarefaRepository notificacaoRepo,
+                                        @Value("${app.notificacoes.contador.ttl-min:10}") long ttlMinutos,
+                                        @Value("${app.notificacoes.contador.max-usuarios:10000}") long maxUsuarios) {
+        this.notificacaoRepo = notificacaoRepo;
+        this.contadores = Caffeine.newBuilder()
+                .maximumSize(maxUsuarios)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .build();
+    }
+
+    public long naoLidas(Long usuarioId) {
+        return contadores.get(usuarioId, notificacaoRepo::countByUsuarioIdAndLidaFalse);
+    }
+
+    /**
+     * Descarta o valor em memória e conta de novo no banco
+     */
+    public long recontar(Long usuarioId) {
+        contadores.invalidate(usuarioId);
+        return naoLidas(usuarioId);
+    }
+}
@@ -35,6 +35,7 @@ public class TarefaCrudService {
     private final ProjectRepository projectRepository;
     private final KanbanColumnDynamicRepository columnRepository;
     private final KanbanColumnInitializationService columnInitializationService;
+    private final TarefaNotificacaoService notificacaoService;
 
     public TarefaDTO toDTO(Tarefa tarefa) {
         return tarefaMapper.toDTO(tarefa);
@@ -125,6 +126,7 @@ public class TarefaCrudService {
 
         Tarefa salvo = tarefaRepository.save(tarefa);
         logger.info("Tarefa criada ID {}", salvo.getId());
+        notificacaoService.enviarNotificacaoNovaTarefa(salvo);
         return tarefaMapper.toDTO(salvo);
     }
 
@@ -158,6 +160,7 @@ public class TarefaCrudService {
         Integer progressoAntigo = tarefa.getProgresso();
         Pessoa responsavelAntigo = tarefa.getResponsavel();
         String nomeResponsavelAntigo = responsavelAntigo != null ? responsavelAntigo.getNome() : null;
+        boolean concluidaAntes = tarefa.isConcluida();
 
         if (dtoAtualizada.getTitulo() != null)
             tarefa.setTitulo(dtoAtualizada.getTitulo());
@@ -282,14 +285,42 @@ public class TarefaCrudService {
                     e.getMessage());
         }
 
+        if (!concluidaAntes && atualizado.isConcluida()) {
+            notificacaoService.enviarNotificacaoTarefaConcluida(atualizado);
+        } else {
+            List<String> alterados = new ArrayList<>();
+            if (!Objects.equals(tituloAntigo, atualizado.getTitulo())) alterados.add("título");
+            if (!Objects.equals(descricaoAntiga, atualizado.getDescricao())) alterados.add("descrição");
+            if (!Objects.equals(prazoAntigo, atualizado.getPrazo())) alterados.add("prazo");
+            if (!Objects.equals(prioridadeAntiga, atualizado.getPrioridade())) alterados.add("prioridade");
+            if (!Objects.equals(colunaAntiga,
+                    atualizado.getColumn() != null ? atualizado.getColumn().getTitle() : null)) alterados.add("status");
+            Long responsavelAntigoId = responsavelAntigo != null ? responsavelAntigo.getId() : null;
+            Long responsavelNovoId = atualizado.getResponsavel() != null ? atualizado.getResponsavel().getId() : null;
+            if (!Objects.equals(responsavelAntigoId, responsavelNovoId)) {
+                if (responsavelNovoId != null) {
+                    notificacaoService.enviarNotificacaoAtribuicao(atualizado);
+                } else {
+                    alterados.add("responsável");
+                }
+            }
+            if (!alterados.isEmpty()) {
+                notificacaoService.enviarNotificacaoTarefaAtualizada(atualizado, String.join(", ", alterados));
+            }
+        }
+
         return tarefaMapper.toDTO(atualizado);
     }
 
+    @Transactional
     public void deletar(Long id) {
         if (!tarefaRepository.existsById(id)) {
             throw new ResourceNotFoundException(
                     "Tarefa não encontrada com ID: " + id);
         }
+        // O arquivo de histórico não tem FK para TAREFA
+        historyService.excluirArquivoDaTarefa(id);
+        notificacaoService.excluirDaTarefa(id);
         tarefaRepository.deleteById(id);
     }
 
@@ -362,7 +393,9 @@ public class TarefaCrudService {
                 }
             }
 
-            criadas.add(tarefaMapper.toDTO(tarefaRepository.save(tarefa)));
+            Tarefa salva = tarefaRepository.save(tarefa);
+            notificacaoService.enviarNotificacaoNovaTarefa(salva);
+            criadas.add(tarefaMapper.toDTO(salva));
         }
 
         return criadas;
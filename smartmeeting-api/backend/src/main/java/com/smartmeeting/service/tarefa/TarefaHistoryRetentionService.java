@@ -0,0 +1,176 @@
+package com.smartmeeting.service.tarefa;
+
+import com.smartmeeting.enums.HistoryActionType;
+import com.smartmeeting.model.TarefaHistory;
+import com.smartmeeting.model.TarefaHistoryArquivo;
+import com.smartmeeting.repository.TarefaHistoryArquivoRepository;
+import com.smartmeeting.repository.TarefaHistoryRepository;
+import com.smartmeeting.service.job.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Retenção do histórico de tarefas.
+ * Registros mais antigos que {@code app.history.retention.dias} são compactados
+ * (alterações de progresso consecutivas do mesmo usuário viram uma única linha)
+ * e movidos para TAREFA_HISTORY_ARQUIVO, mantendo a tabela quente pequena.
+ * O mesmo job remove do arquivo as linhas de tarefas excluídas por caminhos que não
+ * passam por {@link TarefaHistoryService#excluirArquivoDaTarefa(Long)}.
+ */
+@Service
+public class TarefaHistoryRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TarefaHistoryRetentionService.class);
+
+    private final TarefaHistoryRepository historyRepository;
+    private final TarefaHistoryArquivoRepository arquivoRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int diasRetencao;
+    private final int tarefasPorLote;
+
+    public TarefaHistoryRetentionService(TarefaHistoryRepository historyRepository,
+                                         TarefaHistoryArquivoRepository arquivoRepository,
+                                         JobLockService jobLockService,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${app.history.retention.enabled:true}") boolean habilitado,
+                                         @Value("${app.history.retention.dias:180}") int diasRetencao,
+                                         @Value("${app.history.retention.tarefas-por-lote:200}") int tarefasPorLote) {
+        this.historyRepository = historyRepository;
+        this.arquivoRepository = arquivoRepository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.diasRetencao = diasRetencao;
+        this.tarefasPorLote = tarefasPorLote;
+    }
+
+    /**
+     * Job diário de arquivamento (uma instância do cluster); cada lote de tarefas roda
+     * na sua própria transação
+     */
+    @Scheduled(cron = "${app.history.retention.cron:0 30 3 * * *}")
+    public void executarRetencao() {
+        if (!habilitado) {
+            return;
+        }
+        jobLockService.executar("RETENCAO_HISTORICO_TAREFAS", this::arquivarAntigos);
+    }
+
+    private void arquivarAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(diasRetencao);
+        int totalOriginais = 0;
+        int totalArquivados = 0;
+
+        while (true) {
+            int[] resultado = transactionTemplate.execute(status -> arquivarLote(limite));
+            if (resultado == null || resultado[0] == 0) {
+                break;
+            }
+            totalOriginais += resultado[0];
+            totalArquivados += resultado[1];
+        }
+
+        if (totalOriginais > 0) {
+            logger.info("Retenção de histórico: {} registros anteriores a {} movidos para o arquivo ({} após compactação)",
+                    totalOriginais, limite, totalArquivados);
+        }
+
+        Integer orfaos = transactionTemplate.execute(status -> arquivoRepository.deleteOrfaos());
+        if (orfaos != null && orfaos > 0) {
+            logger.info("Retenção de histórico: {} linhas do arquivo de tarefas excluídas removidas", orfaos);
+        }
+    }
+
+    /**
+     * Arquiva um lote de tarefas. Todas as linhas antigas de cada tarefa entram no
+     * mesmo lote, para que a compactação de progresso não seja cortada no meio.
+     *
+     * @return {registros originais removidos, linhas gravadas no arquivo}
+     */
+    int[] arquivarLote(LocalDateTime limite) {
+        List<Long> tarefaIds = historyRepository.findTarefaIdsComHistoricoAntesDe(
+                limite, PageRequest.of(0, tarefasPorLote));
+        if (tarefaIds.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+
+        List<TarefaHistory> antigos = historyRepository.findParaArquivamento(tarefaIds, limite);
+        List<TarefaHistoryArquivo> arquivo = compactar(antigos);
+
+        arquivoRepository.saveAll(arquivo);
+        historyRepository.deleteByIdIn(antigos.stream().map(TarefaHistory::getId).toList());
+        return new int[] { antigos.size(), arquivo.size() };
+    }
+
+    /**
+     * Converte as linhas (ordenadas por tarefa, createdAt, id) em linhas de arquivo,
+     * fundindo sequências de PROGRESS_UPDATED consecutivas da mesma tarefa e usuário.
+     */
+    List<TarefaHistoryArquivo> compactar(List<TarefaHistory> ordenados) {
+        List<TarefaHistoryArquivo> resultado = new ArrayList<>();
+        TarefaHistoryArquivo grupoProgresso = null;
+
+        for (TarefaHistory h : ordenados) {
+            TarefaHistoryArquivo atual = paraArquivo(h);
+
+            if (grupoProgresso != null && mesmoGrupoDeProgresso(grupoProgresso, atual)) {
+                // Mantém o valor inicial do grupo e avança para a última alteração
+                grupoProgresso.setId(atual.getId());
+                grupoProgresso.setCreatedAt(atual.getCreatedAt());
+                grupoProgresso.setNewValue(atual.getNewValue());
+                grupoProgresso.setQuantidadeCompactada(grupoProgresso.getQuantidadeCompactada() + 1);
+                grupoProgresso.setDescription(String.format(
+                        "Progresso atualizado de %s%% para %s%% (%d alterações)",
+                        valorOuZero(grupoProgresso.getOldValue()),
+                        valorOuZero(grupoProgresso.getNewValue()),
+                        grupoProgresso.getQuantidadeCompactada()));
+                continue;
+            }
+
+            resultado.add(atual);
+            grupoProgresso = atual.getActionType() == HistoryActionType.PROGRESS_UPDATED ? atual : null;
+        }
+        return resultado;
+    }
+
+    private boolean mesmoGrupoDeProgresso(TarefaHistoryArquivo grupo, TarefaHistoryArquivo atual) {
+        return atual.getActionType() == HistoryActionType.PROGRESS_UPDATED
+                && Objects.equals(grupo.getTarefaId(), atual.getTarefaId())
+                && Objects.equals(grupo.getUsuarioId(), atual.getUsuarioId());
+    }
+
+    private String valorOuZero(String valor) {
+        return valor != null ? valor : "0";
+    }
+
+    private TarefaHistoryArquivo paraArquivo(TarefaHistory h) {
+        TarefaHistoryArquivo a = new TarefaHistoryArquivo();
+        a.setId(h.getId());
+        a.setTarefaId(h.getTarefa().getId());
+        a.setProjectId(h.getProjectId());
+        if (h.getUsuario() != null) {
+            a.setUsuarioId(h.getUsuario().getId());
+            a.setUsuarioNome(h.getUsuario().getNome());
+        }
+        a.setActionType(h.getActionType());
+        a.setFieldName(h.getFieldName());
+        a.setOldValue(h.getOldValue());
+        a.setNewValue(h.getNewValue());
+        a.setDescription(h.getDescription());
+        a.setCreatedAt(h.getCreatedAt());
+        return a;
+    }
+}
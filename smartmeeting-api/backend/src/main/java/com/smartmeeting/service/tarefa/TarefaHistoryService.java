@@ -1,24 +1,36 @@
 package com.smartmeeting.service.tarefa;
 
 import com.smartmeeting.dto.TarefaHistoryDTO;
+import com.smartmeeting.dto.TarefaHistoryFeedDTO;
 import com.smartmeeting.enums.HistoryActionType;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.model.Pessoa;
 import com.smartmeeting.model.Tarefa;
 import com.smartmeeting.model.TarefaHistory;
 import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.TarefaHistoryArquivoRepository;
 import com.smartmeeting.repository.TarefaHistoryRepository;
 import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -32,6 +44,18 @@ public class TarefaHistoryService {
     private final TarefaHistoryRepository historyRepository;
     private final TarefaRepository tarefaRepository;
     private final PessoaRepository pessoaRepository;
+    private final TarefaHistoryArquivoRepository arquivoRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_HISTORICO = "INSERT INTO TAREFA_HISTORY (ID_TAREFA, ID_PROJECT, ID_USUARIO, " +
+            "ACTION_TYPE, FIELD_NAME, OLD_VALUE, NEW_VALUE, DESCRIPTION, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int FEED_PAGE_SIZE_PADRAO = 20;
+    private static final int FEED_PAGE_SIZE_MAX = 100;
+    private static final Comparator<TarefaHistoryDTO> ORDEM_FEED = Comparator
+            .comparing(TarefaHistoryDTO::getCreatedAt)
+            .thenComparing(TarefaHistoryDTO::getId)
+            .reversed();
 
     /**
      * Registra uma ação no histórico da tarefa
@@ -67,6 +91,34 @@ public class TarefaHistoryService {
         return saved;
     }
 
+    /**
+     * Grava vários registros num único batch JDBC, sem a checagem de duplicidade de
+     * {@link #registrarHistorico}: usado pelas operações em lote, em que cada registro
+     * corresponde a uma alteração efetiva. Tarefa e projectId precisam estar preenchidos.
+     */
+    @Transactional
+    public void registrarEmLote(List<TarefaHistory> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        Pessoa usuario = getUsuarioAtual();
+        Long usuarioId = usuario != null ? usuario.getId() : null;
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_HISTORICO, registros, registros.size(), (ps, h) -> {
+            ps.setLong(1, h.getTarefa().getId());
+            ps.setObject(2, h.getProjectId(), Types.BIGINT);
+            ps.setObject(3, usuarioId, Types.BIGINT);
+            ps.setString(4, h.getActionType().name());
+            ps.setString(5, h.getFieldName());
+            ps.setString(6, h.getOldValue());
+            ps.setString(7, h.getNewValue());
+            ps.setString(8, h.getDescription());
+            ps.setTimestamp(9, agora);
+        });
+        log.info("{} registros de histórico gravados em lote", registros.size());
+    }
+
     /**
      * Registra criação de tarefa
      */
@@ -272,31 +324,94 @@ public class TarefaHistoryService {
     }
 
     /**
-     * Obtém histórico completo de uma tarefa
+     * Obtém histórico completo de uma tarefa (tabela quente + arquivo)
      */
     public List<TarefaHistoryDTO> getHistoricoTarefa(Long tarefaId) {
-        return historyRepository.findByTarefaIdOrderByCreatedAtDesc(tarefaId)
+        List<TarefaHistoryDTO> historico = historyRepository.findByTarefaIdOrderByCreatedAtDesc(tarefaId)
                 .stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        historico.addAll(arquivoRepository.findByTarefaId(tarefaId, Pageable.unpaged()));
+        return historico;
     }
 
     /**
-     * Obtém histórico paginado de uma tarefa
+     * Obtém histórico paginado de uma tarefa. As páginas seguem pela tabela quente
+     * e, esgotada ela, continuam no arquivo (sempre mais antigo).
      */
     public Page<TarefaHistoryDTO> getHistoricoTarefaPaginado(Long tarefaId, Pageable pageable) {
-        return historyRepository.findByTarefaIdOrderByCreatedAtDesc(tarefaId, pageable)
+        Page<TarefaHistoryDTO> quente = historyRepository.findByTarefaIdOrderByCreatedAtDesc(tarefaId, pageable)
                 .map(this::toDTO);
+        long totalArquivo = arquivoRepository.countByTarefaId(tarefaId);
+        long total = quente.getTotalElements() + totalArquivo;
+        if (totalArquivo == 0 || quente.getNumberOfElements() == pageable.getPageSize()) {
+            return new PageImpl<>(quente.getContent(), pageable, total);
+        }
+
+        int faltam = pageable.getPageSize() - quente.getNumberOfElements();
+        int offsetArquivo = (int) Math.max(0, pageable.getOffset() - quente.getTotalElements());
+        List<TarefaHistoryDTO> arquivados = arquivoRepository.findByTarefaId(
+                tarefaId, PageRequest.of(0, offsetArquivo + faltam));
+
+        List<TarefaHistoryDTO> conteudo = new ArrayList<>(quente.getContent());
+        conteudo.addAll(arquivados.subList(Math.min(offsetArquivo, arquivados.size()), arquivados.size()));
+        return new PageImpl<>(conteudo, pageable, total);
     }
 
     /**
      * Obtém histórico de um projeto
      */
     public List<TarefaHistoryDTO> getHistoricoProject(Long projectId) {
-        return historyRepository.findByProjectId(projectId)
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        List<TarefaHistoryDTO> historico = new ArrayList<>(
+                historyRepository.findFeedByProjectId(projectId, Pageable.unpaged()));
+        historico.addAll(arquivoRepository.findFeedByProjectId(projectId, Pageable.unpaged()));
+        historico.sort(ORDEM_FEED);
+        return historico;
+    }
+
+    /**
+     * Obtém uma página do feed de histórico do projeto (keyset em createdAt/id).
+     * Busca size + 1 linhas em cada fonte (quente e arquivo) e intercala,
+     * o que permite saber se há próxima página sem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public TarefaHistoryFeedDTO getHistoricoProjectFeed(Long projectId, String cursor, Integer size) {
+        int limite = size == null || size <= 0 ? FEED_PAGE_SIZE_PADRAO : Math.min(size, FEED_PAGE_SIZE_MAX);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        KeysetCursor posicao = KeysetCursor.decode(cursor);
+        List<TarefaHistoryDTO> linhas = new ArrayList<>();
+        if (posicao == null) {
+            linhas.addAll(historyRepository.findFeedByProjectId(projectId, pageable));
+            linhas.addAll(arquivoRepository.findFeedByProjectId(projectId, pageable));
+        } else {
+            linhas.addAll(historyRepository.findFeedByProjectIdAfter(
+                    projectId, posicao.getInstante(), posicao.getId(), pageable));
+            linhas.addAll(arquivoRepository.findFeedByProjectIdAfter(
+                    projectId, posicao.getInstante(), posicao.getId(), pageable));
+        }
+        linhas.sort(ORDEM_FEED);
+
+        boolean hasMore = linhas.size() > limite;
+        List<TarefaHistoryDTO> items = hasMore ? new ArrayList<>(linhas.subList(0, limite)) : linhas;
+        String nextCursor = null;
+        if (hasMore) {
+            TarefaHistoryDTO ultimo = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(ultimo.getCreatedAt(), ultimo.getId());
+        }
+        return new TarefaHistoryFeedDTO(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Preenche ID_PROJECT no histórico gravado antes da coluna existir
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void preencherProjectIdLegado() {
+        int atualizados = historyRepository.preencherProjectIdAusente();
+        if (atualizados > 0) {
+            log.info("ID_PROJECT preenchido em {} registros de histórico", atualizados);
+        }
     }
 
     /**
@@ -305,17 +420,28 @@ public class TarefaHistoryService {
     public List<TarefaHistoryDTO> getHistoricoPorPeriodo(Long tarefaId,
             LocalDateTime inicio,
             LocalDateTime fim) {
-        return historyRepository.findByTarefaIdAndDateRange(tarefaId, inicio, fim)
+        List<TarefaHistoryDTO> historico = historyRepository.findByTarefaIdAndDateRange(tarefaId, inicio, fim)
                 .stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        historico.addAll(arquivoRepository.findByTarefaIdAndDateRange(tarefaId, inicio, fim));
+        historico.sort(ORDEM_FEED);
+        return historico;
     }
 
     /**
      * Conta total de alterações em uma tarefa
      */
     public long contarAlteracoes(Long tarefaId) {
-        return historyRepository.countByTarefaId(tarefaId);
+        return historyRepository.countByTarefaId(tarefaId) + arquivoRepository.countByTarefaId(tarefaId);
+    }
+
+    /**
+     * Remove o histórico arquivado de uma tarefa excluída
+     */
+    @Transactional
+    public void excluirArquivoDaTarefa(Long tarefaId) {
+        arquivoRepository.deleteByTarefaId(tarefaId);
     }
 
     // Métodos auxiliares
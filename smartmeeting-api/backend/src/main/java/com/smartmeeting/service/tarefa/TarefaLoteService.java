@@ -0,0 +1,355 @@
+package com.smartmeeting.service.tarefa;
+
+import com.smartmeeting.dto.TarefaLoteRequest;
+import com.smartmeeting.dto.TarefaLoteResultadoDTO;
+import com.smartmeeting.dto.TarefaResumoDTO;
+import com.smartmeeting.dto.TarefaSituacaoDTO;
+import com.smartmeeting.enums.HistoryActionType;
+import com.smartmeeting.enums.PermissionType;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.evento.TarefaAlteradaEvent;
+import com.smartmeeting.exception.BadRequestException;
+import com.smartmeeting.exception.ForbiddenException;
+import com.smartmeeting.exception.ResourceNotFoundException;
+import com.smartmeeting.model.KanbanColumnDynamic;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.TarefaHistory;
+import com.smartmeeting.repository.FlowConnectionRepository;
+import com.smartmeeting.repository.KanbanColumnDynamicRepository;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.service.flow.FlowConnectionService;
+import com.smartmeeting.service.kanban.ProjectStatusService;
+import com.smartmeeting.service.project.ProjectPermissionService;
+import com.smartmeeting.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operações em lote sobre tarefas (mover, atribuir, atualizar).
+ * <p>
+ * Em vez de repetir o caminho de uma tarefa por vez: carrega a situação de todas numa
+ * consulta, valida a permissão uma vez por projeto, aplica um UPDATE único para as que
+ * de fato mudam, grava o histórico num batch JDBC e recalcula o status de cada projeto
+ * afetado uma vez. Como o UPDATE em massa não passa pelo {@code TarefaEntityListener},
+ * os {@link TarefaAlteradaEvent} e as notificações da caixa de entrada são gerados aqui,
+ * a partir da situação relida.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TarefaLoteService {
+
+    private static final int MAX_TAREFAS_POR_LOTE = 500;
+
+    private final TarefaRepository tarefaRepository;
+    private final KanbanColumnDynamicRepository columnRepository;
+    private final PessoaRepository pessoaRepository;
+    private final FlowConnectionRepository flowConnectionRepository;
+    private final ProjectPermissionService projectPermissionService;
+    private final ProjectStatusService projectStatusService;
+    private final TarefaHistoryService historyService;
+    private final FlowConnectionService flowConnectionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TarefaNotificacaoService notificacaoService;
+
+    @Transactional
+    public TarefaLoteResultadoDTO executar(TarefaLoteRequest request) {
+        if (request == null || request.getOperacao() == null) {
+            throw new BadRequestException("Informe a operação: MOVER, ATRIBUIR ou ATUALIZAR");
+        }
+        if (request.getTarefaIds() == null || request.getTarefaIds().isEmpty()) {
+            throw new BadRequestException("Informe ao menos uma tarefa");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getTarefaIds());
+        ids.remove(null);
+        if (ids.size() > MAX_TAREFAS_POR_LOTE) {
+            throw new BadRequestException("No máximo " + MAX_TAREFAS_POR_LOTE + " tarefas por lote");
+        }
+
+        List<TarefaResumoDTO> atuais = tarefaRepository.findResumosByIdIn(ids);
+        if (atuais.size() != ids.size()) {
+            Set<Long> encontradas = atuais.stream().map(TarefaResumoDTO::getId).collect(Collectors.toSet());
+            List<Long> faltando = ids.stream().filter(id -> !encontradas.contains(id)).collect(Collectors.toList());
+            throw new ResourceNotFoundException("Tarefas não encontradas: " + faltando);
+        }
+        verificarPermissao(atuais, request.getOperacao());
+
+        List<TarefaResumoDTO> alteradas = switch (request.getOperacao()) {
+            case MOVER -> mover(atuais, request.getColumnId());
+            case ATRIBUIR -> atribuir(atuais, request.getResponsavelId());
+            case ATUALIZAR -> atualizar(atuais, request);
+        };
+
+        List<Long> projetos = alteradas.stream()
+                .map(TarefaResumoDTO::getProjectId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (request.getOperacao() == TarefaLoteRequest.Operacao.MOVER) {
+            // O status do projeto só depende das colunas das tarefas
+            projetos.forEach(projectStatusService::updateProjectStatus);
+        }
+        List<TarefaResumoDTO> atualizadas = publicarEventos(alteradas);
+        notificar(atuais, atualizadas);
+
+        log.info("Lote {}: {} de {} tarefas alteradas, projetos {}",
+                request.getOperacao(), alteradas.size(), ids.size(), projetos);
+        return new TarefaLoteResultadoDTO(request.getOperacao(), ids.size(), alteradas.size(), projetos);
+    }
+
+    // ── Operações ────────────────────────────────────────────────────────────
+
+    private List<TarefaResumoDTO> mover(List<TarefaResumoDTO> atuais, Long columnId) {
+        if (columnId == null) {
+            throw new BadRequestException("columnId é obrigatório para MOVER");
+        }
+        KanbanColumnDynamic coluna = columnRepository.findById(columnId)
+                .orElseThrow(() -> new ResourceNotFoundException("Coluna não encontrada: " + columnId));
+        Long projetoDaColuna = coluna.getProject() != null ? coluna.getProject().getId() : null;
+        for (TarefaResumoDTO t : atuais) {
+            if (projetoDaColuna != null && !projetoDaColuna.equals(t.getProjectId())) {
+                throw new BadRequestException(
+                        "A tarefa " + t.getId() + " não pertence ao projeto da coluna " + columnId);
+            }
+        }
+
+        List<TarefaResumoDTO> alvo = atuais.stream()
+                .filter(t -> !columnId.equals(t.getColumnId()))
+                .collect(Collectors.toList());
+        if (alvo.isEmpty()) {
+            return alvo;
+        }
+        tarefaRepository.moverEmLote(ids(alvo), coluna, usuarioAtual(), LocalDateTime.now());
+
+        List<TarefaHistory> historico = new ArrayList<>();
+        for (TarefaResumoDTO t : alvo) {
+            String antiga = t.getColumnName() != null ? t.getColumnName() : "Sem Coluna";
+            historico.add(registro(t, HistoryActionType.STATUS_CHANGED, "statusTarefa", antiga, coluna.getTitle(),
+                    String.format("Status alterado de '%s' para '%s'", antiga, coluna.getTitle())));
+        }
+        historyService.registrarEmLote(historico);
+
+        dispararConexoes(alvo, columnId);
+        return alvo;
+    }
+
+    private List<TarefaResumoDTO> atribuir(List<TarefaResumoDTO> atuais, Long responsavelId) {
+        Pessoa responsavel = responsavelId == null ? null : pessoaRepository.findById(responsavelId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Responsável não encontrado com ID: " + responsavelId));
+
+        List<TarefaResumoDTO> alvo = atuais.stream()
+                .filter(t -> !Objects.equals(responsavelId, t.getResponsavelId()))
+                .collect(Collectors.toList());
+        if (alvo.isEmpty()) {
+            return alvo;
+        }
+        tarefaRepository.atribuirEmLote(ids(alvo), responsavel, usuarioAtual(), LocalDateTime.now());
+
+        String novo = responsavel != null ? responsavel.getNome() : null;
+        List<TarefaHistory> historico = new ArrayList<>();
+        for (TarefaResumoDTO t : alvo) {
+            String antigo = t.getResponsavelNome();
+            historico.add(registro(t, HistoryActionType.ASSIGNEE_CHANGED, "responsavel", antigo, novo,
+                    String.format("Responsável alterado de '%s' para '%s'",
+                            antigo != null ? antigo : "Nenhum", novo != null ? novo : "Nenhum")));
+        }
+        historyService.registrarEmLote(historico);
+        return alvo;
+    }
+
+    private List<TarefaResumoDTO> atualizar(List<TarefaResumoDTO> atuais, TarefaLoteRequest request) {
+        PrioridadeTarefa prioridade = PrioridadeTarefa.fromValue(request.getPrioridade());
+        LocalDate prazo = request.getPrazo();
+        Boolean concluida = request.getConcluida();
+        if (prioridade == null && prazo == null && concluida == null) {
+            throw new BadRequestException("Informe prioridade, prazo ou concluida para ATUALIZAR");
+        }
+
+        // Um UPDATE por campo, só com as tarefas em que o campo muda
+        List<TarefaHistory> historico = new ArrayList<>();
+        Set<Long> novaPrioridade = new LinkedHashSet<>();
+        Set<Long> novoPrazo = new LinkedHashSet<>();
+        Set<Long> novaConclusao = new LinkedHashSet<>();
+        List<TarefaResumoDTO> alvo = new ArrayList<>();
+        for (TarefaResumoDTO t : atuais) {
+            int antes = historico.size();
+            if (prioridade != null && prioridade != t.getPrioridade()) {
+                novaPrioridade.add(t.getId());
+                String antiga = t.getPrioridade() != null ? t.getPrioridade().getDescricao() : null;
+                historico.add(registro(t, HistoryActionType.PRIORITY_CHANGED, "prioridade",
+                        antiga, prioridade.getDescricao(),
+                        String.format("Prioridade alterada de '%s' para '%s'", antiga, prioridade.getDescricao())));
+            }
+            if (prazo != null && !prazo.equals(t.getPrazo())) {
+                novoPrazo.add(t.getId());
+                String antigo = t.getPrazo() != null ? t.getPrazo().toString() : null;
+                historico.add(registro(t, HistoryActionType.DUE_DATE_CHANGED, "prazo", antigo, prazo.toString(),
+                        String.format("Prazo alterado de '%s' para '%s'", antigo, prazo)));
+            }
+            if (concluida != null && concluida != t.isConcluida()) {
+                novaConclusao.add(t.getId());
+                historico.add(registro(t, HistoryActionType.UPDATED, "concluida",
+                        String.valueOf(t.isConcluida()), String.valueOf(concluida),
+                        concluida ? "Tarefa concluída" : "Tarefa reaberta"));
+            }
+            if (historico.size() > antes) {
+                alvo.add(t);
+            }
+        }
+        if (alvo.isEmpty()) {
+            return alvo;
+        }
+        String usuario = usuarioAtual();
+        LocalDateTime agora = LocalDateTime.now();
+        if (!novaPrioridade.isEmpty()) {
+            tarefaRepository.alterarPrioridadeEmLote(novaPrioridade, prioridade, usuario, agora);
+        }
+        if (!novoPrazo.isEmpty()) {
+            tarefaRepository.alterarPrazoEmLote(novoPrazo, prazo, usuario, agora);
+        }
+        if (!novaConclusao.isEmpty()) {
+            if (concluida) {
+                tarefaRepository.concluirEmLote(novaConclusao, usuario, agora);
+            } else {
+                tarefaRepository.reabrirEmLote(novaConclusao, usuario, agora);
+            }
+        }
+        historyService.registrarEmLote(historico);
+        return alvo;
+    }
+
+    // ── Auxiliares ───────────────────────────────────────────────────────────
+
+    private void verificarPermissao(List<TarefaResumoDTO> tarefas, TarefaLoteRequest.Operacao operacao) {
+        if (SecurityUtils.isAdmin()) {
+            return;
+        }
+        PermissionType permissao = switch (operacao) {
+            case MOVER -> PermissionType.TASK_MOVE;
+            case ATRIBUIR -> PermissionType.TASK_ASSIGN;
+            case ATUALIZAR -> PermissionType.TASK_EDIT;
+        };
+        Set<Long> projetos = tarefas.stream()
+                .map(TarefaResumoDTO::getProjectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (Long projectId : projetos) {
+            if (!projectPermissionService.hasPermissionForCurrentUser(projectId, permissao)) {
+                throw new ForbiddenException(
+                        "Você não tem permissão para alterar tarefas do projeto " + projectId + ".");
+            }
+        }
+    }
+
+    private void dispararConexoes(List<TarefaResumoDTO> movidas, Long columnId) {
+        if (flowConnectionRepository.findActiveBySourceColumnId(columnId).isEmpty()) {
+            return;
+        }
+        for (TarefaResumoDTO t : movidas) {
+            try {
+                flowConnectionService.dispararConexoes(t.getId(), columnId);
+            } catch (Exception e) {
+                // Não falha o lote por erros nas conexões
+                log.error("Erro ao disparar FlowConnections para tarefa {}: {}", t.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Relê a situação das tarefas alteradas e avisa os ouvintes (contadores do dashboard)
+     *
+     * @return a situação relida
+     */
+    private List<TarefaResumoDTO> publicarEventos(List<TarefaResumoDTO> alteradas) {
+        if (alteradas.isEmpty()) {
+            return alteradas;
+        }
+        Map<Long, TarefaResumoDTO> anteriores = alteradas.stream()
+                .collect(Collectors.toMap(TarefaResumoDTO::getId, Function.identity()));
+        List<TarefaResumoDTO> atualizadas = tarefaRepository.findResumosByIdIn(ids(alteradas));
+        for (TarefaResumoDTO t : atualizadas) {
+            eventPublisher.publishEvent(new TarefaAlteradaEvent(this, TarefaAlteradaEvent.Tipo.ATUALIZADA,
+                    situacao(anteriores.get(t.getId())), situacao(t)));
+        }
+        return atualizadas;
+    }
+
+    /**
+     * Notificações da caixa de entrada, com as mesmas regras da alteração de uma tarefa:
+     * novo responsável recebe ATRIBUICAO; tarefa concluída, CONCLUSAO; demais mudanças,
+     * ATUALIZACAO com os campos alterados
+     */
+    private void notificar(List<TarefaResumoDTO> antes, List<TarefaResumoDTO> depois) {
+        Map<Long, TarefaResumoDTO> anteriores = antes.stream()
+                .collect(Collectors.toMap(TarefaResumoDTO::getId, Function.identity()));
+        List<TarefaResumoDTO> atribuidas = new ArrayList<>();
+        List<TarefaResumoDTO> concluidas = new ArrayList<>();
+        List<TarefaResumoDTO> atualizadas = new ArrayList<>();
+        Map<Long, String> camposPorTarefa = new HashMap<>();
+        for (TarefaResumoDTO t : depois) {
+            TarefaResumoDTO anterior = anteriores.get(t.getId());
+            List<String> campos = new ArrayList<>();
+            if (!Objects.equals(anterior.getResponsavelId(), t.getResponsavelId())) {
+                if (t.getResponsavelId() != null) {
+                    atribuidas.add(t);
+                } else {
+                    campos.add("responsável");
+                }
+            }
+            if (!anterior.isConcluida() && t.isConcluida()) {
+                concluidas.add(t);
+                continue;
+            }
+            if (!Objects.equals(anterior.getColumnId(), t.getColumnId())) campos.add("status");
+            if (anterior.getPrioridade() != t.getPrioridade()) campos.add("prioridade");
+            if (!Objects.equals(anterior.getPrazo(), t.getPrazo())) campos.add("prazo");
+            if (anterior.isConcluida() && !t.isConcluida()) campos.add("reaberta");
+            if (!campos.isEmpty()) {
+                atualizadas.add(t);
+                camposPorTarefa.put(t.getId(), String.join(", ", campos));
+            }
+        }
+        notificacaoService.enviarAtribuicoesEmLote(atribuidas);
+        notificacaoService.enviarConclusoesEmLote(concluidas);
+        notificacaoService.enviarAtualizacoesEmLote(atualizadas, camposPorTarefa);
+    }
+
+    private TarefaHistory registro(TarefaResumoDTO t, HistoryActionType tipo, String campo,
+                                   String antigo, String novo, String descricao) {
+        TarefaHistory h = new TarefaHistory(tarefaRepository.getReferenceById(t.getId()), null, tipo,
+                campo, antigo, novo, descricao);
+        h.setProjectId(t.getProjectId());
+        return h;
+    }
+
+    private static TarefaSituacaoDTO situacao(TarefaResumoDTO t) {
+        return new TarefaSituacaoDTO(t.getId(), t.getProjectId(), t.getColumnId(), t.getColumnName(),
+                t.getPrioridade(), t.getResponsavelId(), t.getResponsavelNome(), t.isConcluida());
+    }
+
+    private static List<Long> ids(List<TarefaResumoDTO> tarefas) {
+        return tarefas.stream().map(TarefaResumoDTO::getId).collect(Collectors.toList());
+    }
+
+    private static String usuarioAtual() {
+        String usuario = SecurityUtils.getCurrentUsername();
+        return usuario != null ? usuario : "system";
+    }
+}
@@ -1,29 +1,120 @@
 package com.smartmeeting.service.tarefa;
 
 import com.smartmeeting.dto.NotificacaoTarefaDTO;
+import com.smartmeeting.dto.NotificacaoTarefaFeedDTO;
+import com.smartmeeting.dto.TarefaParticipanteDTO;
+import com.smartmeeting.dto.TarefaResumoDTO;
+import com.smartmeeting.enums.TipoNotificacaoTarefa;
+import com.smartmeeting.evento.NotificacaoTarefaEvent;
+import com.smartmeeting.exception.ForbiddenException;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.model.NotificacaoTarefa;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Tarefa;
 import com.smartmeeting.repository.NotificacaoTarefaRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.util.KeysetCursor;
+import com.smartmeeting.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Caixa de entrada de notificações de tarefa, por usuário.
+ * <p>
+ * Listagem keyset em (createdAt, id) sobre IDX_NOTIF_TAREFA_INBOX; o total de não lidas
+ * vem de {@link ContadorNotificacoesNaoLidas}. Cada notificação criada ou lida publica um
+ * {@link NotificacaoTarefaEvent}, que após o commit reconta as não lidas e avisa o usuário
+ * pelo WebSocket. Operações em lote gravam as notificações num batch JDBC e publicam um
+ * evento por usuário.
+ */
 @Service
 public class TarefaNotificacaoService {
 
+    private static final Logger log = LoggerFactory.getLogger(TarefaNotificacaoService.class);
+
+    private static final int PAGE_SIZE_PADRAO = 20;
+    private static final int PAGE_SIZE_MAX = 100;
+
+    private static final String TITULO_ATRIBUICAO = "Nova tarefa atribuída";
+    private static final String TITULO_ATUALIZACAO = "Tarefa atualizada";
+    private static final String TITULO_CONCLUSAO = "Tarefa concluída";
+
+    private static final String INSERT_NOTIFICACAO = "INSERT INTO notificacoes_tarefa (tarefa_id, usuario_id, " +
+            "tipo, titulo, mensagem, lida, created_at) VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+
     private final NotificacaoTarefaRepository notificacaoRepo;
+    private final ContadorNotificacoesNaoLidas contador;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TarefaRepository tarefaRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public TarefaNotificacaoService(NotificacaoTarefaRepository notificacaoRepo) {
+    public TarefaNotificacaoService(NotificacaoTarefaRepository notificacaoRepo,
+                                    ContadorNotificacoesNaoLidas contador,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TarefaRepository tarefaRepository,
+                                    JdbcTemplate jdbcTemplate) {
         this.notificacaoRepo = notificacaoRepo;
+        this.contador = contador;
+        this.eventPublisher = eventPublisher;
+        this.tarefaRepository = tarefaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * Primeira página da caixa de entrada do usuário atual
+     */
     @Transactional(readOnly = true)
     public List<NotificacaoTarefaDTO> getNotificacoes() {
-        return notificacaoRepo.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return getCaixaDeEntrada(null, null, false).getItems();
+    }
+
+    /**
+     * Página da caixa de entrada do usuário atual, mais recentes primeiro.
+     * Busca size + 1 linhas para saber se há próxima página sem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public NotificacaoTarefaFeedDTO getCaixaDeEntrada(String cursor, Integer size, boolean apenasNaoLidas) {
+        Long usuarioId = usuarioAtual();
+        int limite = size == null || size <= 0 ? PAGE_SIZE_PADRAO : Math.min(size, PAGE_SIZE_MAX);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        KeysetCursor posicao = KeysetCursor.decode(cursor);
+        List<NotificacaoTarefaDTO> linhas = posicao == null
+                ? notificacaoRepo.findInbox(usuarioId, apenasNaoLidas, pageable)
+                : notificacaoRepo.findInboxApos(usuarioId, apenasNaoLidas,
+                        posicao.getInstante(), posicao.getId(), pageable);
+
+        boolean hasMore = linhas.size() > limite;
+        List<NotificacaoTarefaDTO> items = hasMore ? new ArrayList<>(linhas.subList(0, limite)) : linhas;
+        String nextCursor = null;
+        if (hasMore) {
+            NotificacaoTarefaDTO ultima = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(ultima.getCreatedAt(), ultima.getId());
+        }
+        return new NotificacaoTarefaFeedDTO(items, nextCursor, hasMore, contador.naoLidas(usuarioId));
+    }
+
+    public long contarNaoLidas() {
+        return contador.naoLidas(usuarioAtual());
     }
 
     public NotificacaoTarefaDTO toDTO(NotificacaoTarefa notificacao) {
@@ -46,19 +137,204 @@ public class TarefaNotificacaoService {
         NotificacaoTarefa n = notificacaoRepo.findById(notificacaoId)
                 .orElseThrow(
                         () -> new ResourceNotFoundException("Notificação não encontrada com ID: " + notificacaoId));
+        Long usuarioId = usuarioAtual();
+        if (!usuarioId.equals(n.getUsuario().getId())) {
+            throw new ForbiddenException("Esta notificação pertence a outro usuário.");
+        }
+        if (n.isLida()) {
+            return;
+        }
         n.setLida(true);
         notificacaoRepo.save(n);
+        eventPublisher.publishEvent(NotificacaoTarefaEvent.lidas(this, usuarioId));
+    }
+
+    /**
+     * @return quantas notificações foram marcadas
+     */
+    @Transactional
+    public int marcarTodasLidas() {
+        Long usuarioId = usuarioAtual();
+        int marcadas = notificacaoRepo.marcarTodasLidas(usuarioId);
+        if (marcadas > 0) {
+            eventPublisher.publishEvent(NotificacaoTarefaEvent.lidas(this, usuarioId));
+        }
+        return marcadas;
+    }
+
+    /**
+     * Remove as notificações da tarefa (antes de excluí-la: a FK não tem cascade)
+     */
+    @Transactional
+    public void excluirDaTarefa(Long tarefaId) {
+        List<Long> afetados = notificacaoRepo.findUsuariosComNaoLidas(tarefaId);
+        notificacaoRepo.deleteByTarefaId(tarefaId);
+        afetados.forEach(usuarioId -> eventPublisher.publishEvent(NotificacaoTarefaEvent.recontar(this, usuarioId)));
+    }
+
+    @Transactional
+    public void enviarNotificacaoNovaTarefa(Tarefa tarefa) {
+        notificar(tarefa, true, TipoNotificacaoTarefa.ATRIBUICAO, TITULO_ATRIBUICAO, mensagemAtribuicao(nome(tarefa)));
+    }
+
+    /**
+     * Tarefa passada para outro responsável: avisa só o novo responsável
+     */
+    @Transactional
+    public void enviarNotificacaoAtribuicao(Tarefa tarefa) {
+        notificar(tarefa, false, TipoNotificacaoTarefa.ATRIBUICAO, TITULO_ATRIBUICAO, mensagemAtribuicao(nome(tarefa)));
+    }
+
+    @Transactional
+    public void enviarNotificacaoTarefaAtualizada(Tarefa tarefa, String campoAlterado) {
+        notificar(tarefa, true, TipoNotificacaoTarefa.ATUALIZACAO, TITULO_ATUALIZACAO,
+                mensagemAtualizacao(nome(tarefa), campoAlterado));
+    }
+
+    @Transactional
+    public void enviarNotificacaoTarefaConcluida(Tarefa tarefa) {
+        notificar(tarefa, true, TipoNotificacaoTarefa.CONCLUSAO, TITULO_CONCLUSAO, mensagemConclusao(nome(tarefa)));
+    }
+
+    // ── Operações em lote (a situação das tarefas já é a posterior à alteração) ──
+
+    /** Avisa o responsável atual de cada tarefa */
+    @Transactional
+    public void enviarAtribuicoesEmLote(List<TarefaResumoDTO> tarefas) {
+        notificarEmLote(tarefas, false, TipoNotificacaoTarefa.ATRIBUICAO, TITULO_ATRIBUICAO,
+                t -> mensagemAtribuicao(nome(t)));
+    }
+
+    @Transactional
+    public void enviarConclusoesEmLote(List<TarefaResumoDTO> tarefas) {
+        notificarEmLote(tarefas, true, TipoNotificacaoTarefa.CONCLUSAO, TITULO_CONCLUSAO,
+                t -> mensagemConclusao(nome(t)));
+    }
+
+    /**
+     * @param camposPorTarefa campos alterados (texto da mensagem) por id de tarefa
+     */
+    @Transactional
+    public void enviarAtualizacoesEmLote(List<TarefaResumoDTO> tarefas, Map<Long, String> camposPorTarefa) {
+        notificarEmLote(tarefas, true, TipoNotificacaoTarefa.ATUALIZACAO, TITULO_ATUALIZACAO,
+                t -> mensagemAtualizacao(nome(t), camposPorTarefa.get(t.getId())));
+    }
+
+    /**
+     * Uma notificação por (tarefa, destinatário), num único batch JDBC, e um evento por
+     * usuário com a quantidade recebida
+     */
+    private void notificarEmLote(List<TarefaResumoDTO> tarefas, boolean incluirParticipantes,
+                                 TipoNotificacaoTarefa tipo, String titulo,
+                                 Function<TarefaResumoDTO, String> mensagem) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> participantes = incluirParticipantes
+                ? participantesPorTarefa(tarefas.stream().map(TarefaResumoDTO::getId).collect(Collectors.toList()))
+                : Map.of();
+        Long autorId = SecurityUtils.getCurrentUserId();
+
+        List<Object[]> linhas = new ArrayList<>();
+        Map<Long, Integer> porUsuario = new LinkedHashMap<>();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        for (TarefaResumoDTO t : tarefas) {
+            Set<Long> destinatarios = new LinkedHashSet<>();
+            if (t.getResponsavelId() != null) {
+                destinatarios.add(t.getResponsavelId());
+            }
+            destinatarios.addAll(participantes.getOrDefault(t.getId(), Set.of()));
+            destinatarios.remove(autorId);
+            String texto = mensagem.apply(t);
+            for (Long usuarioId : destinatarios) {
+                linhas.add(new Object[] { t.getId(), usuarioId, tipo.name(), titulo, texto, agora });
+                porUsuario.merge(usuarioId, 1, Integer::sum);
+            }
+        }
+        if (linhas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICACAO, linhas);
+        porUsuario.forEach((usuarioId, qtd) ->
+                eventPublisher.publishEvent(NotificacaoTarefaEvent.recebidas(this, usuarioId, qtd)));
+        log.debug("Notificação {} em lote: {} notificações para {} usuário(s)", tipo, linhas.size(), porUsuario.size());
+    }
+
+    private Map<Long, Set<Long>> participantesPorTarefa(Collection<Long> tarefaIds) {
+        Map<Long, Set<Long>> participantes = new HashMap<>();
+        for (TarefaParticipanteDTO p : tarefaRepository.findParticipantesByTarefaIdIn(tarefaIds)) {
+            participantes.computeIfAbsent(p.getTarefaId(), id -> new LinkedHashSet<>()).add(p.getPessoaId());
+        }
+        return participantes;
+    }
+
+    /**
+     * Grava uma notificação para o responsável (e, se {@code incluirParticipantes}, cada
+     * participante) da tarefa, exceto quem fez a alteração
+     */
+    private void notificar(Tarefa tarefa, boolean incluirParticipantes, TipoNotificacaoTarefa tipo,
+                           String titulo, String mensagem) {
+        Map<Long, Pessoa> destinatarios = new LinkedHashMap<>();
+        if (tarefa.getResponsavel() != null) {
+            destinatarios.put(tarefa.getResponsavel().getId(), tarefa.getResponsavel());
+        }
+        if (incluirParticipantes && tarefa.getParticipantes() != null) {
+            tarefa.getParticipantes().forEach(p -> destinatarios.putIfAbsent(p.getId(), p));
+        }
+        Long autorId = SecurityUtils.getCurrentUserId();
+        if (autorId != null) {
+            destinatarios.remove(autorId);
+        }
+        if (destinatarios.isEmpty()) {
+            return;
+        }
+
+        List<NotificacaoTarefa> novas = new ArrayList<>();
+        for (Pessoa destinatario : destinatarios.values()) {
+            NotificacaoTarefa n = new NotificacaoTarefa();
+            n.setTarefa(tarefa);
+            n.setUsuario(destinatario);
+            n.setTipo(tipo);
+            n.setTitulo(titulo);
+            n.setMensagem(mensagem);
+            novas.add(n);
+        }
+        for (NotificacaoTarefa n : notificacaoRepo.saveAll(novas)) {
+            eventPublisher.publishEvent(NotificacaoTarefaEvent.criada(this, toDTO(n)));
+        }
+        log.debug("Notificação {} da tarefa {} para {} usuário(s)", tipo, tarefa.getId(), novas.size());
+    }
+
+    /** Tarefas criadas por template não têm título; usa a descrição */
+    private static String nome(Tarefa tarefa) {
+        return nome(tarefa.getTitulo(), tarefa.getDescricao());
+    }
+
+    private static String nome(TarefaResumoDTO tarefa) {
+        return nome(tarefa.getTitulo(), tarefa.getDescricao());
+    }
+
+    private static String nome(String titulo, String descricao) {
+        return titulo != null && !titulo.isBlank() ? titulo : descricao;
+    }
+
+    private static String mensagemAtribuicao(String nome) {
+        return String.format("Você foi designado para a tarefa \"%s\".", nome);
     }
 
-    public void enviarNotificacaoNovaTarefa(com.smartmeeting.model.Tarefa tarefa) {
-        // Stub
+    private static String mensagemAtualizacao(String nome, String campos) {
+        return String.format("A tarefa \"%s\" foi atualizada: %s.", nome, campos);
     }
 
-    public void enviarNotificacaoTarefaAtualizada(com.smartmeeting.model.Tarefa tarefa, String campoAlterado) {
-        // Stub
+    private static String mensagemConclusao(String nome) {
+        return String.format("A tarefa \"%s\" foi concluída.", nome);
     }
 
-    public void enviarNotificacaoTarefaConcluida(com.smartmeeting.model.Tarefa tarefa) {
-        // Stub
+    private Long usuarioAtual() {
+        Long usuarioId = SecurityUtils.getCurrentUserId();
+        if (usuarioId == null) {
+            throw new ForbiddenException("Usuário não autenticado.");
+        }
+        return usuarioId;
     }
 }
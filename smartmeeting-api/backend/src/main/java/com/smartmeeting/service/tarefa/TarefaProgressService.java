@@ -19,6 +19,7 @@ public class TarefaProgressService {
 
     private final TarefaRepository tarefaRepository;
     private final TarefaMapperService tarefaMapper;
+    private final TarefaNotificacaoService notificacaoService;
 
     @Transactional
     public TarefaDTO atualizarProgresso(Long tarefaId, Integer progresso) {
@@ -31,6 +32,7 @@ public class TarefaProgressService {
 
         logger.info("Atualizando progresso da tarefa ID {} para {}%", tarefaId, progresso);
         tarefa.setProgresso(progresso);
+        boolean concluidaAntes = tarefa.isConcluida();
 
         if (progresso == 100) {
             tarefa.setConcluida(true);
@@ -39,6 +41,9 @@ public class TarefaProgressService {
         }
 
         Tarefa atualizada = tarefaRepository.save(tarefa);
+        if (!concluidaAntes && atualizada.isConcluida()) {
+            notificacaoService.enviarNotificacaoTarefaConcluida(atualizada);
+        }
         return tarefaMapper.toDTO(atualizada);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.smartmeeting.service.tarefa;
 
 import com.smartmeeting.dto.TarefaDTO;
+import com.smartmeeting.dto.TarefaResumoDTO;
+import com.smartmeeting.exception.BadRequestException;
 import com.smartmeeting.exception.ResourceNotFoundException;
 import com.smartmeeting.mapper.TarefaMapperService;
 import com.smartmeeting.model.Tarefa;
@@ -9,10 +11,13 @@ import com.smartmeeting.repository.TarefaRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +26,9 @@ public class TarefaSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(TarefaSearchService.class);
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 200;
+
     private final TarefaRepository tarefaRepository;
     private final ReuniaoRepository reuniaoRepository;
     private final TarefaMapperService tarefaMapper;
@@ -96,8 +104,9 @@ public class TarefaSearchService {
                 .collect(Collectors.toList());
     }
 
-    public List<TarefaDTO> getTarefasVencendo(Integer dias) {
-        return statisticsService.getTarefasVencendo(dias);
+    public List<TarefaResumoDTO> getTarefasVencendo(Integer dias, Long projectId, Long responsavelId,
+                                                    int page, int size) {
+        return statisticsService.getTarefasVencendo(dias, projectId, responsavelId, page, size);
     }
 
     public List<TarefaDTO> getTarefasPorReuniao(Long reuniaoId) {
@@ -123,37 +132,26 @@ public class TarefaSearchService {
                 : "Todas as tarefas estão concluídas.";
     }
 
-    public List<TarefaDTO> getTarefasDoUsuarioAtual() {
+    /**
+     * Tarefas do usuário logado (responsável, participante ou criador), paginadas
+     */
+    public List<TarefaResumoDTO> getTarefasDoUsuarioAtual(int page, int size) {
         Long currentUserId = com.smartmeeting.util.SecurityUtils.getCurrentUserId();
         if (currentUserId == null) {
             return List.of();
         }
-
-        String currentUserIdStr = String.valueOf(currentUserId);
-
-        return tarefaRepository.findAll().stream()
-                .filter(t -> {
-                    // responsável principal
-                    if (t.getResponsavel() != null
-                            && t.getResponsavel().getId() != null
-                            && t.getResponsavel().getId().equals(currentUserId)) {
-                        return true;
-                    }
-
-                    // participantes
-                    if (t.getParticipantes() != null
-                            && t.getParticipantes().stream()
-                            .anyMatch(p -> p != null
-                                    && p.getId() != null
-                                    && p.getId().equals(currentUserId))) {
-                        return true;
-                    }
-
-                    // criador
-                    return t.getCreatedBy() != null
-                            && t.getCreatedBy().equals(currentUserIdStr);
-                })
-                .map(tarefaMapper::toDTO)
-                .collect(Collectors.toList());
+        if (page < 0) {
+            throw new BadRequestException("page deve ser maior ou igual a zero");
+        }
+        int tamanho = size <= 0 ? TAMANHO_PAGINA_PADRAO : Math.min(size, TAMANHO_PAGINA_MAXIMO);
+
+        // A auditoria grava o e-mail em CREATED_BY; registros antigos podem ter o id
+        Set<String> criadores = new HashSet<>();
+        criadores.add(String.valueOf(currentUserId));
+        String username = com.smartmeeting.util.SecurityUtils.getCurrentUsername();
+        if (username != null) {
+            criadores.add(username);
+        }
+        return tarefaRepository.findDoUsuario(currentUserId, criadores, PageRequest.of(page, tamanho));
     }
 }
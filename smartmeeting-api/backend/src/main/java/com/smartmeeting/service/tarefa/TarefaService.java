@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ public class TarefaService {
     private final TarefaTemplateService templateService;
     private final TarefaNotificacaoService notificacaoService;
     private final TarefaAssigneeService assigneeService;
+    private final TarefaLoteService loteService;
 
     private final KanbanService kanbanService;
     private final com.smartmeeting.service.reuniao.ReuniaoService reuniaoService;
@@ -56,6 +58,10 @@ public class TarefaService {
         return crudService.criar(dto);
     }
 
+    public TarefaLoteResultadoDTO executarEmLote(TarefaLoteRequest request) {
+        return loteService.executar(request);
+    }
+
     public TarefaDTO atualizar(Long id, TarefaDTO dto) {
         return crudService.atualizar(id, dto);
     }
@@ -87,8 +93,9 @@ public class TarefaService {
         return searchService.buscarPorTexto(termo, filtros);
     }
 
-    public List<TarefaDTO> getTarefasVencendo(Integer dias) {
-        return searchService.getTarefasVencendo(dias);
+    public List<TarefaResumoDTO> getTarefasVencendo(Integer dias, Long projectId, Long responsavelId,
+                                                    int page, int size) {
+        return searchService.getTarefasVencendo(dias, projectId, responsavelId, page, size);
     }
 
     public List<TarefaDTO> getTarefasPorReuniao(Long reuniaoId) {
@@ -99,8 +106,8 @@ public class TarefaService {
         return searchService.verificarPendencias(idReuniao);
     }
 
-    public List<TarefaDTO> getTarefasDoUsuarioAtual() {
-        return searchService.getTarefasDoUsuarioAtual();
+    public List<TarefaResumoDTO> getTarefasDoUsuarioAtual(int page, int size) {
+        return searchService.getTarefasDoUsuarioAtual(page, size);
     }
 
     public ReuniaoDTO buscarReuniaoPorId(Long reuniaoId) {
@@ -128,11 +135,19 @@ public class TarefaService {
         return historyService.getHistoricoTarefa(tarefaId);
     }
 
+    public TarefaHistoryFeedDTO buscarHistoricoProjetoFeed(Long projectId, String cursor, Integer size) {
+        return historyService.getHistoricoProjectFeed(projectId, cursor, size);
+    }
+
     // Statistics
     public TarefaStatisticsDTO getTarefaStatistics() {
         return statisticsService.getTarefaStatistics();
     }
 
+    public TarefaStatisticsDTO getTarefaStatistics(Long projectId, LocalDate inicio, LocalDate fim) {
+        return statisticsService.getTarefaStatistics(projectId, inicio, fim);
+    }
+
     public long countByProjeto(Long projetoId) {
         return statisticsService.countByProjeto(projetoId);
     }
@@ -247,10 +262,22 @@ public class TarefaService {
         return notificacaoService.getNotificacoes();
     }
 
+    public NotificacaoTarefaFeedDTO getCaixaDeEntrada(String cursor, Integer size, boolean apenasNaoLidas) {
+        return notificacaoService.getCaixaDeEntrada(cursor, size, apenasNaoLidas);
+    }
+
+    public long contarNotificacoesNaoLidas() {
+        return notificacaoService.contarNaoLidas();
+    }
+
     public void marcarNotificacaoLida(Long notificacaoId) {
         notificacaoService.marcarNotificacaoLida(notificacaoId);
     }
 
+    public int marcarTodasNotificacoesLidas() {
+        return notificacaoService.marcarTodasLidas();
+    }
+
     public void enviarNotificacaoNovaTarefa(Tarefa tarefa) {
         notificacaoService.enviarNotificacaoNovaTarefa(tarefa);
     }
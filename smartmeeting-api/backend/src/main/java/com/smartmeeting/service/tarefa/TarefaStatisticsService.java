@@ -1,142 +1,213 @@
 package com.smartmeeting.service.tarefa;
 
-import com.smartmeeting.dto.TarefaDTO;
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.TarefaResumoDTO;
 import com.smartmeeting.dto.TarefaStatisticsDTO;
 import com.smartmeeting.enums.PrioridadeTarefa;
-import com.smartmeeting.model.Tarefa;
+import com.smartmeeting.exception.BadRequestException;
 import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.service.dashboard.DashboardContadores;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+/**
+ * Estatísticas de tarefas.
+ * <ul>
+ * <li>Sem filtros, as contagens por coluna, prioridade e responsável vêm dos
+ * {@link DashboardContadores}; com projeto ou período, de agregações GROUP BY no banco.</li>
+ * <li>Vencendo/atrasadas dependem da data de hoje e são sempre contadas no banco.</li>
+ * <li>Tempo médio de conclusão e produtividade semanal usam DATA_CONCLUSAO e a data
+ * de criação, para conclusões dentro do período (padrão: últimas 8 semanas). A coluna é
+ * limpa quando a tarefa é reaberta (por entidade ou em lote) e é indexada; o STATUS_CHANGED
+ * do histórico não serviria, pois a retenção o move para o arquivo.</li>
+ * </ul>
+ */
 @Service
 public class TarefaStatisticsService {
 
+        private static final Logger log = LoggerFactory.getLogger(TarefaStatisticsService.class);
+
+        private static final int DIAS_VENCENDO = 3;
+        private static final int SEMANAS_PERIODO_PADRAO = 8;
+        private static final int TAMANHO_PAGINA_PADRAO = 50;
+        private static final int TAMANHO_PAGINA_MAXIMO = 200;
+
         private final TarefaRepository tarefaRepository;
+        private final DashboardContadores contadores;
 
-        public TarefaStatisticsService(TarefaRepository tarefaRepository) {
+        public TarefaStatisticsService(TarefaRepository tarefaRepository, DashboardContadores contadores) {
                 this.tarefaRepository = tarefaRepository;
+                this.contadores = contadores;
         }
 
-        @Transactional(readOnly = true)
         public TarefaStatisticsDTO getTarefaStatistics() {
-                List<Tarefa> todasTarefas = tarefaRepository.findAll();
-                LocalDateTime now = LocalDateTime.now();
-
-                long total = todasTarefas.size();
-
-                // ===== AGRUPAMENTO POR COLUNA KANBAN (DINÂMICO) =====
-                Map<String, Long> porStatus = todasTarefas.stream()
-                        .filter(t -> t.getColumn() != null)
-                        .collect(Collectors.groupingBy(
-                                t -> t.getColumn().getTitle(),
-                                Collectors.counting()
-                        ));
-
-                Map<PrioridadeTarefa, Long> porPrioridade = todasTarefas.stream()
-                        .map(this::withDefaultPrioridade)
-                        .collect(Collectors.groupingBy(
-                                Tarefa::getPrioridade,
-                                Collectors.counting()
-                        ));
-
-                List<TarefaStatisticsDTO.ResponsavelStatsDTO> porResponsavel =
-                        todasTarefas.stream()
-                                .filter(t -> t.getResponsavel() != null)
-                                .collect(Collectors.groupingBy(
-                                        t -> t.getResponsavel().getNome(),
-                                        Collectors.collectingAndThen(
-                                                Collectors.toList(),
-                                                tarefasDoResponsavel -> {
-                                                        long totalResp = tarefasDoResponsavel.size();
-                                                        long concluidasResp = tarefasDoResponsavel.stream()
-                                                                .filter(Tarefa::isConcluida)
-                                                                .count();
-
-                                                        return new TarefaStatisticsDTO.ResponsavelStatsDTO(
-                                                                tarefasDoResponsavel.get(0).getResponsavel().getNome(),
-                                                                totalResp,
-                                                                concluidasResp
-                                                        );
-                                                }
-                                        )
-                                ))
-                                .values()
-                                .stream()
-                                .collect(Collectors.toList());
-
-                long tarefasConcluidas = todasTarefas.stream()
-                        .filter(Tarefa::isConcluida)
-                        .count();
-
-                double taxaConclusao = total > 0
-                        ? (double) tarefasConcluidas / total
-                        : 0.0;
-
-                long tarefasVencendo = todasTarefas.stream()
-                        .filter(t -> t.getPrazo() != null
-                                && t.getPrazo().isAfter(now.toLocalDate())
-                                && t.getPrazo().isBefore(now.toLocalDate().plusDays(3))
-                                && !t.isConcluida())
-                        .count();
-
-                long tarefasAtrasadas = todasTarefas.stream()
-                        .filter(t -> t.getPrazo() != null
-                                && t.getPrazo().isBefore(now.toLocalDate())
-                                && !t.isConcluida())
-                        .count();
-
-                double mediaTempoConclusao = 0.0;
-                List<TarefaStatisticsDTO.ProdutividadeSemanaDTO> produtividadeSemana = List.of();
-
-                return new TarefaStatisticsDTO(
-                        total,
-                        porStatus,            // ✔ agora Map<String, Long>
-                        porPrioridade,
-                        porResponsavel,
-                        taxaConclusao,
-                        tarefasVencendo,
-                        tarefasAtrasadas,
-                        mediaTempoConclusao,
-                        produtividadeSemana
-                );
+                return getTarefaStatistics(null, null, null);
         }
 
+        /**
+         * @param projectId opcional; restringe tudo ao projeto
+         * @param inicio    opcional; primeiro dia do período (inclusivo)
+         * @param fim       opcional; último dia do período (inclusivo)
+         */
         @Transactional(readOnly = true)
-        public List<TarefaDTO> getTarefasVencendo(Integer dias) {
-                if (dias == null || dias < 0) {
-                        dias = 3;
+        public TarefaStatisticsDTO getTarefaStatistics(Long projectId, LocalDate inicio, LocalDate fim) {
+                LocalDate hoje = LocalDate.now();
+                if (inicio != null && fim != null && fim.isBefore(inicio)) {
+                        throw new BadRequestException("A data final deve ser igual ou posterior à inicial");
+                }
+                LocalDate periodoFim = fim != null ? fim : hoje;
+                LocalDate periodoInicio = inicio != null ? inicio
+                        : periodoFim.minusWeeks(SEMANAS_PERIODO_PADRAO).plusDays(1);
+
+                TarefaStatisticsDTO dto = new TarefaStatisticsDTO();
+                if (projectId == null && inicio == null && fim == null) {
+                        preencherDosContadores(dto);
+                } else {
+                        preencherAgregado(dto, projectId,
+                                inicio != null ? inicio.atStartOfDay() : null,
+                                fim != null ? fim.plusDays(1).atStartOfDay() : null);
+                }
+
+                // Prazo estritamente entre hoje e hoje + 3
+                dto.setTarefasVencendo(tarefaRepository.contarAbertasComPrazoEntre(
+                        projectId, hoje.plusDays(1), hoje.plusDays(DIAS_VENCENDO - 1L)));
+                dto.setTarefasAtrasadas(tarefaRepository.contarAbertasComPrazoAntes(projectId, hoje));
+
+                LocalDateTime de = periodoInicio.atStartOfDay();
+                LocalDateTime ate = periodoFim.plusDays(1).atStartOfDay();
+                Double mediaMinutos = tarefaRepository.mediaMinutosConclusao(projectId, de, ate);
+                dto.setMediaTempoConclusao(mediaMinutos != null ? Math.round(mediaMinutos / 60.0 * 100.0) / 100.0 : 0.0);
+                dto.setProdutividadeSemana(produtividadeSemanal(
+                        tarefaRepository.contarConclusoesPorDia(projectId, de, ate), periodoInicio, periodoFim));
+                dto.setPeriodoInicio(periodoInicio);
+                dto.setPeriodoFim(periodoFim);
+                return dto;
+        }
+
+        private void preencherDosContadores(TarefaStatisticsDTO dto) {
+                long total = contadores.getTotalTarefas();
+                dto.setTotal(total);
+                dto.setTaxaConclusao(total > 0 ? (double) contadores.getTarefasConcluidas() / total : 0.0);
+                dto.setPorStatus(contadores.getTarefasPorColuna());
+                dto.setPorPrioridade(contadores.getTarefasPorPrioridade());
+                dto.setPorResponsavel(contadores.getTarefasPorResponsavel());
+        }
+
+        private void preencherAgregado(TarefaStatisticsDTO dto, Long projectId,
+                                       LocalDateTime inicio, LocalDateTime fim) {
+                long total = 0;
+                long concluidas = 0;
+                for (ContagemDTO c : tarefaRepository.contarPorConclusao(projectId, inicio, fim)) {
+                        total += c.getTotal();
+                        if (Boolean.TRUE.equals(c.getChave())) {
+                                concluidas = c.getTotal();
+                        }
+                }
+                dto.setTotal(total);
+                dto.setTaxaConclusao(total > 0 ? (double) concluidas / total : 0.0);
+
+                Map<String, Long> porColuna = new LinkedHashMap<>();
+                for (ContagemDTO c : tarefaRepository.contarPorColuna(projectId, inicio, fim)) {
+                        porColuna.put((String) c.getChave(), c.getTotal());
+                }
+                dto.setPorStatus(porColuna);
+
+                Map<PrioridadeTarefa, Long> porPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+                for (ContagemDTO c : tarefaRepository.contarPorPrioridade(projectId, inicio, fim)) {
+                        PrioridadeTarefa p = c.getChave() != null ? (PrioridadeTarefa) c.getChave() : PrioridadeTarefa.MEDIA;
+                        porPrioridade.merge(p, c.getTotal(), Long::sum);
                 }
+                dto.setPorPrioridade(porPrioridade);
 
-                LocalDate dataLimite = LocalDate.now().plusDays(dias);
-
-                return tarefaRepository.findAll().stream()
-                        .filter(t -> t.getPrazo() != null
-                                && !t.isConcluida()
-                                && t.getPrazo().isAfter(LocalDate.now())
-                                && t.getPrazo().isBefore(dataLimite))
-                        .map(t -> {
-                                TarefaDTO dto = new TarefaDTO();
-                                dto.setId(t.getId());
-                                dto.setTitulo(t.getTitulo());
-                                dto.setDescricao(t.getDescricao());
-                                dto.setPrazo(t.getPrazo());
-                                dto.setConcluida(t.isConcluida());
-                                return dto;
-                        })
+                // Agrupado por id; responsáveis homônimos somam, como na visão geral
+                Map<String, long[]> porResponsavel = new TreeMap<>();
+                for (ContagemDTO c : tarefaRepository.contarPorResponsavel(projectId, inicio, fim)) {
+                        porResponsavel.computeIfAbsent((String) c.getChave(), k -> new long[2])[0] += c.getTotal();
+                }
+                for (ContagemDTO c : tarefaRepository.contarConcluidasPorResponsavel(projectId, inicio, fim)) {
+                        porResponsavel.computeIfAbsent((String) c.getChave(), k -> new long[2])[1] += c.getTotal();
+                }
+                dto.setPorResponsavel(porResponsavel.entrySet().stream()
+                        .map(e -> new TarefaStatisticsDTO.ResponsavelStatsDTO(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                        .collect(Collectors.toList()));
+        }
+
+        /**
+         * Soma as conclusões diárias por semana (segunda-feira como início), incluindo semanas zeradas
+         */
+        private static List<TarefaStatisticsDTO.ProdutividadeSemanaDTO> produtividadeSemanal(
+                List<ContagemDTO> porDia, LocalDate inicio, LocalDate fim) {
+                Map<LocalDate, Long> porSemana = new TreeMap<>();
+                for (LocalDate semana = inicioDaSemana(inicio); !semana.isAfter(fim); semana = semana.plusWeeks(1)) {
+                        porSemana.put(semana, 0L);
+                }
+                for (ContagemDTO c : porDia) {
+                        porSemana.merge(inicioDaSemana((LocalDate) c.getChave()), c.getTotal(), Long::sum);
+                }
+                return porSemana.entrySet().stream()
+                        .map(e -> new TarefaStatisticsDTO.ProdutividadeSemanaDTO(e.getKey().toString(), e.getValue()))
                         .collect(Collectors.toList());
         }
 
-        private Tarefa withDefaultPrioridade(Tarefa tarefa) {
-                if (tarefa.getPrioridade() == null) {
-                        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        private static LocalDate inicioDaSemana(LocalDate data) {
+                return data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        /**
+         * Backfill: CREATED_DATE a partir do histórico e DATA_CONCLUSAO das já concluídas
+         */
+        @EventListener(ApplicationReadyEvent.class)
+        @Transactional
+        public void preencherDatasLegadas() {
+                int criadas = tarefaRepository.preencherCreatedDateAusente();
+                int concluidas = tarefaRepository.preencherDataConclusaoAusente();
+                if (criadas > 0 || concluidas > 0) {
+                        log.info("Datas de tarefas preenchidas a partir do histórico: {} criação, {} conclusão",
+                                criadas, concluidas);
+                }
+        }
+
+        /**
+         * Tarefas abertas com prazo depois de hoje e antes de hoje + dias, por prazo
+         *
+         * @param projectId     opcional
+         * @param responsavelId opcional
+         */
+        @Transactional(readOnly = true)
+        public List<TarefaResumoDTO> getTarefasVencendo(Integer dias, Long projectId, Long responsavelId,
+                                                        int page, int size) {
+                if (dias == null || dias < 0) {
+                        dias = DIAS_VENCENDO;
+                }
+                if (page < 0) {
+                        throw new BadRequestException("page deve ser maior ou igual a zero");
+                }
+                int tamanho = size <= 0 ? TAMANHO_PAGINA_PADRAO : Math.min(size, TAMANHO_PAGINA_MAXIMO);
+
+                LocalDate hoje = LocalDate.now();
+                if (dias < 2) {
+                        // Nenhum dia entre hoje e hoje + dias (exclusivos)
+                        return List.of();
                 }
-                return tarefa;
+                return tarefaRepository.findAbertasComPrazoEntre(
+                        hoje.plusDays(1), hoje.plusDays(dias - 1L), projectId, responsavelId,
+                        PageRequest.of(page, tamanho));
         }
 
         public long countByProjeto(Long projetoId) {
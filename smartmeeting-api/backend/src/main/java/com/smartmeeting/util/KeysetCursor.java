@@ -0,0 +1,61 @@
+package com.smartmeeting.util;
+
+import com.smartmeeting.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação keyset em (instante, id).
+ * O cliente apenas devolve o valor recebido em {@code nextCursor}.
+ */
+public final class KeysetCursor {
+
+    private final LocalDateTime instante;
+    private final Long id;
+
+    private KeysetCursor(LocalDateTime instante, Long id) {
+        this.instante = instante;
+        this.id = id;
+    }
+
+    public LocalDateTime getInstante() {
+        return instante;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Codifica a posição da última linha retornada
+     */
+    public static String encode(LocalDateTime instante, Long id) {
+        String raw = instante + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente; nulo ou vazio indica a primeira página
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep <= 0) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido", e);
+        }
+    }
+}
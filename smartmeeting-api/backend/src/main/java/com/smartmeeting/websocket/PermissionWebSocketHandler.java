@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
@@ -18,15 +19,26 @@ public class PermissionWebSocketHandler extends TextWebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(PermissionWebSocketHandler.class);
 
+    // Limites do buffer de envio por sessão (tempo e bytes pendentes)
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT = 64 * 1024;
+
     private final Map<Long, WebSocketSession> userSessions = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper;
+
+    public PermissionWebSocketHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         // Usuário identificado pelo JwtHandshakeInterceptor — sem necessidade de mensagem "register"
         Object userId = session.getAttributes().get("userId");
         if (userId instanceof Long) {
-            userSessions.put((Long) userId, session);
+            // Decorada: permissões e notificações podem ser enviadas de threads diferentes,
+            // e WebSocketSession.sendMessage não aceita envios concorrentes
+            userSessions.put((Long) userId,
+                    new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT));
             logger.info("Usuário {} conectado via WebSocket (sessão {})", userId, session.getId());
         } else {
             logger.warn("Sessão {} sem userId nos atributos — ignorada", session.getId());
@@ -76,6 +88,26 @@ public class PermissionWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * Envia {@code payload} (serializado em JSON) para a sessão do usuário.
+     *
+     * @return {@code false} se o usuário não está conectado ou o envio falhou
+     */
+    public boolean sendToUser(Long userId, Object payload) {
+        WebSocketSession session = userSessions.get(userId);
+        if (session == null || !session.isOpen()) {
+            logger.debug("Usuário {} sem sessão WS ativa — mensagem ignorada", userId);
+            return false;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Falha ao enviar para userId={}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Mantido para compatibilidade — usa projectId 0 quando não disponível.
      */
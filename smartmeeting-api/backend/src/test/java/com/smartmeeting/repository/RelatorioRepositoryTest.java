@@ -0,0 +1,141 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.ContagemDTO;
+import com.smartmeeting.dto.DuracaoReunioesDTO;
+import com.smartmeeting.dto.ProdutividadeResponsavelDTO;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.model.Presenca;
+import com.smartmeeting.model.Reuniao;
+import com.smartmeeting.model.Tarefa;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Agregados de relatório com filtros opcionais: para cada combinação de projeto, início
+ * e fim, as contagens batem com as linhas filtradas uma a uma, e filtro ausente não entra
+ * na consulta.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:relatorio-filtros;DB_CLOSE_DELAY=-1")
+class RelatorioRepositoryTest {
+
+    // data.sql: reuniões e prazos de tarefas em novembro de 2025
+    private static final List<Long> PROJETOS = Arrays.asList(null, 1L);
+    private static final List<LocalDate> INICIOS = Arrays.asList(null, LocalDate.of(2025, 11, 10));
+    private static final List<LocalDate> FINS = Arrays.asList(null, LocalDate.of(2025, 11, 25));
+
+    @Autowired
+    private ReuniaoRepository reuniaoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private PresencaRepository presencaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void filtroAusente_naoEntraNaConsulta() {
+        assertEquals("", new FiltroJpql().igual("r.project.id", "projectId", null).where());
+        String where = new FiltroJpql()
+                .igual("r.project.id", "projectId", 1L)
+                .aPartirDe("r.dataHoraInicio", "inicio", null)
+                .ate("r.dataHoraInicio", "fim", LocalDateTime.now())
+                .where();
+        assertEquals("WHERE r.project.id = :projectId AND r.dataHoraInicio <= :fim ", where);
+    }
+
+    @Test
+    void agregados_batemComAsLinhasFiltradas() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            List<Reuniao> reunioes = reuniaoRepository.findAll();
+            List<Tarefa> tarefas = tarefaRepository.findAll();
+            List<Presenca> presencas = presencaRepository.findAll();
+
+            for (Long projectId : PROJETOS) {
+                for (LocalDate inicio : INICIOS) {
+                    for (LocalDate fim : FINS) {
+                        String caso = projectId + " " + inicio + " " + fim;
+                        LocalDateTime de = inicio != null ? inicio.atStartOfDay() : null;
+                        LocalDateTime ate = fim != null ? fim.atTime(23, 59, 59) : null;
+                        Predicate<Reuniao> reuniaoNoFiltro = r -> mesmo(projectId, r.getProject() != null ? r.getProject().getId() : null)
+                                && (de == null || !r.getDataHoraInicio().isBefore(de))
+                                && (ate == null || !r.getDataHoraInicio().isAfter(ate));
+                        Predicate<Tarefa> tarefaNoFiltro = t -> mesmo(projectId, t.getProject() != null ? t.getProject().getId() : null)
+                                && (inicio == null || (t.getPrazo() != null && !t.getPrazo().isBefore(inicio)))
+                                && (fim == null || (t.getPrazo() != null && !t.getPrazo().isAfter(fim)));
+
+                        Map<Object, Long> porSala = reunioes.stream().filter(reuniaoNoFiltro)
+                                .collect(Collectors.groupingBy(
+                                        r -> r.getSala() != null ? r.getSala().getNome() : "-", Collectors.counting()));
+                        assertEquals(porSala, mapa(reuniaoRepository.contarPorSala(projectId, de, ate)), caso);
+
+                        List<Reuniao> finalizadas = reunioes.stream().filter(reuniaoNoFiltro)
+                                .filter(r -> r.getStatus() == StatusReuniao.FINALIZADA).toList();
+                        DuracaoReunioesDTO duracao = reuniaoRepository.resumirDuracao(
+                                projectId, de, ate, StatusReuniao.FINALIZADA);
+                        assertEquals(finalizadas.size(), duracao.getTotal(), caso);
+                        assertEquals(finalizadas.stream().mapToLong(Reuniao::getDuracaoMinutos).sum(),
+                                duracao.getSoma() != null ? duracao.getSoma() : 0L, caso);
+
+                        Map<Object, Long> porConclusao = tarefas.stream().filter(tarefaNoFiltro)
+                                .collect(Collectors.groupingBy(Tarefa::isConcluida, Collectors.counting()));
+                        assertEquals(porConclusao,
+                                mapa(tarefaRepository.contarPorConclusaoNoPrazo(projectId, inicio, fim)), caso);
+
+                        Map<Long, Long> porResponsavel = tarefas.stream().filter(tarefaNoFiltro)
+                                .filter(t -> t.getResponsavel() != null)
+                                .collect(Collectors.groupingBy(t -> t.getResponsavel().getId(), Collectors.counting()));
+                        Map<Long, Long> produtividade = tarefaRepository.produtividadePorResponsavel(projectId, inicio, fim)
+                                .stream()
+                                .collect(Collectors.toMap(ProdutividadeResponsavelDTO::getResponsavelId,
+                                        ProdutividadeResponsavelDTO::getTotal));
+                        assertEquals(porResponsavel, produtividade, caso);
+
+                        for (Long pessoaId : Arrays.asList(null, 1L)) {
+                            Map<Object, Long> porPessoa = presencas.stream()
+                                    .filter(p -> reuniaoNoFiltro.test(p.getReuniao()))
+                                    .filter(p -> mesmo(pessoaId, p.getParticipante().getId()))
+                                    .collect(Collectors.groupingBy(p -> p.getParticipante().getNome(), Collectors.counting()));
+                            assertEquals(porPessoa,
+                                    mapa(presencaRepository.contarPorPessoa(pessoaId, projectId, de, ate)), caso + " " + pessoaId);
+                        }
+                    }
+                }
+            }
+            // O filtro completo tem que recortar algo, senão o teste não distingue os casos
+            assertTrue(reuniaoRepository.contarPorSala(1L, INICIOS.get(1).atStartOfDay(), null).stream()
+                    .mapToLong(ContagemDTO::getTotal).sum() < reunioes.size());
+        });
+    }
+
+    private static boolean mesmo(Long filtro, Long valor) {
+        return filtro == null || Objects.equals(filtro, valor);
+    }
+
+    private static Map<Object, Long> mapa(List<ContagemDTO> contagens) {
+        Map<Object, Long> mapa = new HashMap<>();
+        contagens.forEach(c -> mapa.put(c.getChave() != null ? c.getChave() : "-", c.getTotal()));
+        return mapa;
+    }
+}
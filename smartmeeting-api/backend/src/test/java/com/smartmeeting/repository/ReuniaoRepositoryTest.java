@@ -0,0 +1,86 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Presenca;
+import com.smartmeeting.model.Reuniao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Participantes sem presença ({@link ReuniaoRepository#findParticipantesSemPresenca}):
+ * só reuniões com o status e o início pedidos, sem quem já registrou presença.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:participantes-sem-presenca;DB_CLOSE_DELAY=-1")
+class ReuniaoRepositoryTest {
+
+    @Autowired
+    private ReuniaoRepository reuniaoRepository;
+
+    @Autowired
+    private PresencaRepository presencaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void participantesSemPresenca_paresDaJanelaEStatus() {
+        LocalDateTime inicio = LocalDate.now().plusYears(3).atTime(14, 0);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        List<Long> ids = tx.execute(s -> {
+            Pessoa a = pessoaRepository.getReferenceById(1L);
+            Pessoa b = pessoaRepository.getReferenceById(2L);
+            Pessoa c = pessoaRepository.getReferenceById(3L);
+            Reuniao emAndamento = salvar(1L, inicio, StatusReuniao.EM_ANDAMENTO, a, b, c);
+            Reuniao outraEmAndamento = salvar(2L, inicio.plusMinutes(10), StatusReuniao.EM_ANDAMENTO, a);
+            salvar(3L, inicio, StatusReuniao.AGENDADA, a);
+            salvar(4L, inicio.minusHours(2), StatusReuniao.EM_ANDAMENTO, a);
+
+            Presenca presenca = new Presenca();
+            presenca.setReuniao(emAndamento);
+            presenca.setParticipante(b);
+            presenca.setHoraEntrada(inicio.plusMinutes(2));
+            presencaRepository.save(presenca);
+            return List.of(emAndamento.getId(), outraEmAndamento.getId());
+        });
+
+        List<String> pares = reuniaoRepository.findParticipantesSemPresenca(
+                        inicio.minusMinutes(30), inicio.plusMinutes(30), StatusReuniao.EM_ANDAMENTO).stream()
+                .map(p -> p.getReuniao().getId() + ":" + p.getParticipante().getId())
+                .toList();
+
+        assertEquals(List.of(ids.get(0) + ":1", ids.get(0) + ":3", ids.get(1) + ":1"), pares);
+    }
+
+    private Reuniao salvar(Long salaId, LocalDateTime inicio, StatusReuniao status, Pessoa... participantes) {
+        Reuniao reuniao = new Reuniao();
+        reuniao.setTitulo("Presença " + status);
+        reuniao.setPauta("Pauta");
+        reuniao.setAta("");
+        reuniao.setDataHoraInicio(inicio);
+        reuniao.setDuracaoMinutos(60);
+        reuniao.setStatus(status);
+        reuniao.setSala(salaRepository.getReferenceById(salaId));
+        reuniao.setParticipantes(List.of(participantes));
+        return reuniaoRepository.save(reuniao);
+    }
+}
@@ -0,0 +1,108 @@
+package com.smartmeeting.repository;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.TarefaResumoDTO;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.enums.TipoUsuario;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Tarefa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tarefas do usuário ({@link TarefaRepository#findDoUsuario}): responsável, participante
+ * ou criador, sem repetição, abertas primeiro e por prazo.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:tarefas-do-usuario;DB_CLOSE_DELAY=-1")
+class TarefaRepositoryTest {
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tarefasDoUsuario_responsavelParticipanteECriador() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDate hoje = LocalDate.now();
+        Pessoa usuario = tx.execute(s -> pessoaRepository.save(pessoa("Usuária Consulta", "usuaria.consulta@smart.com")));
+        Pessoa outra = tx.execute(s -> pessoaRepository.save(pessoa("Outra Pessoa", "outra.pessoa@smart.com")));
+
+        autenticar(outra.getEmail());
+        Long responsavel = tx.execute(s -> salvar("Responsável", hoje.plusDays(10), false, usuario, null));
+        Long participante = tx.execute(s -> salvar("Participante", hoje.plusDays(5), false, outra, usuario));
+        // Responsável e participante ao mesmo tempo: aparece uma vez
+        Long ambos = tx.execute(s -> salvar("Ambos", hoje.plusDays(7), false, usuario, usuario));
+        Long concluida = tx.execute(s -> salvar("Concluída", hoje, true, usuario, null));
+        tx.execute(s -> salvar("De outra pessoa", hoje.plusDays(2), false, outra, null));
+
+        autenticar(usuario.getEmail());
+        Long criada = tx.execute(s -> salvar("Criada", hoje.plusDays(1), false, outra, null));
+
+        Set<String> criadores = Set.of(String.valueOf(usuario.getId()), usuario.getEmail());
+        List<Long> ids = tarefaRepository.findDoUsuario(usuario.getId(), criadores, PageRequest.of(0, 20)).stream()
+                .map(TarefaResumoDTO::getId)
+                .toList();
+        assertEquals(List.of(criada, participante, ambos, responsavel, concluida), ids);
+
+        List<Long> primeiraPagina = tarefaRepository.findDoUsuario(usuario.getId(), criadores, PageRequest.of(0, 2))
+                .stream()
+                .map(TarefaResumoDTO::getId)
+                .toList();
+        assertEquals(List.of(criada, participante), primeiraPagina);
+    }
+
+    private Long salvar(String titulo, LocalDate prazo, boolean concluida, Pessoa responsavel, Pessoa participante) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setDescricao(titulo);
+        tarefa.setPrazo(prazo);
+        tarefa.setConcluida(concluida);
+        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        tarefa.setResponsavel(pessoaRepository.getReferenceById(responsavel.getId()));
+        if (participante != null) {
+            tarefa.getParticipantes().add(pessoaRepository.getReferenceById(participante.getId()));
+        }
+        return tarefaRepository.save(tarefa).getId();
+    }
+
+    private static Pessoa pessoa(String nome, String email) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(nome);
+        pessoa.setEmail(email);
+        pessoa.setSenha("senha");
+        pessoa.setCrachaId("CR-" + email.hashCode());
+        pessoa.setTipoUsuario(TipoUsuario.values()[0]);
+        return pessoa;
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_PARTICIPANTE"))));
+    }
+}
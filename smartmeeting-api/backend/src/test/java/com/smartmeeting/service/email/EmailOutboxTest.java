@@ -0,0 +1,179 @@
+package com.smartmeeting.service.email;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.EmailDTO;
+import com.smartmeeting.dto.EmailOutboxMetricasDTO;
+import com.smartmeeting.enums.StatusEmailOutbox;
+import com.smartmeeting.model.EmailOutbox;
+import com.smartmeeting.repository.EmailOutboxRepository;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fila de saída de e-mails contra um SMTP falso: lotes por conexão e novas tentativas.
+ */
+@SpringBootTest(classes = {SmartmeetingApiApplication.class, EmailOutboxTest.SmtpFalsoConfig.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox;DB_CLOSE_DELAY=-1",
+        "app.email.outbox.mensagens-por-conexao=20",
+        "app.email.outbox.max-por-minuto=0",
+        "app.email.outbox.espera-inicial-s=0",
+        "app.email.outbox.max-tentativas=3"
+})
+class EmailOutboxTest {
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private SmtpFalso smtp;
+
+    @BeforeEach
+    void limpar() {
+        repository.deleteAll();
+        smtp.reiniciar();
+    }
+
+    @Test
+    void mensagensSaemEmLotesPorConexao() throws Exception {
+        outboxService.enfileirarTodos(IntStream.range(0, 45)
+                .mapToObj(i -> email("pessoa" + i + "@smart.com"))
+                .toList());
+
+        aguardar(() -> repository.countByStatus(StatusEmailOutbox.ENVIADO) == 45);
+
+        assertEquals(45, smtp.mensagensEnviadas());
+        assertEquals(3, smtp.conexoes.get());
+        assertTrue(smtp.tamanhosDosLotes.stream().allMatch(n -> n <= 20));
+
+        EmailOutboxMetricasDTO metricas = dispatcher.getMetricas();
+        assertEquals(0, metricas.getPendentes());
+        assertEquals(0, metricas.getIdadeMaisAntigaSegundos());
+        assertNotNull(metricas.getLatenciaMediaSegundos());
+    }
+
+    @Test
+    void falhaTemporariaEhReenviadaEFalhaPermanenteEsgotaTentativas() throws Exception {
+        smtp.falhasRestantes.put("instavel@smart.com", new AtomicInteger(2));
+        smtp.falhasRestantes.put("invalido@smart.com", new AtomicInteger(Integer.MAX_VALUE));
+        outboxService.enfileirarTodos(List.of(
+                email("ok@smart.com"), email("instavel@smart.com"), email("invalido@smart.com")));
+
+        aguardar(() -> {
+            dispatcher.despachar();
+            return repository.countByStatus(StatusEmailOutbox.PENDENTE) == 0
+                    && repository.countByStatus(StatusEmailOutbox.ENVIANDO) == 0;
+        });
+
+        Map<String, EmailOutbox> porDestinatario = new LinkedHashMap<>();
+        repository.findAll().forEach(e -> porDestinatario.put(e.getDestinatario(), e));
+        assertEquals(StatusEmailOutbox.ENVIADO, porDestinatario.get("ok@smart.com").getStatus());
+        assertEquals(StatusEmailOutbox.ENVIADO, porDestinatario.get("instavel@smart.com").getStatus());
+        assertEquals(3, porDestinatario.get("instavel@smart.com").getTentativas());
+        assertEquals(StatusEmailOutbox.FALHA, porDestinatario.get("invalido@smart.com").getStatus());
+        assertEquals(3, porDestinatario.get("invalido@smart.com").getTentativas());
+    }
+
+    private static EmailDTO email(String destinatario) {
+        return new EmailDTO().setDestinatario(destinatario).setAssunto("Assunto").setCorpo("Corpo");
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Tempo esgotado aguardando a fila de e-mails");
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Servidor SMTP de mentira: cada chamada a doSend conta como uma conexão
+     */
+    static class SmtpFalso extends JavaMailSenderImpl {
+
+        final AtomicInteger conexoes = new AtomicInteger();
+        final List<Integer> tamanhosDosLotes = Collections.synchronizedList(new ArrayList<>());
+        final Map<String, AtomicInteger> falhasRestantes = new ConcurrentHashMap<>();
+        private final AtomicInteger enviadas = new AtomicInteger();
+
+        @Override
+        protected void doSend(MimeMessage[] mensagens, Object[] originais) {
+            conexoes.incrementAndGet();
+            tamanhosDosLotes.add(mensagens.length);
+            Map<Object, Exception> falhas = new LinkedHashMap<>();
+            for (MimeMessage m : mensagens) {
+                String destinatario = destinatario(m);
+                AtomicInteger restantes = falhasRestantes.get(destinatario);
+                if (restantes != null && restantes.getAndDecrement() > 0) {
+                    falhas.put(m, new MessagingException("550 recusado: " + destinatario));
+                } else {
+                    enviadas.incrementAndGet();
+                }
+            }
+            if (!falhas.isEmpty()) {
+                throw new MailSendException(falhas);
+            }
+        }
+
+        int mensagensEnviadas() {
+            return enviadas.get();
+        }
+
+        void reiniciar() {
+            conexoes.set(0);
+            enviadas.set(0);
+            tamanhosDosLotes.clear();
+            falhasRestantes.clear();
+        }
+
+        private static String destinatario(MimeMessage m) {
+            try {
+                Address[] para = m.getAllRecipients();
+                return para[0].toString();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SmtpFalsoConfig {
+        @Bean
+        @Primary
+        SmtpFalso smtpFalso() {
+            return new SmtpFalso();
+        }
+    }
+}
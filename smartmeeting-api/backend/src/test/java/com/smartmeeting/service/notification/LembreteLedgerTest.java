@@ -0,0 +1,96 @@
+package com.smartmeeting.service.notification;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.enums.TipoLembrete;
+import com.smartmeeting.model.LembreteEnviado;
+import com.smartmeeting.model.Reuniao;
+import com.smartmeeting.repository.LembreteEnviadoRepository;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.SalaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Livro de lembretes: o mesmo lembrete não se repete entre execuções, mas volta a
+ * ser enviado quando a reunião é remarcada.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lembrete-ledger;DB_CLOSE_DELAY=-1",
+        "app.jobs.minimo-s=0"
+})
+class LembreteLedgerTest {
+
+    @Autowired
+    private NotificacaoAgendadaService notificacaoService;
+
+    @Autowired
+    private LembreteEnviadoRepository ledgerRepository;
+
+    @Autowired
+    private ReuniaoRepository reuniaoRepository;
+
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reuniaoRemarcada_recebeLembreteUrgenteParaNovoHorario() {
+        LocalDateTime inicio = LocalDateTime.now().plusMinutes(60).truncatedTo(ChronoUnit.MINUTES);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long reuniaoId = tx.execute(s -> reuniaoRepository.save(reuniao(inicio)).getId());
+
+        notificacaoService.verificarPendencias();
+        notificacaoService.verificarPendencias();
+
+        List<LembreteEnviado> enviados = urgentes(reuniaoId);
+        assertEquals(2, enviados.size());
+        assertTrue(enviados.stream().allMatch(l -> l.getAlvoEm().equals(inicio)));
+
+        LocalDateTime novoInicio = inicio.plusMinutes(15);
+        tx.executeWithoutResult(s -> reuniaoRepository.findById(reuniaoId).orElseThrow()
+                .setDataHoraInicio(novoInicio));
+
+        notificacaoService.verificarPendencias();
+        notificacaoService.verificarPendencias();
+
+        enviados = urgentes(reuniaoId);
+        assertEquals(4, enviados.size());
+        assertEquals(2, enviados.stream().filter(l -> l.getAlvoEm().equals(novoInicio)).count());
+    }
+
+    private List<LembreteEnviado> urgentes(Long reuniaoId) {
+        return ledgerRepository.findByTipoAndReferencias(TipoLembrete.URGENTE_REUNIAO, List.of(reuniaoId));
+    }
+
+    private Reuniao reuniao(LocalDateTime inicio) {
+        Reuniao reuniao = new Reuniao();
+        reuniao.setTitulo("Revisão de lembretes");
+        reuniao.setPauta("Remarcação");
+        reuniao.setAta("");
+        reuniao.setDataHoraInicio(inicio);
+        reuniao.setDuracaoMinutos(30);
+        reuniao.setStatus(StatusReuniao.AGENDADA);
+        reuniao.setSala(salaRepository.findById(1L).orElseThrow());
+        reuniao.setParticipantes(pessoaRepository.findAllById(List.of(1L, 2L)));
+        return reuniao;
+    }
+}
@@ -0,0 +1,50 @@
+package com.smartmeeting.service.relatorio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    private static String escrever(List<?> campos) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.linha(campos);
+        csv.flush();
+        return out.toString();
+    }
+
+    @Test
+    void shouldWriteSimpleFieldsWithCrlf() throws IOException {
+        assertEquals("1,Sala A,2024-05-01,true\r\n",
+                escrever(List.of(1L, "Sala A", LocalDate.of(2024, 5, 1), true)));
+    }
+
+    @Test
+    void shouldQuoteSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertEquals("\"a,b\",\"diz \"\"oi\"\"\",\"linha1\nlinha2\",\"x\r\"\r\n",
+                escrever(List.of("a,b", "diz \"oi\"", "linha1\nlinha2", "x\r")));
+    }
+
+    @Test
+    void shouldQuoteLeadingAndTrailingSpaces() throws IOException {
+        assertEquals("\" a\",\"b \",c d\r\n", escrever(List.of(" a", "b ", "c d")));
+    }
+
+    @Test
+    void shouldWriteNullAsEmptyField() throws IOException {
+        assertEquals(",x,\r\n", escrever(Arrays.asList(null, "x", null)));
+    }
+
+    @Test
+    void shouldEscapeSpreadsheetFormulas() throws IOException {
+        assertEquals("'=SOMA(A1:A2),'@x,\"'+1,2\",-5\r\n",
+                escrever(List.of("=SOMA(A1:A2)", "@x", "+1,2", -5)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.smartmeeting.service.relatorio;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação CSV detalhada: resposta assíncrona no pool de exportação, uma linha por tarefa.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:relatorio-csv;DB_CLOSE_DELAY=-1")
+class RelatorioCsvExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin@smart.com", roles = { "ADMIN" })
+    void exportacaoDeTarefas_umaLinhaPorTarefa() throws Exception {
+        MvcResult iniciado = mockMvc.perform(get("/relatorios/tarefas/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tarefas.csv\""))
+                .andReturn();
+
+        assertTrue(resultado.getResponse().getContentType().startsWith("text/csv"));
+        String[] linhas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8)
+                .replace("\uFEFF", "").split("\r\n");
+        assertEquals("id,titulo,responsavel_id,responsavel,projeto,prioridade,prazo,concluida,data_conclusao",
+                linhas[0]);
+        // data.sql: 10 tarefas
+        assertEquals(11, linhas.length);
+    }
+}
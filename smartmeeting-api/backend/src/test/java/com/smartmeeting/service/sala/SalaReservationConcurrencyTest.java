@@ -0,0 +1,215 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartmeeting.dto.OcupacaoSalaDTO;
+import com.smartmeeting.dto.ReuniaoDTO;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.exception.ConflictException;
+import com.smartmeeting.model.Reuniao;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.SalaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Estresse de reservas concorrentes: nenhuma sala pode terminar com duas
+ * reservas ativas sobrepostas, venham elas da reserva de sala ou da criação e
+ * edição de reuniões ({@code /reunioes}).
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reservas-concorrentes;DB_CLOSE_DELAY=-1")
+class SalaReservationConcurrencyTest {
+
+    private static final String ORGANIZADOR = "otavio.organizador@smart.com";
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SalaReservationService reservationService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReuniaoRepository reuniaoRepository;
+
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mesmoHorarioDisputadoPorTodos_apenasUmaReservaVence() throws Exception {
+        Long salaId = 1L;
+        LocalDateTime inicio = LocalDate.now().plusYears(1).atTime(10, 0);
+        String ini = inicio.toString();
+        String fim = inicio.plusHours(1).toString();
+
+        List<Boolean> resultados = executarConcorrente(THREADS * 4,
+                i -> () -> tentarReservar(salaId, ini, fim));
+
+        assertEquals(1, resultados.stream().filter(Boolean::booleanValue).count());
+        assertSemSobreposicao(salaId, inicio.minusDays(1), inicio.plusDays(1));
+    }
+
+    @Test
+    void janelasAleatoriasSobrepostas_nenhumaReservaDupla() throws Exception {
+        LocalDateTime dia = LocalDate.now().plusYears(1).plusDays(7).atTime(8, 0);
+        List<Long> salas = List.of(4L, 6L);
+
+        List<Boolean> resultados = executarConcorrente(THREADS * 25, i -> () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            LocalDateTime ini = dia.plusMinutes(15L * rnd.nextInt(40));
+            LocalDateTime fim = ini.plusMinutes(15L * (1 + rnd.nextInt(8)));
+            return tentarReservar(salas.get(i % salas.size()), ini.toString(), fim.toString());
+        });
+
+        assertTrue(resultados.stream().anyMatch(Boolean::booleanValue));
+        for (Long salaId : salas) {
+            assertSemSobreposicao(salaId, dia.minusDays(1), dia.plusDays(1));
+        }
+    }
+
+    @Test
+    void reservasEReunioesCriadasOuMovidas_nenhumaSobreposicao() throws Exception {
+        Long salaId = 9L;
+        LocalDateTime dia = LocalDate.now().plusYears(1).plusDays(14).atTime(8, 0);
+        int edicoes = THREADS * 4;
+
+        // Reuniões da sala 10, uma por dia, que serão movidas para a sala disputada
+        List<Long> aMover = new TransactionTemplate(transactionManager).execute(s -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < edicoes; i++) {
+                Reuniao reuniao = new Reuniao();
+                reuniao.setTitulo("A mover " + i);
+                reuniao.setPauta("Pauta");
+                reuniao.setAta("");
+                reuniao.setDataHoraInicio(dia.plusDays(30L + i));
+                reuniao.setDuracaoMinutos(60);
+                reuniao.setStatus(StatusReuniao.AGENDADA);
+                reuniao.setSala(salaRepository.findById(10L).orElseThrow());
+                ids.add(reuniaoRepository.save(reuniao).getId());
+            }
+            return ids;
+        });
+
+        List<Boolean> resultados = executarConcorrente(edicoes * 3, i -> () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            LocalDateTime ini = dia.plusMinutes(15L * rnd.nextInt(40));
+            int duracao = 15 * (1 + rnd.nextInt(8));
+            switch (i % 3) {
+                case 0:
+                    return tentarReservar(salaId, ini.toString(), ini.plusMinutes(duracao).toString());
+                case 1:
+                    return gravarReuniao(post("/reunioes"), salaId, ini, duracao);
+                default:
+                    return gravarReuniao(put("/reunioes/{id}", aMover.get(i / 3)), salaId, ini, duracao);
+            }
+        });
+
+        assertTrue(resultados.stream().anyMatch(Boolean::booleanValue));
+        assertSemSobreposicao(salaId, dia.minusDays(1), dia.plusDays(1));
+    }
+
+    /** Cria ou altera a reunião pela API; false se a sala estava ocupada (409) */
+    private boolean gravarReuniao(MockHttpServletRequestBuilder requisicao, Long salaId,
+                                  LocalDateTime inicio, int duracaoMinutos) throws Exception {
+        ReuniaoDTO dto = new ReuniaoDTO()
+                .setTitulo("Concorrência " + inicio)
+                .setPauta("Pauta")
+                .setAta("")
+                .setDataHoraInicio(inicio)
+                .setDuracaoMinutos(duracaoMinutos)
+                .setStatus(StatusReuniao.AGENDADA)
+                .setSalaId(salaId);
+        int status = mockMvc.perform(requisicao
+                        .with(user(ORGANIZADOR).roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andReturn().getResponse().getStatus();
+        assertTrue(status == 200 || status == 409, "Status inesperado: " + status);
+        return status == 200;
+    }
+
+    private boolean tentarReservar(Long salaId, String inicio, String fim) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(ORGANIZADOR, null, List.of()));
+        try {
+            reservationService.reservarSala(salaId, inicio, fim, "teste de concorrência");
+            return true;
+        } catch (ConflictException e) {
+            return false;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private List<Boolean> executarConcorrente(int tarefas,
+                                              java.util.function.IntFunction<Callable<Boolean>> fabrica)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> futuros = new ArrayList<>();
+        for (int i = 0; i < tarefas; i++) {
+            Callable<Boolean> tarefa = fabrica.apply(i);
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                return tarefa.call();
+            }));
+        }
+        largada.countDown();
+
+        List<Boolean> resultados = new ArrayList<>();
+        for (Future<Boolean> f : futuros) {
+            resultados.add(f.get(60, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return resultados;
+    }
+
+    private void assertSemSobreposicao(Long salaId, LocalDateTime de, LocalDateTime ate) {
+        List<OcupacaoSalaDTO> ocupacoes = reuniaoRepository.findOcupacoesSala(
+                salaId, de, ate, SalaOcupacaoIndex.STATUS_OCUPANTES);
+        assertFalse(ocupacoes.isEmpty());
+        for (int i = 1; i < ocupacoes.size(); i++) {
+            OcupacaoSalaDTO anterior = ocupacoes.get(i - 1);
+            OcupacaoSalaDTO atual = ocupacoes.get(i);
+            assertFalse(atual.getInicio().isBefore(anterior.getFim()),
+                    "Reservas sobrepostas na sala " + salaId + ": " + anterior + " e " + atual);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.smartmeeting.service.sala;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.SalaStatisticsDTO;
+import com.smartmeeting.dto.UtilizacaoSalaDTO;
+import com.smartmeeting.enums.SalaStatus;
+import com.smartmeeting.enums.StatusReuniao;
+import com.smartmeeting.model.Reuniao;
+import com.smartmeeting.model.Sala;
+import com.smartmeeting.repository.ReuniaoRepository;
+import com.smartmeeting.repository.SalaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Utilização de salas: só conta o tempo reservado dentro do expediente (08:00-21:00).
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:sala-utilizacao;DB_CLOSE_DELAY=-1")
+class SalaUtilizacaoTest {
+
+    @Autowired
+    private SalaStatisticsService statisticsService;
+
+    @Autowired
+    private SalaRepository salaRepository;
+
+    @Autowired
+    private ReuniaoRepository reuniaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reunioesForaDoExpediente_saoRecortadas() {
+        LocalDate dia = LocalDate.now().plusYears(2);
+        Long salaId = new TransactionTemplate(transactionManager).execute(s -> {
+            Sala sala = new Sala();
+            sala.setNome("Sala Utilização");
+            sala.setCapacidade(6);
+            sala.setLocalizacao("Térreo");
+            sala.setStatus(SalaStatus.LIVRE);
+            sala = salaRepository.save(sala);
+            reuniaoRepository.save(reuniao(sala, dia, LocalTime.of(6, 0), 60));    // fora: 0
+            reuniaoRepository.save(reuniao(sala, dia, LocalTime.of(7, 0), 120));   // 08:00-09:00: 60
+            reuniaoRepository.save(reuniao(sala, dia, LocalTime.of(10, 0), 60));   // 60
+            reuniaoRepository.save(reuniao(sala, dia, LocalTime.of(20, 30), 90));  // 20:30-21:00: 30
+            return sala.getId();
+        });
+
+        SalaStatisticsDTO estatisticas = statisticsService.getSalaStatistics(dia, dia);
+
+        UtilizacaoSalaDTO utilizacao = estatisticas.getUtilizacaoPorSala().stream()
+                .filter(u -> u.getSalaId().equals(salaId))
+                .findFirst().orElseThrow();
+        assertEquals(4, utilizacao.getTotalReunioes());
+        assertEquals(150, utilizacao.getMinutosReservados());
+        assertEquals(780, utilizacao.getMinutosDisponiveis());
+        assertEquals(19.23, utilizacao.getUtilizacao());
+    }
+
+    private static Reuniao reuniao(Sala sala, LocalDate dia, LocalTime hora, int duracaoMinutos) {
+        Reuniao reuniao = new Reuniao();
+        reuniao.setTitulo("Utilização " + hora);
+        reuniao.setPauta("Pauta");
+        reuniao.setAta("");
+        reuniao.setDataHoraInicio(dia.atTime(hora));
+        reuniao.setDuracaoMinutos(duracaoMinutos);
+        reuniao.setStatus(StatusReuniao.AGENDADA);
+        reuniao.setSala(sala);
+        return reuniao;
+    }
+}
@@ -0,0 +1,105 @@
+package com.smartmeeting.service.tarefa;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.TarefaLoteRequest;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Tarefa;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DATA_CONCLUSAO, base do tempo médio de conclusão: preenchida ao concluir e limpa ao
+ * reabrir, tanto pela entidade (progresso) quanto pelo lote.
+ * <p>
+ * data.sql: a pessoa 3 é membro do projeto 1 (com TASK_EDIT); as tarefas 2 e 3 são do projeto 1.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:tarefa-conclusao;DB_CLOSE_DELAY=-1")
+class TarefaConclusaoTest {
+
+    private static final Long PESSOA_MEMBRO = 3L;
+
+    @Autowired
+    private TarefaProgressService progressService;
+
+    @Autowired
+    private TarefaLoteService loteService;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @BeforeEach
+    void autenticar() {
+        Pessoa pessoa = pessoaRepository.findById(PESSOA_MEMBRO).orElseThrow();
+        List<SimpleGrantedAuthority> autoridades = List.of(new SimpleGrantedAuthority("ROLE_PARTICIPANTE"));
+        UserPrincipal principal = new UserPrincipal(pessoa.getId(), pessoa.getNome(), pessoa.getEmail(),
+                pessoa.getSenha(), autoridades);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, autoridades));
+    }
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void progresso_concluiEReabre() {
+        progressService.atualizarProgresso(2L, 100);
+        Tarefa concluida = tarefaRepository.findById(2L).orElseThrow();
+        assertTrue(concluida.isConcluida());
+        assertNotNull(concluida.getDataConclusao());
+
+        progressService.atualizarProgresso(2L, 40);
+        Tarefa reaberta = tarefaRepository.findById(2L).orElseThrow();
+        assertFalse(reaberta.isConcluida());
+        assertNull(reaberta.getDataConclusao());
+    }
+
+    @Test
+    void lote_concluiEReabre() {
+        LocalDateTime antes = LocalDateTime.now().minusSeconds(1);
+        loteService.executar(conclusao(true));
+        Tarefa concluida = tarefaRepository.findById(3L).orElseThrow();
+        assertTrue(concluida.isConcluida());
+        assertFalse(concluida.getDataConclusao().isBefore(antes));
+
+        loteService.executar(conclusao(false));
+        Tarefa reaberta = tarefaRepository.findById(3L).orElseThrow();
+        assertFalse(reaberta.isConcluida());
+        assertNull(reaberta.getDataConclusao());
+        // Reaberta sai do tempo médio e da produtividade
+        LocalDateTime depois = LocalDateTime.now().plusMinutes(1);
+        assertNull(tarefaRepository.mediaMinutosConclusao(1L, antes, depois));
+        assertTrue(tarefaRepository.contarConclusoesPorDia(1L, antes, depois).isEmpty());
+    }
+
+    private static TarefaLoteRequest conclusao(boolean concluida) {
+        TarefaLoteRequest request = new TarefaLoteRequest();
+        request.setOperacao(TarefaLoteRequest.Operacao.ATUALIZAR);
+        request.setTarefaIds(List.of(3L));
+        request.setConcluida(concluida);
+        return request;
+    }
+}
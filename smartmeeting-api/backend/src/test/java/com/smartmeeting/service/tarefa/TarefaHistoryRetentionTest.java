@@ -0,0 +1,196 @@
+package com.smartmeeting.service.tarefa;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.TarefaHistoryDTO;
+import com.smartmeeting.dto.TarefaHistoryFeedDTO;
+import com.smartmeeting.enums.HistoryActionType;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.model.Tarefa;
+import com.smartmeeting.model.TarefaHistory;
+import com.smartmeeting.model.TarefaHistoryArquivo;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.ProjectRepository;
+import com.smartmeeting.repository.TarefaHistoryArquivoRepository;
+import com.smartmeeting.repository.TarefaHistoryRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Job de retenção do histórico de tarefas: compactação só de progresso consecutivo da
+ * mesma tarefa e usuário, remoção exata do que foi arquivado, limpeza de linhas órfãs
+ * no arquivo e paginação contínua entre tabela quente e arquivo.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retencao-historico;DB_CLOSE_DELAY=-1",
+        "app.jobs.minimo-s=0"
+})
+class TarefaHistoryRetentionTest {
+
+    /** data.sql: nenhuma tarefa no projeto 10, então o feed dele só tem as linhas do teste */
+    private static final Long PROJETO = 10L;
+
+    @Autowired
+    private TarefaHistoryRetentionService retentionService;
+
+    @Autowired
+    private TarefaHistoryService historyService;
+
+    @Autowired
+    private TarefaHistoryRepository historyRepository;
+
+    @Autowired
+    private TarefaHistoryArquivoRepository arquivoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void retencao_compactaProgressoArquivaSoOAntigoELimpaOrfaos() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDateTime agora = LocalDateTime.now();
+        Long tarefa = tx.execute(s -> criarTarefa("Retenção A"));
+        Long outraTarefa = tx.execute(s -> criarTarefa("Retenção B"));
+        jdbcTemplate.update("DELETE FROM TAREFA_HISTORY WHERE ID_TAREFA IN (?, ?)", tarefa, outraTarefa);
+
+        long p1 = registrar(tarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "0", "10", agora.minusDays(400));
+        long p2 = registrar(tarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "10", "30", agora.minusDays(399));
+        long p3 = registrar(tarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "30", "50", agora.minusDays(398));
+        long prioridade = registrar(tarefa, 1L, HistoryActionType.PRIORITY_CHANGED, "Média", "Alta", agora.minusDays(397));
+        // Depois de uma linha que não é de progresso: novo grupo
+        long p4 = registrar(tarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "50", "60", agora.minusDays(396));
+        // Outro usuário: novo grupo
+        long p5 = registrar(tarefa, 2L, HistoryActionType.PROGRESS_UPDATED, "60", "70", agora.minusDays(395));
+        long p6 = registrar(tarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "70", "75", agora.minusDays(394));
+        // Outra tarefa, mesmo usuário, logo após p6 na ordem do lote: não se funde com p6
+        long outra = registrar(outraTarefa, 1L, HistoryActionType.PROGRESS_UPDATED, "0", "20", agora.minusDays(393));
+        // Mais novas que o limite de 180 dias: ficam na tabela quente
+        long recente1 = registrar(tarefa, 2L, HistoryActionType.PROGRESS_UPDATED, "75", "80", agora.minusDays(10));
+        long recente2 = registrar(tarefa, 1L, HistoryActionType.STATUS_CHANGED, "A Fazer", "Em Andamento", agora.minusDays(5));
+
+        TarefaHistoryArquivo orfao = new TarefaHistoryArquivo();
+        orfao.setId(900_001L);
+        orfao.setTarefaId(999_999L);
+        orfao.setActionType(HistoryActionType.CREATED);
+        orfao.setCreatedAt(agora.minusDays(500));
+        arquivoRepository.save(orfao);
+
+        retentionService.executarRetencao();
+
+        // Só o grupo p1..p3 foi fundido; a linha fica com o id e a data da última alteração
+        Map<Long, TarefaHistoryArquivo> arquivo = arquivoRepository.findAll().stream()
+                .filter(a -> a.getTarefaId().equals(tarefa) || a.getTarefaId().equals(outraTarefa))
+                .collect(Collectors.toMap(TarefaHistoryArquivo::getId, a -> a));
+        assertEquals(List.of(p3, prioridade, p4, p5, p6, outra).stream().sorted().toList(),
+                arquivo.keySet().stream().sorted().toList());
+        TarefaHistoryArquivo grupo = arquivo.get(p3);
+        assertEquals(3, grupo.getQuantidadeCompactada());
+        assertEquals("0", grupo.getOldValue());
+        assertEquals("50", grupo.getNewValue());
+        for (long id : List.of(prioridade, p4, p5, p6, outra)) {
+            assertEquals(1, arquivo.get(id).getQuantidadeCompactada());
+        }
+        assertEquals("Média", arquivo.get(prioridade).getOldValue());
+        assertEquals("Alta", arquivo.get(prioridade).getNewValue());
+
+        // Removidos da tabela quente exatamente os arquivados; nada mais novo que o limite
+        List<Long> quentes = historyRepository.findByTarefaIdOrderByCreatedAtDesc(tarefa).stream()
+                .map(TarefaHistory::getId)
+                .toList();
+        assertEquals(List.of(recente2, recente1), quentes);
+        assertTrue(historyRepository.findByTarefaIdOrderByCreatedAtDesc(outraTarefa).isEmpty());
+        for (long id : List.of(p1, p2)) {
+            assertFalse(historyRepository.existsById(id));
+            assertFalse(arquivoRepository.existsById(id));
+        }
+
+        assertFalse(arquivoRepository.existsById(orfao.getId()));
+
+        // Paginação: quente primeiro, depois o arquivo, sem buracos nem repetições
+        List<Long> esperadoTarefa = List.of(recente2, recente1, p6, p5, p4, prioridade, p3);
+        for (int tamanho = 1; tamanho <= esperadoTarefa.size() + 1; tamanho++) {
+            assertEquals(esperadoTarefa, paginasDaTarefa(tarefa, tamanho), "tamanho " + tamanho);
+        }
+        List<Long> esperadoFeed = List.of(recente2, recente1, outra, p6, p5, p4, prioridade, p3);
+        for (int tamanho = 1; tamanho <= esperadoFeed.size() + 1; tamanho++) {
+            assertEquals(esperadoFeed, paginasDoFeed(tamanho), "tamanho " + tamanho);
+        }
+    }
+
+    private List<Long> paginasDaTarefa(Long tarefaId, int tamanho) {
+        List<Long> ids = new ArrayList<>();
+        for (int pagina = 0; ; pagina++) {
+            Page<TarefaHistoryDTO> page = historyService.getHistoricoTarefaPaginado(
+                    tarefaId, PageRequest.of(pagina, tamanho));
+            page.getContent().forEach(h -> ids.add(h.getId()));
+            if (!page.hasNext()) {
+                return ids;
+            }
+        }
+    }
+
+    private List<Long> paginasDoFeed(int tamanho) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            TarefaHistoryFeedDTO pagina = historyService.getHistoricoProjectFeed(PROJETO, cursor, tamanho);
+            pagina.getItems().forEach(h -> ids.add(h.getId()));
+            if (!pagina.isHasMore()) {
+                return ids;
+            }
+            cursor = pagina.getNextCursor();
+        }
+    }
+
+    private Long criarTarefa(String titulo) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setDescricao(titulo);
+        tarefa.setPrazo(LocalDate.now().plusDays(30));
+        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        tarefa.setResponsavel(pessoaRepository.getReferenceById(1L));
+        tarefa.setProject(projectRepository.getReferenceById(PROJETO));
+        return tarefaRepository.save(tarefa).getId();
+    }
+
+    /** Grava a linha e retroage CREATED_AT (o @PrePersist usa o instante atual) */
+    private long registrar(Long tarefaId, Long usuarioId, HistoryActionType tipo,
+                           String antigo, String novo, LocalDateTime em) {
+        Long id = new TransactionTemplate(transactionManager).execute(s -> historyRepository.save(new TarefaHistory(
+                tarefaRepository.getReferenceById(tarefaId), pessoaRepository.getReferenceById(usuarioId),
+                tipo, "campo", antigo, novo, tipo.name())).getId());
+        jdbcTemplate.update("UPDATE TAREFA_HISTORY SET CREATED_AT = ? WHERE ID = ?", em, id);
+        return id;
+    }
+}
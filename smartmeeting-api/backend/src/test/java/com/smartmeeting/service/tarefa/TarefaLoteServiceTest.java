@@ -0,0 +1,166 @@
+package com.smartmeeting.service.tarefa;
+
+import com.smartmeeting.api.SmartmeetingApiApplication;
+import com.smartmeeting.dto.TarefaLoteRequest;
+import com.smartmeeting.dto.TarefaLoteResultadoDTO;
+import com.smartmeeting.enums.HistoryActionType;
+import com.smartmeeting.enums.PrioridadeTarefa;
+import com.smartmeeting.evento.TarefaAlteradaEvent;
+import com.smartmeeting.exception.ForbiddenException;
+import com.smartmeeting.model.Pessoa;
+import com.smartmeeting.model.Tarefa;
+import com.smartmeeting.model.TarefaHistory;
+import com.smartmeeting.repository.PessoaRepository;
+import com.smartmeeting.repository.TarefaHistoryRepository;
+import com.smartmeeting.repository.TarefaRepository;
+import com.smartmeeting.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Operações em lote sobre tarefas ({@code POST /tarefas/bulk}) com um usuário comum:
+ * permissão por projeto, tarefas sem projeto, histórico e eventos.
+ * <p>
+ * data.sql: a pessoa 3 é membro do projeto 1 (com TASK_EDIT) e não participa do projeto 4.
+ */
+@SpringBootTest(classes = SmartmeetingApiApplication.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:tarefa-lote;DB_CLOSE_DELAY=-1")
+@RecordApplicationEvents
+class TarefaLoteServiceTest {
+
+    private static final Long PESSOA_MEMBRO = 3L;
+
+    @Autowired
+    private TarefaLoteService loteService;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private TarefaHistoryRepository historyRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @BeforeEach
+    void autenticar() {
+        Pessoa pessoa = pessoaRepository.findById(PESSOA_MEMBRO).orElseThrow();
+        List<SimpleGrantedAuthority> autoridades = List.of(new SimpleGrantedAuthority("ROLE_PARTICIPANTE"));
+        UserPrincipal principal = new UserPrincipal(pessoa.getId(), pessoa.getNome(), pessoa.getEmail(),
+                pessoa.getSenha(), autoridades);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, autoridades));
+    }
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void projetoSemPermissao_loteInteiroRecusado() {
+        Long semProjeto = criarTarefaSemProjeto("Sem projeto (recusada)");
+        eventos.clear();
+
+        // Tarefa 2: projeto 1 (permitido); tarefa 6: projeto 4 (negado)
+        TarefaLoteRequest request = atualizarPrioridade(List.of(2L, 6L, semProjeto), "BAIXA");
+        assertThrows(ForbiddenException.class, () -> loteService.executar(request));
+
+        assertEquals(PrioridadeTarefa.MEDIA, prioridade(2L));
+        assertEquals(PrioridadeTarefa.ALTA, prioridade(6L));
+        assertEquals(PrioridadeTarefa.MEDIA, prioridade(semProjeto));
+        for (Long id : List.of(2L, 6L, semProjeto)) {
+            assertTrue(historyRepository.findByTarefaIdAndActionType(id, HistoryActionType.PRIORITY_CHANGED).isEmpty());
+        }
+        assertEquals(0, eventos.stream(TarefaAlteradaEvent.class).count());
+    }
+
+    @Test
+    void loteMistoComTarefasSemProjeto_gravaHistoricoEPublicaEventos() {
+        Long semProjeto = criarTarefaSemProjeto("Sem projeto (alterada)");
+        eventos.clear();
+
+        // 3 (ALTA) e 10 (MEDIA): projeto 1; 4 já é CRITICA; a tarefa sem projeto não exige permissão
+        TarefaLoteResultadoDTO resultado = loteService.executar(
+                atualizarPrioridade(List.of(3L, 10L, 4L, semProjeto), "CRITICA"));
+
+        assertEquals(4, resultado.getSolicitadas());
+        assertEquals(3, resultado.getAlteradas());
+        assertEquals(List.of(1L), resultado.getProjetosAfetados());
+
+        for (Long id : List.of(3L, 10L, 4L, semProjeto)) {
+            assertEquals(PrioridadeTarefa.CRITICA, prioridade(id));
+        }
+        assertEquals(List.of("Alta"), valoresAntigos(3L));
+        assertEquals(List.of("Média"), valoresAntigos(10L));
+        assertEquals(List.of("Média"), valoresAntigos(semProjeto));
+        assertTrue(valoresAntigos(4L).isEmpty());
+
+        Map<Long, TarefaAlteradaEvent> porTarefa = eventos.stream(TarefaAlteradaEvent.class)
+                .collect(Collectors.toMap(TarefaAlteradaEvent::getTarefaId, e -> e));
+        assertEquals(Set.of(3L, 10L, semProjeto), porTarefa.keySet());
+        porTarefa.values().forEach(e -> {
+            assertEquals(TarefaAlteradaEvent.Tipo.ATUALIZADA, e.getTipo());
+            assertEquals(PrioridadeTarefa.CRITICA, e.getSituacao().getPrioridade());
+        });
+        assertEquals(PrioridadeTarefa.ALTA, porTarefa.get(3L).getAnterior().getPrioridade());
+        assertEquals(PrioridadeTarefa.MEDIA, porTarefa.get(semProjeto).getAnterior().getPrioridade());
+    }
+
+    private Long criarTarefaSemProjeto(String titulo) {
+        return new TransactionTemplate(transactionManager).execute(s -> {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo(titulo);
+            tarefa.setDescricao(titulo);
+            tarefa.setPrazo(LocalDate.now().plusDays(7));
+            tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+            tarefa.setResponsavel(pessoaRepository.getReferenceById(PESSOA_MEMBRO));
+            return tarefaRepository.save(tarefa).getId();
+        });
+    }
+
+    private PrioridadeTarefa prioridade(Long tarefaId) {
+        return tarefaRepository.findById(tarefaId).orElseThrow().getPrioridade();
+    }
+
+    private List<String> valoresAntigos(Long tarefaId) {
+        return historyRepository.findByTarefaIdAndActionType(tarefaId, HistoryActionType.PRIORITY_CHANGED).stream()
+                .map(TarefaHistory::getOldValue)
+                .collect(Collectors.toList());
+    }
+
+    private static TarefaLoteRequest atualizarPrioridade(List<Long> ids, String prioridade) {
+        TarefaLoteRequest request = new TarefaLoteRequest();
+        request.setOperacao(TarefaLoteRequest.Operacao.ATUALIZAR);
+        request.setTarefaIds(ids);
+        request.setPrioridade(prioridade);
+        return request;
+    }
+}